@@ -1,25 +0,0 @@
-package com.moneytransfersystem.aspect;
-
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
-
-@Aspect
-@Component
-public class LoggingAspect {
-    private final Logger logger = LoggerFactory.getLogger(this.getClass());
-
-    @Before("execution(* com.moneytransfersystem.service.*.*(..))")
-    public void logBefore(JoinPoint joinPoint) {
-        logger.info("Entering: {} with arguments: {}", joinPoint.getSignature().getName(), joinPoint.getArgs());
-    }
-
-    @AfterReturning(pointcut = "execution(* com.moneytransfersystem.service.*.*(..))", returning = "result")
-    public void logAfter(JoinPoint joinPoint, Object result) {
-        logger.info("Exiting: {} with result: {}", joinPoint.getSignature().getName(), result);
-    }
-}
\ No newline at end of file
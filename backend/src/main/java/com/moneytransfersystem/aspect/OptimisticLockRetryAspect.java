@@ -0,0 +1,120 @@
+package com.moneytransfersystem.aspect;
+
+import com.moneytransfersystem.config.TransferRetryProperties;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.service.AccountContentionTracker;
+import com.moneytransfersystem.service.metrics.TransferMetrics;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Re-runs {@link RetryOnConflict} methods when they lose an optimistic-lock race.
+ * Ordered ahead of the transaction interceptor so every attempt gets a fresh
+ * transaction and re-reads the accounts; the wait between attempts is full-jitter
+ * exponential backoff so colliding callers spread out instead of colliding again.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticLockRetryAspect {
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetryAspect.class);
+
+    private final TransferRetryProperties properties;
+    private final AccountContentionTracker contentionTracker;
+    private final TransferMetrics transferMetrics;
+
+    public OptimisticLockRetryAspect(TransferRetryProperties properties,
+                                     AccountContentionTracker contentionTracker,
+                                     TransferMetrics transferMetrics) {
+        this.properties = properties;
+        this.contentionTracker = contentionTracker;
+        this.transferMetrics = transferMetrics;
+    }
+
+    @Around("@annotation(com.moneytransfersystem.aspect.RetryOnConflict)")
+    public Object retryOnConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        List<String> accountIds = accountIdsOf(joinPoint.getArgs());
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                accountIds.forEach(contentionTracker::recordConflict);
+                transferMetrics.recordConflict();
+
+                if (attempt >= maxAttempts) {
+                    accountIds.forEach(contentionTracker::recordExhausted);
+                    transferMetrics.recordRetriesExhausted();
+                    logger.error(
+                            "Retry exhausted | class={} | method={} | accounts={} | attempts={} | reason=OPTIMISTIC_LOCK_CONFLICT",
+                            this.getClass().getSimpleName(),
+                            joinPoint.getSignature().getName(),
+                            accountIds,
+                            attempt
+                    );
+                    throw e;
+                }
+
+                long backoff = backoffFor(attempt);
+                logger.warn(
+                        "Optimistic lock conflict | class={} | method={} | accounts={} | attempt={} | backoffMs={}",
+                        this.getClass().getSimpleName(),
+                        joinPoint.getSignature().getName(),
+                        accountIds,
+                        attempt,
+                        backoff
+                );
+                accountIds.forEach(contentionTracker::recordRetry);
+                sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * Full jitter: a uniform wait in [0, min(max, initial * multiplier^(attempt-1))].
+     */
+    long backoffFor(int attempt) {
+        double ceiling = properties.getInitialBackoffMs() * Math.pow(properties.getMultiplier(), attempt - 1);
+        long bounded = (long) Math.min(properties.getMaxBackoffMs(), ceiling);
+        return bounded <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bounded + 1);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off from optimistic lock conflict", e);
+        }
+    }
+
+    private static List<String> accountIdsOf(Object[] args) {
+        List<String> ids = new ArrayList<>(2);
+        for (Object arg : args) {
+            if (arg instanceof TransferRequest request) {
+                ids.add(request.getFromAccountId());
+                ids.add(request.getToAccountId());
+            }
+        }
+        return ids;
+    }
+}
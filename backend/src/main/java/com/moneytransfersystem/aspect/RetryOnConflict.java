@@ -0,0 +1,15 @@
+package com.moneytransfersystem.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional method that should be re-run from scratch when its
+ * commit loses an optimistic-lock race on an {@code Account} version.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,179 @@
+package com.moneytransfersystem.aspect;
+
+import com.moneytransfersystem.config.TracingProperties;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One structured line per traced service call: method, duration, outcome and the ids among
+ * its arguments. Successful calls are sampled per method; slow and failed calls are always
+ * traced. Nothing is formatted for a call that is not logged.
+ * <p>
+ * Arguments are summarised, never printed whole: scalars by value (truncated), collections
+ * and maps by size, {@link TransferRequest} by its ids, any other object by its type. So no
+ * {@code toString()} runs on entities or collections, and parameters with sensitive names
+ * are redacted.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+    private static final Logger logger = LoggerFactory.getLogger(TracingAspect.class);
+    private static final String REDACTED = "[REDACTED]";
+
+    private final TracingProperties properties;
+    // Resolved once per method: label, parameter names, redaction and sample rate
+    private final Map<Method, MethodPolicy> policies = new ConcurrentHashMap<>();
+
+    private record MethodPolicy(String className, String methodName, String[] parameterNames,
+                                boolean[] redacted, double sampleRate) {
+    }
+
+    public TracingAspect(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Around("execution(* com.moneytransfersystem.service.*.*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled() || !logger.isInfoEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        long started = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable failure) {
+            if (properties.isAlwaysTraceFailures()) {
+                long elapsed = System.nanoTime() - started;
+                MethodPolicy policy = policyFor(joinPoint);
+                logger.info("Service call | class={} | method={} | outcome=ERROR:{} | durationMs={} | {}",
+                        policy.className(), policy.methodName(), failure.getClass().getSimpleName(),
+                        millis(elapsed), describeArgs(policy, joinPoint.getArgs()));
+            }
+            throw failure;
+        }
+
+        long elapsed = System.nanoTime() - started;
+        MethodPolicy policy = policyFor(joinPoint);
+        boolean slow = properties.getSlowThresholdMs() > 0
+                && elapsed >= TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMs());
+        if (slow || sampled(policy.sampleRate())) {
+            logger.info("Service call | class={} | method={} | outcome={} | durationMs={} | {} | result={}",
+                    policy.className(), policy.methodName(), slow ? "SLOW" : "OK",
+                    millis(elapsed), describeArgs(policy, joinPoint.getArgs()), describe(result));
+        }
+        return result;
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private MethodPolicy policyFor(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodPolicy policy = policies.get(signature.getMethod());
+        return policy != null
+                ? policy
+                : policies.computeIfAbsent(signature.getMethod(), method -> resolve(joinPoint, signature));
+    }
+
+    private MethodPolicy resolve(ProceedingJoinPoint joinPoint, MethodSignature signature) {
+        String className = joinPoint.getTarget() != null
+                ? joinPoint.getTarget().getClass().getSimpleName()
+                : signature.getDeclaringType().getSimpleName();
+        String methodName = signature.getName();
+
+        String[] names = signature.getParameterNames();
+        int count = signature.getParameterTypes().length;
+        if (names == null || names.length != count) {
+            names = new String[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = "arg" + i;
+            }
+        }
+        boolean[] redacted = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            String lower = names[i].toLowerCase(Locale.ROOT);
+            for (String sensitive : properties.getRedactedNames()) {
+                if (lower.contains(sensitive.toLowerCase(Locale.ROOT))) {
+                    redacted[i] = true;
+                    break;
+                }
+            }
+        }
+
+        Double rate = properties.getSampleRates().get(className + "." + methodName);
+        return new MethodPolicy(className, methodName, names, redacted,
+                rate != null ? rate : properties.getDefaultSampleRate());
+    }
+
+    private String describeArgs(MethodPolicy policy, Object[] args) {
+        StringBuilder line = new StringBuilder(64);
+        line.append("args=[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                line.append(", ");
+            }
+            String name = i < policy.parameterNames().length ? policy.parameterNames()[i] : "arg" + i;
+            line.append(name).append('=');
+            if (i < policy.redacted().length && policy.redacted()[i]) {
+                line.append(REDACTED);
+            } else if (args[i] instanceof TransferRequest request) {
+                line.append("{fromAccountId=").append(request.getFromAccountId())
+                        .append(", toAccountId=").append(request.getToAccountId())
+                        .append(", idempotencyKey=").append(request.getIdempotencyKey())
+                        .append('}');
+            } else {
+                line.append(describe(args[i]));
+            }
+        }
+        return line.append(']').toString();
+    }
+
+    private String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "(size=" + map.size() + ")";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        if (value instanceof Optional<?> optional) {
+            return optional.isPresent() ? "Optional(" + optional.get().getClass().getSimpleName() + ")" : "Optional.empty";
+        }
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Enum<?> || value instanceof UUID || value instanceof TemporalAccessor) {
+            String text = value.toString();
+            int max = properties.getMaxValueLength();
+            return text.length() > max ? text.substring(0, max) + "..." : text;
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Account snapshot cache configuration
+ * Binds properties from application.yml with prefix "account-cache"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "account-cache")
+@Data
+public class AccountCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+}
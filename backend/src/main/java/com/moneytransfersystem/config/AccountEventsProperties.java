@@ -0,0 +1,27 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Server-Sent Events stream configuration
+ * Binds properties from application.yml with prefix "account-events"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "account-events")
+@Data
+public class AccountEventsProperties {
+    private boolean enabled = true;
+    // Dispatcher threads; each account's subscribers are served by one of them
+    private int dispatchers = 2;
+    // Commits waiting for a dispatcher; beyond this, affected streams are told to resync
+    private int queueCapacity = 10_000;
+    // Recent events kept per account for Last-Event-ID resume
+    private int replaySize = 64;
+    // An account's replay buffer is dropped this long after its last subscriber leaves
+    private long retentionMs = 300_000;
+    private long emitterTimeoutMs = 1_800_000;
+    private long heartbeatMs = 15_000;
+    private int maxSubscribersPerAccount = 100;
+}
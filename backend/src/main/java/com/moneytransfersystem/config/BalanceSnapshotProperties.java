@@ -0,0 +1,24 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Balance snapshot configuration
+ * Binds properties from application.yml with prefix "balance-snapshot"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "balance-snapshot")
+@Data
+public class BalanceSnapshotProperties {
+    // Runs the background checkpoints on this node; point-in-time lookups work either way
+    private boolean enabled = true;
+    // Upper bound on how much history a lookup replays
+    private long intervalMs = 3_600_000;
+    private int chunkSize = 500;
+    // Gives other writers room between chunks
+    private long chunkPauseMs = 50;
+    // Snapshots are taken this far in the past, so transfers still committing at that moment are counted
+    private long settleMs = 60_000;
+}
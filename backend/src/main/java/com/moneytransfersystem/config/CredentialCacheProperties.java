@@ -0,0 +1,22 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Authenticated principal and credential verification cache configuration
+ * Binds properties from application.yml with prefix "auth.credential-cache"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.credential-cache")
+@Data
+public class CredentialCacheProperties {
+    private boolean enabled = true;
+    private int maxPrincipals = 10_000;
+    private int maxVerifications = 10_000;
+    // Evictions are node-local; other nodes reload a principal after this long
+    private long principalTtlMs = 30_000;
+    // A verified password is trusted again without BCrypt for this long
+    private long verificationTtlMs = 30_000;
+}
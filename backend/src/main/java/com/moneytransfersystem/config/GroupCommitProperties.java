@@ -0,0 +1,21 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Group-commit configuration
+ * Binds properties from application.yml with prefix "transfer.group-commit"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "transfer.group-commit")
+@Data
+public class GroupCommitProperties {
+    private boolean enabled = false;
+    // A group closes when this much time has passed since its first transfer, or when it is full
+    private long windowMicros = 1000;
+    private int maxBatch = 128;
+    private int queueCapacity = 10_000;
+    private long offerTimeoutMs = 100;
+}
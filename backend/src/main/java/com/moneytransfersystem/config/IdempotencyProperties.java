@@ -0,0 +1,22 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Node-local idempotency pre-filter configuration
+ * Binds properties from application.yml with prefix "transfer.idempotency"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "transfer.idempotency")
+@Data
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    // Keys per Bloom generation; the filter keeps the current and the previous generation
+    private int expectedKeys = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    private int lruSize = 10_000;
+    private int warmupDays = 7;
+    private int warmupMaxRows = 1_000_000;
+}
@@ -0,0 +1,22 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bearer token configuration
+ * Binds properties from application.yml with prefix "jwt"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "jwt")
+@Data
+public class JwtProperties {
+    // Base64 HMAC key of at least 256 bits, shared by every node; when blank a random one is generated at startup
+    private String secret;
+    private String issuer = "moneytransfersystem";
+    // Access tokens are never checked against the database, so this bounds how long a revoked login lives on
+    private long accessTokenTtlMs = 900_000;
+    private long refreshTokenTtlMs = 604_800_000;
+    private long clockSkewSeconds = 30;
+}
@@ -0,0 +1,45 @@
+package com.moneytransfersystem.config;
+
+import com.moneytransfersystem.domain.enums.JournalFsyncPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-memory ledger engine configuration (active with the "ledger" profile)
+ * Binds properties from application.yml with prefix "ledger"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ledger")
+@Data
+public class LedgerProperties {
+    private int partitions = Runtime.getRuntime().availableProcessors();
+    // Per-partition ring capacity, rounded up to a power of two
+    private int ringSize = 8192;
+    private int maxBatch = 256;
+    private long idleParkMicros = 50;
+    private long offerTimeoutMs = 100;
+    // Cached balances are reloaded after this long, bounding staleness from writes made outside the engine
+    private long stateTtlMs = 60_000;
+    private Journal journal = new Journal();
+
+    /**
+     * Write-ahead journal: when enabled, transfers are acknowledged once fsynced
+     * locally and written to the database by a background drainer
+     */
+    @Data
+    public static class Journal {
+        private boolean enabled = false;
+        private String directory = "data/ledger-journal";
+        private int segmentSizeBytes = 64 * 1024 * 1024;
+        private JournalFsyncPolicy fsyncPolicy = JournalFsyncPolicy.GROUP;
+        private long groupWindowMicros = 500;
+        private int groupMaxPending = 1024;
+        private int drainBatchSize = 1000;
+        private long drainRetryBackoffMs = 500;
+        // How long a partition waits for the drainer before loading an account from the database
+        private long drainWaitTimeoutMs = 5000;
+        // How long a write outside the engine waits for the accounts' acknowledged transfers to drain
+        private long outsideWriteTimeoutMs = 5000;
+    }
+}
@@ -0,0 +1,24 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Login admission control configuration
+ * Binds properties from application.yml with prefix "auth.login-limits"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.login-limits")
+@Data
+public class LoginRateLimitProperties {
+    private boolean enabled = true;
+    // Burst size and sustained attempts per minute from one client address
+    private int perIpBurst = 20;
+    private int perIpPerMinute = 20;
+    // Burst size and sustained attempts per minute against one account
+    private int perAccountBurst = 5;
+    private int perAccountPerMinute = 5;
+    // Buckets kept per kind; idle ones are dropped to make room, then new keys share one bucket
+    private int maxTrackedKeys = 100_000;
+}
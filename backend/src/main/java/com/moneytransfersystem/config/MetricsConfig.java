@@ -0,0 +1,78 @@
+package com.moneytransfersystem.config;
+
+import com.moneytransfersystem.logging.RingBufferAsyncAppender;
+import com.moneytransfersystem.service.auth.PasswordHashingExecutor;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.idempotency.IdempotencyKeyFilter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Micrometer wiring: enables {@code @Timed} on beans and exports the counters the
+ * caches, the hashing pool and the async log appender already keep, read at scrape time
+ * rather than on every call. HikariCP pool metrics, including connection acquire time,
+ * are bound by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder componentMetrics(AccountSnapshotCache accountSnapshotCache,
+                                        IdempotencyKeyFilter idempotencyKeyFilter,
+                                        PasswordHashingExecutor passwordHashingExecutor) {
+        return registry -> {
+            FunctionCounter.builder("account.cache.requests", accountSnapshotCache, AccountSnapshotCache::getHits)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("account.cache.requests", accountSnapshotCache, AccountSnapshotCache::getMisses)
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("account.cache.evictions", accountSnapshotCache, AccountSnapshotCache::getEvictions)
+                    .register(registry);
+
+            FunctionCounter.builder("idempotency.filter.probes", idempotencyKeyFilter, IdempotencyKeyFilter::getProbes)
+                    .register(registry);
+            FunctionCounter.builder("idempotency.filter.false_positives", idempotencyKeyFilter,
+                    IdempotencyKeyFilter::getFalsePositives).register(registry);
+
+            FunctionTimer.builder("auth.hashing.queue_wait", passwordHashingExecutor,
+                    PasswordHashingExecutor::getCompleted, PasswordHashingExecutor::getQueueWaitNanos,
+                    TimeUnit.NANOSECONDS).register(registry);
+            FunctionTimer.builder("auth.hashing.hash", passwordHashingExecutor,
+                    PasswordHashingExecutor::getCompleted, PasswordHashingExecutor::getHashNanos,
+                    TimeUnit.NANOSECONDS).register(registry);
+            FunctionCounter.builder("auth.hashing.rejected", passwordHashingExecutor,
+                    executor -> executor.getRejected() + executor.getTimedOut()).register(registry);
+
+            // Summed over the live appenders, which logback replaces when it reloads its configuration
+            FunctionCounter.builder("logging.events.dropped", RingBufferAsyncAppender.class,
+                    type -> sumOverAppenders(RingBufferAsyncAppender::getDroppedBelowThreshold))
+                    .tag("reason", "threshold").register(registry);
+            FunctionCounter.builder("logging.events.dropped", RingBufferAsyncAppender.class,
+                    type -> sumOverAppenders(RingBufferAsyncAppender::getDroppedFull))
+                    .tag("reason", "full").register(registry);
+            Gauge.builder("logging.events.queued", RingBufferAsyncAppender.class,
+                    type -> sumOverAppenders(RingBufferAsyncAppender::getQueued)).register(registry);
+        };
+    }
+
+    private static double sumOverAppenders(ToLongFunction<RingBufferAsyncAppender> counter) {
+        long sum = 0;
+        for (RingBufferAsyncAppender appender : RingBufferAsyncAppender.active()) {
+            sum += counter.applyAsLong(appender);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,21 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Password hashing executor configuration
+ * Binds properties from application.yml with prefix "auth.hashing"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth.hashing")
+@Data
+public class PasswordHashingProperties {
+    // 0 uses half the available cores, leaving the rest to transfers
+    private int threads = 0;
+    // Hashes waiting beyond this are refused with 429 instead of queueing
+    private int queueCapacity = 32;
+    // Longest a caller waits for its hash, queueing included
+    private long maxWaitMs = 2000;
+}
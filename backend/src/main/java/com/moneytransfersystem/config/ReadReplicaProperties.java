@@ -0,0 +1,25 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read replica configuration
+ * Binds properties from application.yml with prefix "read-replica"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "read-replica")
+@Data
+public class ReadReplicaProperties {
+    // When false there is a single DataSource and everything reads from the primary
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+    private int maximumPoolSize = 20;
+    private long connectionTimeoutMs = 3000;
+    // Accounts written within this window are read from the primary; should exceed the replica's usual lag
+    private long maxLagMs = 2000;
+}
@@ -0,0 +1,56 @@
+package com.moneytransfersystem.config;
+
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out replica connections to transactions {@link ReplicaLagGuard} let onto the replica,
+ * primary connections to everything else. Must sit behind a LazyConnectionDataSourceProxy:
+ * the transaction manager asks for a connection before the transaction is marked read-only.
+ * An unreachable replica falls back to the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final LongAdder replicaFailures = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ReplicaLagGuard.isReplicaRead() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() != Target.REPLICA) {
+            return primary.getConnection();
+        }
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            replicaFailures.increment();
+            logger.warn("Replica connection failed, reading from primary | class={} | method=getConnection | reason={}",
+                    getClass().getSimpleName(), e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    public long getReplicaFailures() { return replicaFailures.sum(); }
+}
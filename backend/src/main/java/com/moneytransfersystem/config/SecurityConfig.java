@@ -1,6 +1,11 @@
 package com.moneytransfersystem.config;
 
 import com.moneytransfersystem.service.AccountService;
+import com.moneytransfersystem.service.auth.BoundedPasswordEncoder;
+import com.moneytransfersystem.service.auth.CachingPasswordEncoder;
+import com.moneytransfersystem.service.auth.CredentialCache;
+import com.moneytransfersystem.service.auth.JwtTokenService;
+import com.moneytransfersystem.service.auth.PasswordHashingExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,17 +13,19 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtTokenService jwtTokenService) throws Exception {
 
         http
             // ✅ Disable CSRF for REST APIs
@@ -29,10 +36,11 @@ public class SecurityConfig {
 
                 // Public endpoints
                 .requestMatchers("/h2-console/**").permitAll()
-                .requestMatchers("/api/accounts/login").permitAll()
+                .requestMatchers("/api/accounts/login", "/api/accounts/token/refresh").permitAll()
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
 
                 .requestMatchers("/api/snowflake/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
 
 
                 // Everything else needs auth
@@ -44,7 +52,16 @@ public class SecurityConfig {
                 headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable)
             )
 
-            // ✅ Enable ONLY Basic Auth
+            // ✅ No sessions: every request carries its own credentials
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+
+            // ✅ Bearer tokens from /login, verified without a DB hit or password hash
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenService), BasicAuthenticationFilter.class)
+
+            // ✅ 429 instead of 500 when Basic Auth finds the hashing pool saturated
+            .addFilterBefore(new TooManyRequestsFilter(), JwtAuthenticationFilter.class)
+
+            // ✅ Basic Auth kept for scripts and older clients; it hashes the password on every call
             .httpBasic(httpBasic -> {})
 
         // Disable Form Login (Fix)
@@ -61,10 +78,11 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
-    // Password Encoder (BCrypt)
+    // Password Encoder (BCrypt) on the bounded hashing pool, skipped for passwords verified within the credential cache TTL
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(CredentialCache credentialCache, PasswordHashingExecutor passwordHashingExecutor) {
+        return new CachingPasswordEncoder(
+                new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor), credentialCache);
     }
 
     // Load users from DB (AccountService)
@@ -20,4 +20,7 @@ public class SnowflakeProperties {
     private String schema;
     private String warehouse;
     private String role;
+    // Pool size caps concurrent warehouse queries; callers wait up to the timeout for a connection
+    private int maxPoolSize = 4;
+    private long connectionTimeoutMs = 10_000;
 }
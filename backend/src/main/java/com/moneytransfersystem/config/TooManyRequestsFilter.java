@@ -0,0 +1,40 @@
+package com.moneytransfersystem.config;
+
+import com.moneytransfersystem.domain.exceptions.TooManyRequestsException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Answers 429 when HTTP Basic authentication is refused a password check by the hashing
+ * executor. Controllers get the same status from GlobalExceptionHandler; this covers the
+ * security filters, which run before any handler.
+ */
+public class TooManyRequestsFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } catch (TooManyRequestsException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("""
+                    {"timestamp":"%s","error":"Too Many Requests","message":"%s","status":%d}"""
+                    .formatted(LocalDateTime.now(), e.getMessage(), HttpStatus.TOO_MANY_REQUESTS.value()));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service call tracing configuration
+ * Binds properties from application.yml with prefix "tracing"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "tracing")
+@Data
+public class TracingProperties {
+    private boolean enabled = true;
+    // Fraction of successful calls logged, 0.0 to 1.0
+    private double defaultSampleRate = 0.01;
+    // Per-method overrides keyed by "SimpleClassName.method"
+    private Map<String, Double> sampleRates = new HashMap<>();
+    // Calls at least this slow are logged whatever the sample rate; 0 disables
+    private long slowThresholdMs = 500;
+    private boolean alwaysTraceFailures = true;
+    // Parameters whose lower-cased name contains one of these are never logged
+    private List<String> redactedNames = List.of("password", "secret", "token", "credential");
+    private int maxValueLength = 64;
+}
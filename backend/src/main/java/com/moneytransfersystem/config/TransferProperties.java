@@ -0,0 +1,26 @@
+package com.moneytransfersystem.config;
+
+import com.moneytransfersystem.domain.enums.TransferExecutionMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transfer pipeline configuration
+ * Binds properties from application.yml with prefix "transfer"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "transfer")
+@Data
+public class TransferProperties {
+    private TransferExecutionMode executionMode = TransferExecutionMode.ENTITY;
+    private int batchMaxItems = 5000;
+    private int batchChunkSize = 500;
+    private int historyDefaultPageSize = 50;
+    private int historyMaxPageSize = 200;
+    // MySQL Connector/J streams row by row only for Integer.MIN_VALUE
+    private int exportFetchSize = Integer.MIN_VALUE;
+    private int exportFlushRows = 500;
+    private int dailyAggregateSlots = 4;
+    private int dailySummaryMaxDays = 366;
+}
@@ -0,0 +1,20 @@
+package com.moneytransfersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Optimistic-lock retry configuration for transfers
+ * Binds properties from application.yml with prefix "transfer.retry"
+ */
+@Configuration
+@ConfigurationProperties(prefix = "transfer.retry")
+@Data
+public class TransferRetryProperties {
+    private boolean enabled = true;
+    private int maxAttempts = 5;
+    private long initialBackoffMs = 5;
+    private long maxBackoffMs = 200;
+    private double multiplier = 2.0;
+}
@@ -0,0 +1,43 @@
+package com.moneytransfersystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports at startup whether {@code spring.threads.virtual.enabled} actually took effect.
+ * Spring Boot only switches Tomcat and the task executors to virtual threads on Java 21+,
+ * and silently keeps platform threads otherwise.
+ */
+@Component
+public class VirtualThreadModeCheck {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadModeCheck.class);
+    private static final int VIRTUAL_THREADS_MIN_FEATURE = 21;
+
+    private final Environment environment;
+
+    public VirtualThreadModeCheck(Environment environment) {
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (!requested) {
+            return;
+        }
+        int feature = Runtime.version().feature();
+        String poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10");
+        if (feature >= VIRTUAL_THREADS_MIN_FEATURE) {
+            // Tomcat no longer caps concurrency; waiting for a pooled connection does
+            logger.info("Virtual threads enabled | class={} | method=report | javaVersion={} | jdbcPoolSize={}",
+                    getClass().getSimpleName(), feature, poolSize);
+        } else {
+            logger.warn("Virtual threads requested but unavailable | class={} | method=report | javaVersion={} | reason=requires Java {}",
+                    getClass().getSimpleName(), feature, VIRTUAL_THREADS_MIN_FEATURE);
+        }
+    }
+}
@@ -32,5 +32,53 @@ public class AppConstants {
 
         public static final String RECEIVER_ACCOUNT_NOT_FOUND =
                 "Receiver account not found";
+
+        public static final String ACCOUNT_ALREADY_SHARDED =
+                "Account is already in hot-account mode";
+
+        public static final String ACCOUNT_NOT_SHARDED =
+                "Account is not in hot-account mode";
+
+        public static final String INVALID_SHARD_COUNT =
+                "Shard count must be between 2 and 64";
+
+        public static final String BATCH_TOO_LARGE =
+                "Batch exceeds the maximum number of transfers";
+
+        public static final String CONCURRENT_UPDATE =
+                "Account was updated concurrently, please retry";
+
+        public static final String INVALID_HISTORY_CURSOR =
+                "History cursor is malformed";
+
+        public static final String INVALID_PAGE_SIZE =
+                "Page size must be between 1 and the configured maximum";
+
+        public static final String INVALID_EXPORT_FORMAT =
+                "Export format must be csv or ndjson";
+
+        public static final String INVALID_EXPORT_RANGE =
+                "Export range start must be before its end";
+
+        public static final String INVALID_SUMMARY_RANGE =
+                "Summary range must start on or before its end and span at most the configured number of days";
+
+        public static final String EVENT_STREAM_DISABLED =
+                "Account event streams are disabled";
+
+        public static final String TOO_MANY_SUBSCRIBERS =
+                "Too many open event streams for this account, please retry later";
+
+        public static final String INVALID_AS_OF =
+                "Balance time must not be in the future";
+
+        public static final String INVALID_REFRESH_TOKEN =
+                "Refresh token is invalid or expired, please log in again";
+
+        public static final String TOO_MANY_LOGIN_ATTEMPTS =
+                "Too many login attempts, please retry later";
+
+        public static final String AUTHENTICATION_BUSY =
+                "Authentication is busy, please retry shortly";
     }
 
@@ -1,30 +1,90 @@
 package com.moneytransfersystem.controllers;
 
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.dtos.AuthTokens;
+import com.moneytransfersystem.domain.dtos.BalanceAsOf;
 import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.exceptions.TooManyRequestsException;
 import com.moneytransfersystem.service.AccountService;
+import com.moneytransfersystem.service.auth.JwtTokenService;
+import com.moneytransfersystem.service.auth.LoginRateLimiter;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import com.moneytransfersystem.service.snapshot.BalanceSnapshotService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/accounts")
 public class AccountController {
 
     private final AccountService accountService;
-
-    public AccountController(AccountService accountService) {
+    private final AccountEventHub accountEventHub;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final JwtTokenService jwtTokenService;
+    private final LoginRateLimiter loginRateLimiter;
+
+    public AccountController(AccountService accountService,
+                             AccountEventHub accountEventHub,
+                             BalanceSnapshotService balanceSnapshotService,
+                             JwtTokenService jwtTokenService,
+                             LoginRateLimiter loginRateLimiter) {
         this.accountService = accountService;
+        this.accountEventHub = accountEventHub;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.jwtTokenService = jwtTokenService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Account> getAccount(@PathVariable String id) {
+    public ResponseEntity<Account> getAccount(@PathVariable String id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // A client holding the current version is answered from a version probe, without loading the account
+        if (ifNoneMatch != null) {
+            Optional<String> current = accountService.findVersion(id).map(ConditionalRequests::eTag);
+            if (current.isPresent() && ConditionalRequests.notModified(ifNoneMatch, current.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current.get()).build();
+            }
+        }
         return accountService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(account -> {
+                    ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                    // Hot accounts are not tagged, their balance moves without a version bump
+                    if (!account.isSharded() && account.getVersion() != null) {
+                        ok.eTag(ConditionalRequests.eTag(account.getVersion()));
+                    }
+                    return ok.body(account);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<BalanceAsOf> getBalanceAsOf(@PathVariable String id,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+        return ResponseEntity.ok(balanceSnapshotService.getBalanceAsOf(id, asOf));
+    }
+
+    /**
+     * Server-Sent Events stream of balance changes and transactions for the account.
+     * Reconnecting clients send Last-Event-ID to resume where they left off.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable String id,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return accountEventHub.subscribe(id, lastEventId);
+    }
+
     @PostMapping
     public ResponseEntity<Account> createAccount(@RequestBody Map<String, Object> payload) {
         String name = (String) payload.get("holderName");
@@ -46,18 +106,37 @@ public class AccountController {
     }
 
 
+    @PostMapping("/{id}/hot-mode")
+    public ResponseEntity<Account> enableHotAccountMode(@PathVariable String id,
+                                                        @RequestBody Map<String, Integer> payload) {
+        Integer shards = payload.get("shards");
+        if (shards == null) {
+            throw new IllegalArgumentException(AppConstants.INVALID_SHARD_COUNT);
+        }
+        return ResponseEntity.ok(accountService.enableHotAccountMode(id, shards));
+    }
+
+    @DeleteMapping("/{id}/hot-mode")
+    public ResponseEntity<Account> disableHotAccountMode(@PathVariable String id) {
+        return ResponseEntity.ok(accountService.disableHotAccountMode(id));
+    }
+
+    /**
+     * Verifies the password once and returns a short-lived access token for the
+     * Authorization: Bearer header, plus a refresh token for /token/refresh.
+     * Attempts are rate limited per client address and per account.
+     */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> login(@RequestBody Map<String, String> payload) {
+    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> payload,
+                                                     HttpServletRequest request) {
         String accountId = payload.get("accountId");
         String password = payload.get("password");
 
+        loginRateLimiter.acquire(request.getRemoteAddr(), accountId);
         boolean authenticated = accountService.authenticate(accountId, password);
 
         if (authenticated) {
-            return ResponseEntity.ok(Map.of(
-                    "message", "Login successful",
-                    "accountId", accountId
-            ));
+            return ResponseEntity.ok(tokenResponse("Login successful", accountId, jwtTokenService.issue(accountId)));
         } else {
             return ResponseEntity.status(401).body(Map.of(
                     "message", "Invalid credentials"
@@ -65,12 +144,36 @@ public class AccountController {
         }
     }
 
+    @PostMapping("/token/refresh")
+    public ResponseEntity<Map<String, Object>> refreshToken(@RequestBody Map<String, String> payload) {
+        return jwtTokenService.refresh(payload.get("refreshToken"))
+                .map(tokens -> ResponseEntity.ok(tokenResponse("Token refreshed", null, tokens)))
+                .orElseGet(() -> ResponseEntity.status(401).body(Map.of(
+                        "message", AppConstants.INVALID_REFRESH_TOKEN
+                )));
+    }
+
+    private static Map<String, Object> tokenResponse(String message, String accountId, AuthTokens tokens) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", message);
+        if (accountId != null) {
+            body.put("accountId", accountId);
+        }
+        body.put("token", tokens.getAccessToken());
+        body.put("tokenType", "Bearer");
+        body.put("expiresIn", tokens.getExpiresIn());
+        body.put("refreshToken", tokens.getRefreshToken());
+        return body;
+    }
+
     @PostMapping("/change-password")
-    public ResponseEntity<Map<String, String>> changePassword(@RequestBody Map<String, String> payload) {
+    public ResponseEntity<Map<String, String>> changePassword(@RequestBody Map<String, String> payload,
+                                                              HttpServletRequest request) {
         String accountId = payload.get("accountId");
         String currentPassword = payload.get("currentPassword");
         String newPassword = payload.get("newPassword");
 
+        loginRateLimiter.acquire(request.getRemoteAddr(), accountId);
         try {
             accountService.changePassword(accountId, currentPassword, newPassword);
             return ResponseEntity.ok(Map.of(
@@ -80,6 +183,8 @@ public class AccountController {
             return ResponseEntity.status(400).body(Map.of(
                     "message", "Current password is incorrect"
             ));
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of(
                     "message", "Failed to change password"
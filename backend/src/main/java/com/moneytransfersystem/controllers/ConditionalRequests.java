@@ -0,0 +1,37 @@
+package com.moneytransfersystem.controllers;
+
+/**
+ * Strong ETags and If-None-Match matching for the conditional GET endpoints.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static String eTag(Object version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * True when If-None-Match names the current tag or is "*". Uses the weak comparison
+     * RFC 9110 prescribes for this header, so a W/ prefix added by a proxy still matches.
+     */
+    static boolean notModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,6 +2,7 @@ package com.moneytransfersystem.controllers;
 
 import com.moneytransfersystem.service.snowflake.SnowflakeConnectionManager;
 import com.moneytransfersystem.service.snowflake.SnowflakeETLService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -16,6 +17,7 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/snowflake")
 @RequiredArgsConstructor
+@Timed("snowflake.requests")
 public class SnowflakeController {
 
     private final SnowflakeConnectionManager connectionManager;
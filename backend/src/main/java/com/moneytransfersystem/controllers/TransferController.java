@@ -1,14 +1,33 @@
 package com.moneytransfersystem.controllers;
 
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.dtos.AccountDailySummary;
+import com.moneytransfersystem.domain.dtos.AccountStatementPage;
+import com.moneytransfersystem.domain.dtos.BatchTransferRequest;
+import com.moneytransfersystem.domain.dtos.BatchTransferResponse;
+import com.moneytransfersystem.domain.dtos.TransactionHistoryPage;
 import com.moneytransfersystem.domain.dtos.TransferRequest;
 import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.ExportFormat;
 import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
 import com.moneytransfersystem.domain.exceptions.DuplicateTranferException;
+import com.moneytransfersystem.service.BatchTransferService;
+import com.moneytransfersystem.service.TransactionExportService;
+import com.moneytransfersystem.service.TransferExecutor;
 import com.moneytransfersystem.service.TransferService;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -17,15 +36,24 @@ import java.util.Map;
 public class TransferController {
 
     private final TransferService transferService;
+    private final TransferExecutor transferExecutor;
+    private final BatchTransferService batchTransferService;
+    private final TransactionExportService transactionExportService;
 
-    public TransferController(TransferService transferService) {
+    public TransferController(TransferService transferService,
+                              TransferExecutor transferExecutor,
+                              BatchTransferService batchTransferService,
+                              TransactionExportService transactionExportService) {
         this.transferService = transferService;
+        this.transferExecutor = transferExecutor;
+        this.batchTransferService = batchTransferService;
+        this.transactionExportService = transactionExportService;
     }
 
     @PostMapping
     public ResponseEntity<Object> transfer(@Valid @RequestBody TransferRequest request) {
         try {
-            TransactionLog result = transferService.transfer(request);
+            TransactionLog result = transferExecutor.transfer(request);
             
             // Return the transaction object directly (tests expect top-level transaction fields)
             if ("SUCCESS".equals(result.getStatus().toString())) {
@@ -46,6 +74,11 @@ public class TransferController {
                     "error", "Account not found",
                     "message", e.getMessage()
             ));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(Map.of(
+                    "error", "Concurrent update",
+                    "message", AppConstants.CONCURRENT_UPDATE
+            ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(400).body(Map.of(
                     "error", "Invalid transfer",
@@ -59,8 +92,61 @@ public class TransferController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransferResponse> transferBatch(@Valid @RequestBody BatchTransferRequest request) {
+        return ResponseEntity.ok(batchTransferService.transferBatch(request));
+    }
+
     @GetMapping("/{accountId}")
-    public ResponseEntity<List<TransactionLog>> getHistory(@PathVariable String accountId) {
-        return ResponseEntity.ok(transferService.getTransactionHistory(accountId));
+    public ResponseEntity<List<TransactionLog>> getHistory(@PathVariable String accountId,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Tagged before the read: a transfer racing it leaves the tag older than the body, never newer
+        String eTag = ConditionalRequests.eTag(transferService.getHistoryVersion(accountId));
+        if (ConditionalRequests.notModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(transferService.getTransactionHistory(accountId));
+    }
+
+    @GetMapping("/{accountId}/history")
+    public ResponseEntity<TransactionHistoryPage> getHistoryPage(@PathVariable String accountId,
+                                                                 @RequestParam(required = false) Integer limit,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = ConditionalRequests.eTag(transferService.getHistoryVersion(accountId));
+        if (ConditionalRequests.notModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(transferService.getTransactionHistoryPage(accountId, limit, after));
+    }
+
+    @GetMapping("/{accountId}/statement")
+    public ResponseEntity<AccountStatementPage> getStatement(@PathVariable String accountId,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(transferService.getStatementPage(accountId, limit, after));
+    }
+
+    @GetMapping("/{accountId}/daily-summary")
+    public ResponseEntity<List<AccountDailySummary>> getDailySummary(@PathVariable String accountId,
+                                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(transferService.getDailySummary(accountId, from, to));
+    }
+
+    @GetMapping("/{accountId}/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String accountId,
+                                                        @RequestParam(required = false) String format,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        StreamingResponseBody body = transactionExportService.export(accountId, from, to, exportFormat, gzip);
+
+        String filename = accountId + "-transactions." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 }
@@ -0,0 +1,45 @@
+package com.moneytransfersystem.domain.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class AccountDailySummary {
+    private LocalDate date;
+    private long sentCount;
+    private BigDecimal sentTotal;
+    private long receivedCount;
+    private BigDecimal receivedTotal;
+    private long failedCount;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    public AccountDailySummary() {}
+    public AccountDailySummary(LocalDate date, Long sentCount, BigDecimal sentTotal, Long receivedCount,
+                               BigDecimal receivedTotal, Long failedCount, BigDecimal minAmount, BigDecimal maxAmount) {
+        this.date = date;
+        this.sentCount = sentCount;
+        this.sentTotal = sentTotal;
+        this.receivedCount = receivedCount;
+        this.receivedTotal = receivedTotal;
+        this.failedCount = failedCount;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public long getSentCount() { return sentCount; }
+    public void setSentCount(long sentCount) { this.sentCount = sentCount; }
+    public BigDecimal getSentTotal() { return sentTotal; }
+    public void setSentTotal(BigDecimal sentTotal) { this.sentTotal = sentTotal; }
+    public long getReceivedCount() { return receivedCount; }
+    public void setReceivedCount(long receivedCount) { this.receivedCount = receivedCount; }
+    public BigDecimal getReceivedTotal() { return receivedTotal; }
+    public void setReceivedTotal(BigDecimal receivedTotal) { this.receivedTotal = receivedTotal; }
+    public long getFailedCount() { return failedCount; }
+    public void setFailedCount(long failedCount) { this.failedCount = failedCount; }
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+}
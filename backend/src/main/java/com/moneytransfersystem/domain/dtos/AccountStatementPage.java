@@ -0,0 +1,24 @@
+package com.moneytransfersystem.domain.dtos;
+
+import com.moneytransfersystem.domain.entities.AccountPosting;
+import java.util.List;
+
+public class AccountStatementPage {
+    private List<AccountPosting> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public AccountStatementPage() {}
+    public AccountStatementPage(List<AccountPosting> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<AccountPosting> getItems() { return items; }
+    public void setItems(List<AccountPosting> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,29 @@
+package com.moneytransfersystem.domain.dtos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class BalanceAsOf {
+    private String accountId;
+    private Instant asOf;
+    private BigDecimal balance;
+    // Checkpoint the balance was replayed from; null when replayed back from the live balance
+    private Instant snapshotTakenAt;
+
+    public BalanceAsOf() {}
+    public BalanceAsOf(String accountId, Instant asOf, BigDecimal balance, Instant snapshotTakenAt) {
+        this.accountId = accountId;
+        this.asOf = asOf;
+        this.balance = balance;
+        this.snapshotTakenAt = snapshotTakenAt;
+    }
+
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
+    public Instant getAsOf() { return asOf; }
+    public void setAsOf(Instant asOf) { this.asOf = asOf; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public Instant getSnapshotTakenAt() { return snapshotTakenAt; }
+    public void setSnapshotTakenAt(Instant snapshotTakenAt) { this.snapshotTakenAt = snapshotTakenAt; }
+}
@@ -0,0 +1,32 @@
+package com.moneytransfersystem.domain.dtos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class BalanceUpdate {
+    private String accountId;
+    private BigDecimal balance;
+    private String status;
+    private Long version;
+    private Instant lastUpdated;
+
+    public BalanceUpdate() {}
+    public BalanceUpdate(String accountId, BigDecimal balance, String status, Long version, Instant lastUpdated) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.status = status;
+        this.version = version;
+        this.lastUpdated = lastUpdated;
+    }
+
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    public Instant getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(Instant lastUpdated) { this.lastUpdated = lastUpdated; }
+}
@@ -0,0 +1,32 @@
+package com.moneytransfersystem.domain.dtos;
+
+import com.moneytransfersystem.domain.enums.BatchItemOutcome;
+
+public class BatchTransferItemResult {
+    private int index;
+    private String idempotencyKey;
+    private String transactionId;
+    private BatchItemOutcome outcome;
+    private String message;
+
+    public BatchTransferItemResult() {}
+    public BatchTransferItemResult(int index, String idempotencyKey, String transactionId,
+                                   BatchItemOutcome outcome, String message) {
+        this.index = index;
+        this.idempotencyKey = idempotencyKey;
+        this.transactionId = transactionId;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+    public BatchItemOutcome getOutcome() { return outcome; }
+    public void setOutcome(BatchItemOutcome outcome) { this.outcome = outcome; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,13 @@
+package com.moneytransfersystem.domain.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class BatchTransferRequest {
+    @NotEmpty(message = "At least one transfer is required")
+    private List<@Valid TransferRequest> transfers;
+
+    public List<TransferRequest> getTransfers() { return transfers; }
+    public void setTransfers(List<TransferRequest> transfers) { this.transfers = transfers; }
+}
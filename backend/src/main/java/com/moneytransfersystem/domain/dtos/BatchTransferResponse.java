@@ -0,0 +1,24 @@
+package com.moneytransfersystem.domain.dtos;
+
+import com.moneytransfersystem.domain.enums.BatchItemOutcome;
+import java.util.List;
+
+public class BatchTransferResponse {
+    private int total;
+    private int succeeded;
+    private List<BatchTransferItemResult> results;
+
+    public BatchTransferResponse() {}
+    public BatchTransferResponse(List<BatchTransferItemResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.succeeded = (int) results.stream().filter(r -> r.getOutcome() == BatchItemOutcome.SUCCESS).count();
+    }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+    public List<BatchTransferItemResult> getResults() { return results; }
+    public void setResults(List<BatchTransferItemResult> results) { this.results = results; }
+}
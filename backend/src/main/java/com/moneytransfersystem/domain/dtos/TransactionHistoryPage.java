@@ -0,0 +1,24 @@
+package com.moneytransfersystem.domain.dtos;
+
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import java.util.List;
+
+public class TransactionHistoryPage {
+    private List<TransactionLog> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public TransactionHistoryPage() {}
+    public TransactionHistoryPage(List<TransactionLog> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<TransactionLog> getItems() { return items; }
+    public void setItems(List<TransactionLog> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -18,7 +18,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @ToString
 public class Account {
     private static final Logger logger =
@@ -48,6 +48,10 @@ public class Account {
     @Column(name = "password", nullable = false)
     private String password;
 
+    // Hot-account mode: when set, the balance lives in this many account_shards rows
+    @Column(name = "shard_count")
+    private Integer shardCount;
+
 
     @PrePersist
     @PreUpdate
@@ -118,4 +122,8 @@ public class Account {
         return status == AccountStatus.ACTIVE;
     }
 
+    public boolean isSharded() {
+        return shardCount != null && shardCount > 0;
+    }
+
 }
@@ -0,0 +1,38 @@
+package com.moneytransfersystem.domain.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.*;
+
+/**
+ * An account's balance as of {@code takenAt}, checkpointed in the background. A balance at
+ * any time is the nearest snapshot plus the transfers logged between the two, so lookups
+ * replay at most one snapshot interval however old the account is.
+ */
+@Entity
+@Table(name = "account_balance_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_snapshot_account_taken", columnNames = {"account_id", "taken_at"}))
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+public class AccountBalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long id;
+
+    @Column(name = "account_id", length = 64, nullable = false)
+    private String accountId;
+
+    @Column(name = "taken_at", nullable = false)
+    private Instant takenAt;
+
+    // Aggregated over the shard rows for hot accounts
+    @Column(name = "balance", precision = 19, scale = 4, nullable = false)
+    private BigDecimal balance;
+}
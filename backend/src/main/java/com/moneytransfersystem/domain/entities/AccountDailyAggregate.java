@@ -0,0 +1,60 @@
+package com.moneytransfersystem.domain.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * Running totals of one account's transfers on one UTC day, kept up to date in the
+ * transaction that writes the logs. A day may be split over a few slots so hot
+ * accounts do not queue on a single row; readers sum the slots.
+ */
+@Entity
+@Table(name = "account_daily_aggregates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_account_date_slot", columnNames = {"account_id", "agg_date", "slot"}))
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+public class AccountDailyAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "aggregate_id")
+    private Long id;
+
+    @Column(name = "account_id", length = 64, nullable = false)
+    private String accountId;
+
+    @Column(name = "agg_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "slot", nullable = false)
+    private int slot;
+
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+
+    @Column(name = "sent_total", precision = 19, scale = 4, nullable = false)
+    private BigDecimal sentTotal;
+
+    @Column(name = "received_count", nullable = false)
+    private long receivedCount;
+
+    @Column(name = "received_total", precision = 19, scale = 4, nullable = false)
+    private BigDecimal receivedTotal;
+
+    // FAILED attempts, counted on the sender
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    // Smallest and largest successful movement either way; null until the first one
+    @Column(name = "min_amount", precision = 19, scale = 4)
+    private BigDecimal minAmount;
+
+    @Column(name = "max_amount", precision = 19, scale = 4)
+    private BigDecimal maxAmount;
+}
@@ -0,0 +1,46 @@
+package com.moneytransfersystem.domain.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.*;
+
+/**
+ * One leg of a successful transfer: a signed movement on a single account.
+ * Every transfer writes two rows, so per-account history, statements and
+ * balance-at-time lookups are one range scan on (account_id, created_on).
+ */
+@Entity
+@Table(name = "account_postings",
+        indexes = @Index(name = "idx_posting_account_created", columnList = "account_id, created_on, transaction_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_posting_tx_account", columnNames = {"transaction_id", "account_id"}))
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+public class AccountPosting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "posting_id")
+    private Long id;
+
+    @Column(name = "account_id", length = 64, nullable = false)
+    private String accountId;
+
+    @Column(name = "transaction_id", length = 64, nullable = false)
+    private String transactionId;
+
+    // Negative for the sender's leg, positive for the receiver's
+    @Column(name = "amount", precision = 19, scale = 4, nullable = false)
+    private BigDecimal amount;
+
+    // Account balance right after this posting; null for hot (sharded) accounts
+    @Column(name = "balance_after", precision = 19, scale = 4)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "created_on", nullable = false)
+    private Instant createdOn;
+}
@@ -0,0 +1,49 @@
+package com.moneytransfersystem.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One sub-ledger slot of a hot account. The account's balance is the sum of its slots.
+ */
+@Entity
+@Table(name = "account_shards",
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_shard_slot", columnNames = {"account_id", "slot"}),
+        indexes = @Index(name = "idx_account_shard_account", columnList = "account_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class AccountShard {
+
+    @Id
+    @Column(name = "shard_id", length = 80, nullable = false, updatable = false)
+    private String id;
+
+    @Column(name = "account_id", length = 64, nullable = false, updatable = false)
+    private String accountId;
+
+    @Column(name = "slot", nullable = false, updatable = false)
+    private int slot;
+
+    @Column(name = "balance", precision = 19, scale = 4, nullable = false)
+    private BigDecimal balance;
+
+    @Column(name = "last_updated")
+    private Instant lastUpdated;
+
+    public static AccountShard of(String accountId, int slot, BigDecimal balance) {
+        return AccountShard.builder()
+                .id(accountId + ":" + slot)
+                .accountId(accountId)
+                .slot(slot)
+                .balance(balance)
+                .lastUpdated(Instant.now())
+                .build();
+    }
+}
@@ -7,7 +7,11 @@ import java.time.Instant;
 import lombok.*;
 
 @Entity
-@Table(name = "transaction_logs")
+@Table(name = "transaction_logs", indexes = {
+        // Keyset history: one backward range scan per direction, already in page order
+        @Index(name = "idx_tx_from_created", columnList = "from_account_id, created_on, transaction_id"),
+        @Index(name = "idx_tx_to_created", columnList = "to_account_id, created_on, transaction_id")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,11 @@
+package com.moneytransfersystem.domain.enums;
+
+public enum BatchItemOutcome {
+    SUCCESS,
+    /** Recorded as a FAILED TransactionLog, like an inactive account on the single-transfer path. */
+    FAILED,
+    DUPLICATE,
+    NOT_FOUND,
+    /** Rejected without a log, like a validation or insufficient-balance error on the single-transfer path. */
+    REJECTED
+}
@@ -0,0 +1,39 @@
+package com.moneytransfersystem.domain.enums;
+
+import com.moneytransfersystem.constants.AppConstants;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    /** RFC 4180 CSV with a header row. */
+    CSV("text/csv;charset=UTF-8", "csv"),
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(AppConstants.INVALID_EXPORT_FORMAT);
+        }
+    }
+}
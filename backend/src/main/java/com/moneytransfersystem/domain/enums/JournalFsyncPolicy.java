@@ -0,0 +1,8 @@
+package com.moneytransfersystem.domain.enums;
+
+public enum JournalFsyncPolicy {
+    /** Force the journal after every drained ring batch before acknowledging it. */
+    EVERY_BATCH,
+    /** Hold acknowledgements until the ring is idle, the group window elapses or enough entries are pending, then force once. */
+    GROUP
+}
@@ -0,0 +1,8 @@
+package com.moneytransfersystem.domain.enums;
+
+public enum TransferExecutionMode {
+    /** Load both accounts, mutate through Account.debit/credit, save (optimistic locking). */
+    ENTITY,
+    /** One conditional UPDATE per leg; affected-row counts decide the outcome. */
+    GUARDED_UPDATE
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/moneytransfersystem/domain/exceptions/EventStreamUnavailableException.java
+package com.moneytransfersystem.domain.exceptions;
+
+import com.moneytransfersystem.domain.exceptions.base.DomainException;
+
+public class EventStreamUnavailableException extends DomainException {
+    public EventStreamUnavailableException(String message) {
+        super(message);
+    }
+}
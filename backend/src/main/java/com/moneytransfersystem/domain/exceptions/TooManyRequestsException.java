@@ -0,0 +1,10 @@
+// src/main/java/com/moneytransfersystem/domain/exceptions/TooManyRequestsException.java
+package com.moneytransfersystem.domain.exceptions;
+
+import com.moneytransfersystem.domain.exceptions.base.DomainException;
+
+public class TooManyRequestsException extends DomainException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -38,13 +38,25 @@ public class GlobalExceptionHandler {
         return buildResponse("Duplicate Transaction", ex.getMessage(), HttpStatus.CONFLICT);
     }
 
-    // 5. Invalid Arguments -> 400
+    // 5. Event Stream Unavailable -> 503
+    @ExceptionHandler(EventStreamUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleEventStreamUnavailable(EventStreamUnavailableException ex) {
+        return buildResponse("Event Stream Unavailable", ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // 6. Login Throttled -> 429
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        return buildResponse("Too Many Requests", ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    // 7. Invalid Arguments -> 400
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
         return buildResponse("Invalid Request", ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
-    // 6. Validation Errors -> 400
+    // 8. Validation Errors -> 400
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
 
@@ -63,7 +75,7 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
-    // ✅ 7. Generic Handler (FIXED FOR DEBUGGING)
+    // ✅ 9. Generic Handler (FIXED FOR DEBUGGING)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericError(Exception ex) {
 
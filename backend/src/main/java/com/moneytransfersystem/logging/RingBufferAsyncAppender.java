@@ -0,0 +1,246 @@
+package com.moneytransfersystem.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands log events to a single writer thread through a lock-free {@link EventRing}, so the
+ * request thread only formats the message and claims a slot; file I/O and the attached
+ * appender's lock are paid by the writer.
+ * <p>
+ * Once fewer than {@code discardingThreshold} slots are free, events at or below
+ * {@code dropLevel} are discarded. A full ring drops everything when {@code neverBlock} is
+ * set; otherwise WARN and ERROR events wait for a slot. The writer drains up to
+ * {@code maxBatchSize} events, then flushes buffered output streams once per batch. Drops
+ * are counted, reported as a WARN line through the attached appenders, and exported via
+ * {@link #active()}. Caller data is not captured.
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final List<RingBufferAsyncAppender> ACTIVE = new CopyOnWriteArrayList<>();
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int queueSize = 8192;
+    private int discardingThreshold = -1;
+    private Level dropLevel = Level.INFO;
+    private boolean neverBlock = false;
+    private int maxBatchSize = 256;
+    private long maxFlushTimeMs = 1000;
+    private long dropReportIntervalMs = 10_000;
+
+    private EventRing<ILoggingEvent> ring;
+    private Thread writer;
+    private volatile boolean writerParked;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder droppedBelowThreshold = new LongAdder();
+    private final LongAdder droppedFull = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private long reportedDrops;
+    private long lastDropReport;
+
+    /**
+     * Started instances, for exporting their counters as metrics.
+     */
+    public static List<RingBufferAsyncAppender> active() {
+        return ACTIVE;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to [" + name + "]");
+            return;
+        }
+        ring = new EventRing<>(queueSize);
+        if (discardingThreshold < 0) {
+            discardingThreshold = ring.capacity() / 5;
+        }
+        writer = new Thread(this::drain, "async-log-" + name);
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+        ACTIVE.add(this);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        ACTIVE.remove(this);
+        LockSupport.unpark(writer);
+        try {
+            writer.join(maxFlushTimeMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            addWarn("Writer for [" + name + "] did not finish within " + maxFlushTimeMs + " ms; "
+                    + ring.size() + " events lost");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        boolean droppable = event.getLevel().toInt() <= dropLevel.toInt();
+        if (droppable && ring.capacity() - ring.size() < discardingThreshold) {
+            droppedBelowThreshold.increment();
+            return;
+        }
+        // Format the message and capture MDC and thread name now, while they are still this thread's
+        event.prepareForDeferredProcessing();
+
+        while (!ring.offer(event)) {
+            if (neverBlock || droppable || !isStarted()) {
+                droppedFull.increment();
+                return;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        enqueued.increment();
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            int drained = 0;
+            ILoggingEvent event;
+            while (drained < maxBatchSize && (event = ring.poll()) != null) {
+                appenders.appendLoopOnAppenders(event);
+                drained++;
+            }
+            if (drained > 0) {
+                reportDrops();
+                flush();
+                batches.increment();
+                continue;
+            }
+            if (!isStarted()) {
+                reportDrops();
+                flush();
+                return;
+            }
+            writerParked = true;
+            if (ring.size() == 0 && isStarted()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+            if (System.currentTimeMillis() - lastDropReport >= dropReportIntervalMs) {
+                reportDrops();
+                flush();
+            }
+        }
+    }
+
+    private void reportDrops() {
+        long dropped = getDropped();
+        long now = System.currentTimeMillis();
+        if (dropped == reportedDrops || (isStarted() && now - lastDropReport < dropReportIntervalMs)) {
+            return;
+        }
+        LoggerContext loggerContext = (LoggerContext) getContext();
+        LoggingEvent report = new LoggingEvent(RingBufferAsyncAppender.class.getName(),
+                loggerContext.getLogger(RingBufferAsyncAppender.class), Level.WARN,
+                "Log events dropped | appender={} | dropped={} | total={}", null,
+                new Object[]{name, dropped - reportedDrops, dropped});
+        report.prepareForDeferredProcessing();
+        appenders.appendLoopOnAppenders(report);
+        reportedDrops = dropped;
+        lastDropReport = now;
+    }
+
+    // Attached appenders run with immediateFlush=false; this turns their buffering into one write per batch
+    private void flush() {
+        Iterator<Appender<ILoggingEvent>> it = appenders.iteratorForAppenders();
+        while (it.hasNext()) {
+            if (it.next() instanceof OutputStreamAppender<ILoggingEvent> stream) {
+                OutputStream out = stream.getOutputStream();
+                if (out != null) {
+                    try {
+                        out.flush();
+                    } catch (IOException e) {
+                        addError("Failed to flush [" + stream.getName() + "]", e);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+
+    public void setQueueSize(int queueSize) { this.queueSize = queueSize; }
+    public void setDiscardingThreshold(int discardingThreshold) { this.discardingThreshold = discardingThreshold; }
+    public void setDropLevel(String dropLevel) { this.dropLevel = Level.toLevel(dropLevel, Level.INFO); }
+    public void setNeverBlock(boolean neverBlock) { this.neverBlock = neverBlock; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = Math.max(1, maxBatchSize); }
+    public void setMaxFlushTimeMs(long maxFlushTimeMs) { this.maxFlushTimeMs = maxFlushTimeMs; }
+    public void setDropReportIntervalMs(long dropReportIntervalMs) { this.dropReportIntervalMs = dropReportIntervalMs; }
+
+    public long getEnqueued() { return enqueued.sum(); }
+    public long getDroppedBelowThreshold() { return droppedBelowThreshold.sum(); }
+    public long getDroppedFull() { return droppedFull.sum(); }
+    public long getDropped() { return droppedBelowThreshold.sum() + droppedFull.sum(); }
+    public long getBatches() { return batches.sum(); }
+    public int getQueued() { return ring == null ? 0 : ring.size(); }
+}
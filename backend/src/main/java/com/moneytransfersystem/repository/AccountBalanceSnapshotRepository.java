@@ -0,0 +1,24 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.domain.entities.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, Long> {
+
+    /**
+     * Latest snapshot at or before the instant; one backward seek on the unique key.
+     */
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc(String accountId, Instant takenAt);
+
+    /**
+     * Earliest snapshot after the instant, for times before the account's first checkpoint.
+     */
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndTakenAtGreaterThanOrderByTakenAtAsc(String accountId, Instant takenAt);
+
+    @Query("SELECT MAX(s.takenAt) FROM AccountBalanceSnapshot s")
+    Optional<Instant> findLatestTakenAt();
+}
@@ -0,0 +1,29 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.domain.dtos.AccountDailySummary;
+import com.moneytransfersystem.domain.entities.AccountDailyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AccountDailyAggregateRepository extends JpaRepository<AccountDailyAggregate, Long> {
+
+    /**
+     * One row per day with activity in [from, to], slots summed; a range scan on the unique key.
+     */
+    @Query("""
+            SELECT new com.moneytransfersystem.domain.dtos.AccountDailySummary(
+                a.date, SUM(a.sentCount), SUM(a.sentTotal), SUM(a.receivedCount), SUM(a.receivedTotal),
+                SUM(a.failedCount), MIN(a.minAmount), MAX(a.maxAmount))
+            FROM AccountDailyAggregate a
+            WHERE a.accountId = :accountId AND a.date BETWEEN :from AND :to
+            GROUP BY a.date
+            ORDER BY a.date
+            """)
+    List<AccountDailySummary> summarize(@Param("accountId") String accountId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to);
+}
@@ -0,0 +1,121 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.domain.entities.AccountDailyAggregate;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Folds transaction logs into per-account, per-day deltas and upserts one
+ * account_daily_aggregates row per (account, day) with JDBC batching.
+ * Must run in the transaction that writes the logs, so the totals commit or roll back with them.
+ */
+@Repository
+public class AccountDailyAggregateWriter {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO account_daily_aggregates
+                (account_id, agg_date, slot, sent_count, sent_total, received_count, received_total,
+                 failed_count, min_amount, max_amount)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                sent_count = sent_count + VALUES(sent_count),
+                sent_total = sent_total + VALUES(sent_total),
+                received_count = received_count + VALUES(received_count),
+                received_total = received_total + VALUES(received_total),
+                failed_count = failed_count + VALUES(failed_count),
+                min_amount = LEAST(COALESCE(min_amount, VALUES(min_amount)), COALESCE(VALUES(min_amount), min_amount)),
+                max_amount = GREATEST(COALESCE(max_amount, VALUES(max_amount)), COALESCE(VALUES(max_amount), max_amount))
+            """;
+
+    // Rows are locked in this order, so two writers never wait on each other in a cycle
+    private static final Comparator<AccountDailyAggregate> LOCK_ORDER =
+            Comparator.comparing(AccountDailyAggregate::getAccountId)
+                    .thenComparing(AccountDailyAggregate::getDate)
+                    .thenComparingInt(AccountDailyAggregate::getSlot);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransferProperties transferProperties;
+
+    public AccountDailyAggregateWriter(JdbcTemplate jdbcTemplate, TransferProperties transferProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transferProperties = transferProperties;
+    }
+
+    public void applyFor(List<TransactionLog> logs, int batchSize) {
+        // Each call adds to one of the day's slots, picked at random per account and day
+        int slots = Math.max(1, transferProperties.getDailyAggregateSlots());
+        Map<String, AccountDailyAggregate> deltas = new HashMap<>();
+        for (TransactionLog log : logs) {
+            LocalDate date = LocalDate.ofInstant(log.getCreatedOn(), ZoneOffset.UTC);
+            if (log.getStatus() == TransactionStatus.SUCCESS) {
+                if (log.getFromAccountId() != null) {
+                    AccountDailyAggregate sender = delta(deltas, log.getFromAccountId(), date, slots);
+                    sender.setSentCount(sender.getSentCount() + 1);
+                    sender.setSentTotal(sender.getSentTotal().add(log.getAmount()));
+                    widen(sender, log.getAmount());
+                }
+                if (log.getToAccountId() != null) {
+                    AccountDailyAggregate receiver = delta(deltas, log.getToAccountId(), date, slots);
+                    receiver.setReceivedCount(receiver.getReceivedCount() + 1);
+                    receiver.setReceivedTotal(receiver.getReceivedTotal().add(log.getAmount()));
+                    widen(receiver, log.getAmount());
+                }
+            } else if (log.getFromAccountId() != null) {
+                AccountDailyAggregate sender = delta(deltas, log.getFromAccountId(), date, slots);
+                sender.setFailedCount(sender.getFailedCount() + 1);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<AccountDailyAggregate> rows = new ArrayList<>(deltas.values());
+        rows.sort(LOCK_ORDER);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setString(1, row.getAccountId());
+            ps.setDate(2, Date.valueOf(row.getDate()));
+            ps.setInt(3, row.getSlot());
+            ps.setLong(4, row.getSentCount());
+            ps.setBigDecimal(5, row.getSentTotal());
+            ps.setLong(6, row.getReceivedCount());
+            ps.setBigDecimal(7, row.getReceivedTotal());
+            ps.setLong(8, row.getFailedCount());
+            ps.setBigDecimal(9, row.getMinAmount());
+            ps.setBigDecimal(10, row.getMaxAmount());
+        });
+    }
+
+    private static AccountDailyAggregate delta(Map<String, AccountDailyAggregate> deltas, String accountId,
+                                               LocalDate date, int slots) {
+        return deltas.computeIfAbsent(accountId + '|' + date, key -> AccountDailyAggregate.builder()
+                .accountId(accountId)
+                .date(date)
+                .slot(slots > 1 ? ThreadLocalRandom.current().nextInt(slots) : 0)
+                .sentTotal(BigDecimal.ZERO)
+                .receivedTotal(BigDecimal.ZERO)
+                .build());
+    }
+
+    private static void widen(AccountDailyAggregate row, BigDecimal amount) {
+        if (row.getMinAmount() == null || amount.compareTo(row.getMinAmount()) < 0) {
+            row.setMinAmount(amount);
+        }
+        if (row.getMaxAmount() == null || amount.compareTo(row.getMaxAmount()) > 0) {
+            row.setMaxAmount(amount);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.domain.entities.AccountPosting;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface AccountPostingRepository extends JpaRepository<AccountPosting, Long> {
+
+    /**
+     * First page of an account's postings, newest first.
+     */
+    @Query("""
+            SELECT p FROM AccountPosting p
+            WHERE p.accountId = :accountId
+            ORDER BY p.createdOn DESC, p.transactionId DESC
+            """)
+    List<AccountPosting> findFirstPage(@Param("accountId") String accountId, Pageable pageable);
+
+    /**
+     * Seek page of an account's postings, strictly older than the (createdOn, transactionId) cursor.
+     */
+    @Query("""
+            SELECT p FROM AccountPosting p
+            WHERE p.accountId = :accountId
+              AND (p.createdOn < :createdOn OR (p.createdOn = :createdOn AND p.transactionId < :transactionId))
+            ORDER BY p.createdOn DESC, p.transactionId DESC
+            """)
+    List<AccountPosting> findPageBefore(@Param("accountId") String accountId,
+                                        @Param("createdOn") Instant createdOn,
+                                        @Param("transactionId") String transactionId,
+                                        Pageable pageable);
+}
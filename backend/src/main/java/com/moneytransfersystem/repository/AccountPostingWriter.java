@@ -0,0 +1,95 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.domain.entities.AccountPosting;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the account_postings rows of each successful log with JDBC batching: two signed
+ * legs for a transfer, one for a deposit or withdrawal, whose other side is null.
+ * Must run in the transaction that applied the logs' balance changes, after them: the
+ * running balances are derived from the balances those changes left behind, so the
+ * logs have to be passed in the order they were applied.
+ */
+@Repository
+public class AccountPostingWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO account_postings
+                (account_id, transaction_id, amount, balance_after, created_on)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+
+    public AccountPostingWriter(JdbcTemplate jdbcTemplate, AccountRepository accountRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.accountRepository = accountRepository;
+    }
+
+    public void insertFor(List<TransactionLog> logs, int batchSize) {
+        List<AccountPosting> postings = new ArrayList<>(logs.size() * 2);
+        Set<String> accountIds = new LinkedHashSet<>();
+        for (TransactionLog log : logs) {
+            if (log.getStatus() != TransactionStatus.SUCCESS) {
+                continue;
+            }
+            if (log.getFromAccountId() != null) {
+                postings.add(posting(log.getFromAccountId(), log, log.getAmount().negate()));
+                accountIds.add(log.getFromAccountId());
+            }
+            if (log.getToAccountId() != null) {
+                postings.add(posting(log.getToAccountId(), log, log.getAmount()));
+                accountIds.add(log.getToAccountId());
+            }
+        }
+        if (postings.isEmpty()) {
+            return;
+        }
+
+        // Walk back from the current balances; the rows are locked by this transaction's updates
+        Map<String, BigDecimal> running = new HashMap<>();
+        for (AccountRepository.BalanceView view : accountRepository.findBalancesByIdIn(accountIds)) {
+            if (view.getShardCount() == null) {
+                running.put(view.getId(), view.getBalance());
+            }
+        }
+        for (int i = postings.size() - 1; i >= 0; i--) {
+            AccountPosting posting = postings.get(i);
+            BigDecimal balance = running.get(posting.getAccountId());
+            if (balance != null) {
+                posting.setBalanceAfter(balance);
+                running.put(posting.getAccountId(), balance.subtract(posting.getAmount()));
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, postings, batchSize, (ps, posting) -> {
+            ps.setString(1, posting.getAccountId());
+            ps.setString(2, posting.getTransactionId());
+            ps.setBigDecimal(3, posting.getAmount());
+            ps.setBigDecimal(4, posting.getBalanceAfter());
+            ps.setTimestamp(5, Timestamp.from(posting.getCreatedOn()));
+        });
+    }
+
+    private static AccountPosting posting(String accountId, TransactionLog log, BigDecimal amount) {
+        return AccountPosting.builder()
+                .accountId(accountId)
+                .transactionId(log.getId())
+                .amount(amount)
+                .createdOn(log.getCreatedOn())
+                .build();
+    }
+}
@@ -2,8 +2,89 @@
 package com.moneytransfersystem.repository;
 
 import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.enums.AccountStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, String> {
 
+    /**
+     * Debits in one statement when the account is ACTIVE, not sharded and covers the amount.
+     * Returns the affected-row count: 0 means not found, inactive, sharded or insufficient.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Account a
+            SET a.balance = a.balance - :amount, a.version = a.version + 1, a.lastUpdated = :now
+            WHERE a.id = :id
+              AND a.status = com.moneytransfersystem.domain.enums.AccountStatus.ACTIVE
+              AND a.shardCount IS NULL
+              AND a.balance >= :amount
+            """)
+    int guardedDebit(@Param("id") String id, @Param("amount") BigDecimal amount, @Param("now") Instant now);
+
+    /**
+     * Credits in one statement when the account is ACTIVE and not sharded.
+     * Returns the affected-row count: 0 means not found, inactive or sharded.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Account a
+            SET a.balance = a.balance + :amount, a.version = a.version + 1, a.lastUpdated = :now
+            WHERE a.id = :id
+              AND a.status = com.moneytransfersystem.domain.enums.AccountStatus.ACTIVE
+              AND a.shardCount IS NULL
+            """)
+    int guardedCredit(@Param("id") String id, @Param("amount") BigDecimal amount, @Param("now") Instant now);
+
+    /**
+     * Puts back an amount taken by {@link #guardedDebit} when the other leg could not be applied.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Account a
+            SET a.balance = a.balance + :amount, a.version = a.version + 1, a.lastUpdated = :now
+            WHERE a.id = :id
+            """)
+    int revertDebit(@Param("id") String id, @Param("amount") BigDecimal amount, @Param("now") Instant now);
+
+    /**
+     * Status-only probe used to explain why a guarded update touched no rows.
+     */
+    @Query("SELECT a.status FROM Account a WHERE a.id = :id")
+    Optional<AccountStatus> findStatusById(@Param("id") String id);
+
+    @Query("SELECT a.shardCount FROM Account a WHERE a.id = :id")
+    Optional<Integer> findShardCountById(@Param("id") String id);
+
+    /**
+     * Version-only probe behind conditional GETs; reads the primary key index row, not the entity.
+     */
+    @Query("SELECT a.version AS version, a.shardCount AS shardCount FROM Account a WHERE a.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") String id);
+
+    /**
+     * Current stored balances, used to derive the running balance of new postings.
+     */
+    @Query("SELECT a.id AS id, a.balance AS balance, a.shardCount AS shardCount FROM Account a WHERE a.id IN :ids")
+    List<BalanceView> findBalancesByIdIn(@Param("ids") Collection<String> ids);
+
+    interface VersionView {
+        Long getVersion();
+        Integer getShardCount();
+    }
+
+    interface BalanceView {
+        String getId();
+        BigDecimal getBalance();
+        Integer getShardCount();
+    }
 }
@@ -0,0 +1,51 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.domain.entities.AccountShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public interface AccountShardRepository extends JpaRepository<AccountShard, String> {
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountShard s WHERE s.accountId = :accountId")
+    BigDecimal sumBalanceByAccountId(@Param("accountId") String accountId);
+
+    /**
+     * Locks every slot of the account in slot order, for rebalancing and consolidation.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountShard s WHERE s.accountId = :accountId ORDER BY s.slot")
+    List<AccountShard> findAllForUpdate(@Param("accountId") String accountId);
+
+    /**
+     * Debits one slot if it alone covers the amount. Returns the affected-row count.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE AccountShard s
+            SET s.balance = s.balance - :amount, s.lastUpdated = :now
+            WHERE s.accountId = :accountId AND s.slot = :slot AND s.balance >= :amount
+            """)
+    int guardedDebit(@Param("accountId") String accountId, @Param("slot") int slot,
+                     @Param("amount") BigDecimal amount, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE AccountShard s
+            SET s.balance = s.balance + :amount, s.lastUpdated = :now
+            WHERE s.accountId = :accountId AND s.slot = :slot
+            """)
+    int credit(@Param("accountId") String accountId, @Param("slot") int slot,
+               @Param("amount") BigDecimal amount, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM AccountShard s WHERE s.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") String accountId);
+}
@@ -0,0 +1,115 @@
+package com.moneytransfersystem.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checkpoints balances into account_balance_snapshots one keyset chunk of accounts at a time.
+ * Must run in a repeatable-read transaction: the balances and the transfers backed out of
+ * them have to come from the same consistent view.
+ */
+@Repository
+public class BalanceSnapshotWriter {
+
+    private static final String ACCOUNTS_SQL = """
+            SELECT account_id, balance, shard_count, last_updated
+            FROM accounts
+            WHERE account_id > ?
+            ORDER BY account_id
+            LIMIT ?
+            """;
+
+    private static final String SHARD_TOTALS_SQL = """
+            SELECT account_id, SUM(balance) FROM account_shards
+            WHERE account_id IN (%s)
+            GROUP BY account_id
+            """;
+
+    private static final String SENT_AFTER_SQL = """
+            SELECT from_account_id, SUM(amount) FROM transaction_logs
+            WHERE from_account_id IN (%s) AND created_on > ? AND status = 'SUCCESS'
+            GROUP BY from_account_id
+            """;
+
+    private static final String RECEIVED_AFTER_SQL = """
+            SELECT to_account_id, SUM(amount) FROM transaction_logs
+            WHERE to_account_id IN (%s) AND created_on > ? AND status = 'SUCCESS'
+            GROUP BY to_account_id
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO account_balance_snapshots (account_id, taken_at, balance)
+            VALUES (?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BalanceSnapshotWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Snapshots the accounts after {@code afterId} as of {@code takenAt}, skipping those not
+     * updated since {@code changedSince} (null snapshots all): their latest snapshot still holds.
+     * Transfers logged after {@code takenAt} are backed out of the live balances.
+     *
+     * @return the last account id scanned, or null when there are no more accounts
+     */
+    public String snapshotChunk(String afterId, Instant takenAt, Instant changedSince, int chunkSize) {
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        List<String> sharded = new ArrayList<>();
+        String[] lastId = {null};
+        jdbcTemplate.query(ACCOUNTS_SQL, (RowCallbackHandler) rs -> {
+            String id = rs.getString(1);
+            lastId[0] = id;
+            boolean isSharded = rs.getObject(3) != null;
+            Timestamp lastUpdated = rs.getTimestamp(4);
+            // Hot accounts move in the shard rows without touching last_updated
+            if (isSharded || changedSince == null || lastUpdated == null || lastUpdated.toInstant().isAfter(changedSince)) {
+                balances.put(id, rs.getBigDecimal(2));
+                if (isSharded) {
+                    sharded.add(id);
+                }
+            }
+        }, afterId, chunkSize);
+        if (balances.isEmpty()) {
+            return lastId[0];
+        }
+
+        if (!sharded.isEmpty()) {
+            sums(SHARD_TOTALS_SQL, sharded).forEach(balances::put);
+        }
+        List<String> ids = new ArrayList<>(balances.keySet());
+        Timestamp stamp = Timestamp.from(takenAt);
+        sums(SENT_AFTER_SQL, ids, stamp).forEach((id, sent) -> balances.merge(id, sent, BigDecimal::add));
+        sums(RECEIVED_AFTER_SQL, ids, stamp).forEach((id, received) -> balances.merge(id, received, BigDecimal::subtract));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new ArrayList<>(balances.entrySet()), chunkSize, (ps, entry) -> {
+            ps.setString(1, entry.getKey());
+            ps.setTimestamp(2, stamp);
+            ps.setBigDecimal(3, entry.getValue());
+        });
+        return lastId[0];
+    }
+
+    private Map<String, BigDecimal> sums(String sql, List<String> ids, Object... extra) {
+        Object[] args = new Object[ids.size() + extra.length];
+        ids.toArray(args);
+        System.arraycopy(extra, 0, args, ids.size(), extra.length);
+        Map<String, BigDecimal> sums = new HashMap<>();
+        jdbcTemplate.query(sql.formatted(String.join(",", Collections.nCopies(ids.size(), "?"))),
+                (RowCallbackHandler) rs -> sums.put(rs.getString(1), rs.getBigDecimal(2)), args);
+        return sums;
+    }
+}
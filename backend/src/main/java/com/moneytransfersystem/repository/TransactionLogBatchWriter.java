@@ -0,0 +1,46 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts transaction_logs rows with JDBC batching instead of one persist per entity.
+ * Participates in the surrounding JPA transaction.
+ */
+@Repository
+public class TransactionLogBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO transaction_logs
+                (transaction_id, from_account_id, to_account_id, amount, status,
+                 failure_reason, idempotency_key, created_on, remarks)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionLogBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<TransactionLog> logs, int batchSize) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, logs, batchSize, (ps, log) -> {
+            ps.setString(1, log.getId());
+            ps.setString(2, log.getFromAccountId());
+            ps.setString(3, log.getToAccountId());
+            ps.setBigDecimal(4, log.getAmount());
+            ps.setString(5, log.getStatus().name());
+            ps.setString(6, log.getFailureReason());
+            ps.setString(7, log.getIdempotencyKey());
+            ps.setTimestamp(8, Timestamp.from(log.getCreatedOn()));
+            ps.setString(9, log.getRemarks());
+        });
+    }
+}
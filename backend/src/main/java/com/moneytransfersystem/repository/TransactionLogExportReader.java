@@ -0,0 +1,80 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Reads an account's transaction_logs oldest first through a forward-only, read-only
+ * cursor and hands each row to the caller as it arrives, so nothing is collected in memory.
+ */
+@Repository
+public class TransactionLogExportReader {
+
+    private static final String SELECT_SQL = """
+            SELECT transaction_id, from_account_id, to_account_id, amount, status,
+                   failure_reason, idempotency_key, created_on, remarks
+            FROM transaction_logs
+            WHERE (from_account_id = ? OR to_account_id = ?)
+              AND created_on >= ? AND created_on < ?
+            ORDER BY created_on, transaction_id
+            """;
+
+    // Used in place of a negative fetch size by drivers that have no streaming flag
+    static final int PORTABLE_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionLogExportReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams the rows created in [from, to). With MySQL Connector/J, a fetch size of
+     * Integer.MIN_VALUE streams one row at a time; other drivers reject negative sizes,
+     * so they get {@link #PORTABLE_FETCH_SIZE} instead.
+     */
+    public void forEach(String accountId, Instant from, Instant to, int fetchSize, Consumer<TransactionLog> action) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize(con.getMetaData().getDriverName(), fetchSize));
+            ps.setString(1, accountId);
+            ps.setString(2, accountId);
+            ps.setTimestamp(3, Timestamp.from(from));
+            ps.setTimestamp(4, Timestamp.from(to));
+            return ps;
+        }, (RowCallbackHandler) rs -> action.accept(map(rs)));
+    }
+
+    static int fetchSize(String driverName, int configured) {
+        if (configured >= 0) {
+            return configured;
+        }
+        boolean mysql = driverName != null && driverName.startsWith("MySQL");
+        return mysql && configured == Integer.MIN_VALUE ? configured : PORTABLE_FETCH_SIZE;
+    }
+
+    private static TransactionLog map(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        return TransactionLog.builder()
+                .id(rs.getString("transaction_id"))
+                .fromAccountId(rs.getString("from_account_id"))
+                .toAccountId(rs.getString("to_account_id"))
+                .amount(rs.getBigDecimal("amount"))
+                .status(status == null ? null : TransactionStatus.valueOf(status))
+                .failureReason(rs.getString("failure_reason"))
+                .idempotencyKey(rs.getString("idempotency_key"))
+                .createdOn(rs.getTimestamp("created_on").toInstant())
+                .remarks(rs.getString("remarks"))
+                .build();
+    }
+}
@@ -1,7 +1,14 @@
 package com.moneytransfersystem.repository;
 
 import com.moneytransfersystem.domain.entities.TransactionLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,5 +16,119 @@ public interface TransactionLogRepository extends JpaRepository<TransactionLog,
 
     Optional<TransactionLog> findByIdempotencyKey(String idempotencyKey);
 
+    @Query("SELECT t.idempotencyKey FROM TransactionLog t WHERE t.idempotencyKey IN :keys")
+    List<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+
+    /**
+     * Newest keys first, used to warm the node-local idempotency filter.
+     */
+    @Query("""
+            SELECT t.idempotencyKey AS idempotencyKey, t.id AS id
+            FROM TransactionLog t
+            WHERE t.createdOn >= :since
+            ORDER BY t.createdOn DESC
+            """)
+    List<IdempotencyKeyView> findRecentIdempotencyKeys(@Param("since") Instant since, Pageable pageable);
+
     List<TransactionLog> findByFromAccountIdOrToAccountIdOrderByCreatedOnDesc(String fromAccountId, String toAccountId);
-}
\ No newline at end of file
+
+    /**
+     * First page of transfers sent by the account, newest first.
+     */
+    @Query("""
+            SELECT t FROM TransactionLog t
+            WHERE t.fromAccountId = :accountId
+            ORDER BY t.createdOn DESC, t.id DESC
+            """)
+    List<TransactionLog> findSentFirstPage(@Param("accountId") String accountId, Pageable pageable);
+
+    /**
+     * First page of transfers received by the account, newest first.
+     */
+    @Query("""
+            SELECT t FROM TransactionLog t
+            WHERE t.toAccountId = :accountId
+            ORDER BY t.createdOn DESC, t.id DESC
+            """)
+    List<TransactionLog> findReceivedFirstPage(@Param("accountId") String accountId, Pageable pageable);
+
+    /**
+     * Seek page of transfers sent by the account, strictly older than the (createdOn, id) cursor.
+     */
+    @Query("""
+            SELECT t FROM TransactionLog t
+            WHERE t.fromAccountId = :accountId
+              AND (t.createdOn < :createdOn OR (t.createdOn = :createdOn AND t.id < :id))
+            ORDER BY t.createdOn DESC, t.id DESC
+            """)
+    List<TransactionLog> findSentBefore(@Param("accountId") String accountId,
+                                        @Param("createdOn") Instant createdOn,
+                                        @Param("id") String id,
+                                        Pageable pageable);
+
+    /**
+     * Seek page of transfers received by the account, strictly older than the (createdOn, id) cursor.
+     */
+    @Query("""
+            SELECT t FROM TransactionLog t
+            WHERE t.toAccountId = :accountId
+              AND (t.createdOn < :createdOn OR (t.createdOn = :createdOn AND t.id < :id))
+            ORDER BY t.createdOn DESC, t.id DESC
+            """)
+    List<TransactionLog> findReceivedBefore(@Param("accountId") String accountId,
+                                            @Param("createdOn") Instant createdOn,
+                                            @Param("id") String id,
+                                            Pageable pageable);
+
+    /**
+     * Newest transfer sent by the account, as (createdOn, id) only; one row off the index.
+     */
+    @Query("""
+            SELECT t.createdOn AS createdOn, t.id AS id FROM TransactionLog t
+            WHERE t.fromAccountId = :accountId
+            ORDER BY t.createdOn DESC, t.id DESC
+            """)
+    List<LogMarker> findNewestSent(@Param("accountId") String accountId, Pageable pageable);
+
+    /**
+     * Newest transfer received by the account, as (createdOn, id) only; one row off the index.
+     */
+    @Query("""
+            SELECT t.createdOn AS createdOn, t.id AS id FROM TransactionLog t
+            WHERE t.toAccountId = :accountId
+            ORDER BY t.createdOn DESC, t.id DESC
+            """)
+    List<LogMarker> findNewestReceived(@Param("accountId") String accountId, Pageable pageable);
+
+    /**
+     * Total received by the account in (from, to], successful transfers only.
+     */
+    @Query("""
+            SELECT COALESCE(SUM(t.amount), 0) FROM TransactionLog t
+            WHERE t.toAccountId = :accountId
+              AND t.status = com.moneytransfersystem.domain.enums.TransactionStatus.SUCCESS
+              AND t.createdOn > :from AND t.createdOn <= :to
+            """)
+    BigDecimal sumReceivedBetween(@Param("accountId") String accountId, @Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Total sent by the account in (from, to], successful transfers only.
+     */
+    @Query("""
+            SELECT COALESCE(SUM(t.amount), 0) FROM TransactionLog t
+            WHERE t.fromAccountId = :accountId
+              AND t.status = com.moneytransfersystem.domain.enums.TransactionStatus.SUCCESS
+              AND t.createdOn > :from AND t.createdOn <= :to
+            """)
+    BigDecimal sumSentBetween(@Param("accountId") String accountId, @Param("from") Instant from, @Param("to") Instant to);
+
+    interface LogMarker {
+        Instant getCreatedOn();
+        String getId();
+    }
+
+    interface IdempotencyKeyView {
+        String getIdempotencyKey();
+        String getId();
+    }
+}
@@ -0,0 +1,67 @@
+package com.moneytransfersystem.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-account counters for optimistic-lock conflicts and the retries they caused.
+ */
+@Component
+public class AccountContentionTracker {
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public void recordConflict(String accountId) {
+        countersFor(accountId).conflicts.increment();
+    }
+
+    public void recordRetry(String accountId) {
+        countersFor(accountId).retries.increment();
+    }
+
+    public void recordExhausted(String accountId) {
+        countersFor(accountId).exhausted.increment();
+    }
+
+    public long getConflicts(String accountId) {
+        Counters c = counters.get(accountId);
+        return c == null ? 0 : c.conflicts.sum();
+    }
+
+    public long getRetries(String accountId) {
+        Counters c = counters.get(accountId);
+        return c == null ? 0 : c.retries.sum();
+    }
+
+    public long getExhausted(String accountId) {
+        Counters c = counters.get(accountId);
+        return c == null ? 0 : c.exhausted.sum();
+    }
+
+    /**
+     * Point-in-time copy of all counters, keyed by account id.
+     */
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        counters.forEach((accountId, c) -> result.put(accountId, Map.of(
+                "conflicts", c.conflicts.sum(),
+                "retries", c.retries.sum(),
+                "exhausted", c.exhausted.sum()
+        )));
+        return result;
+    }
+
+    private Counters countersFor(String accountId) {
+        return counters.computeIfAbsent(accountId, id -> new Counters());
+    }
+
+    private static final class Counters {
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
@@ -5,42 +5,96 @@ import com.moneytransfersystem.domain.entities.TransactionLog;
 import com.moneytransfersystem.domain.enums.AccountStatus;
 import com.moneytransfersystem.domain.enums.TransactionStatus;
 import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
+import com.moneytransfersystem.repository.AccountDailyAggregateWriter;
+import com.moneytransfersystem.repository.AccountPostingWriter;
 import com.moneytransfersystem.repository.AccountRepository;
 import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.auth.CredentialCache;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.events.AccountEventHub;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.moneytransfersystem.constants.AppConstants;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 @Service
+@Timed("account.service")
 public class AccountService {
     private static final Logger logger =
             LoggerFactory.getLogger(AccountService.class);
 
     private final AccountRepository accountRepository;
     private final TransactionLogRepository transactionLogRepository;
+    private final AccountDailyAggregateWriter dailyAggregateWriter;
+    private final AccountPostingWriter accountPostingWriter;
+    private final AccountEventHub accountEventHub;
     private final PasswordEncoder passwordEncoder;
+    private final ShardedBalanceService shardedBalanceService;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final CredentialCache credentialCache;
 
     public AccountService(AccountRepository accountRepository,
                           TransactionLogRepository transactionLogRepository,
-                          PasswordEncoder passwordEncoder) {
+                          AccountDailyAggregateWriter dailyAggregateWriter,
+                          AccountPostingWriter accountPostingWriter,
+                          AccountEventHub accountEventHub,
+                          PasswordEncoder passwordEncoder,
+                          ShardedBalanceService shardedBalanceService,
+                          AccountSnapshotCache accountSnapshotCache,
+                          CredentialCache credentialCache) {
         this.accountRepository = accountRepository;
         this.transactionLogRepository = transactionLogRepository;
+        this.dailyAggregateWriter = dailyAggregateWriter;
+        this.accountPostingWriter = accountPostingWriter;
+        this.accountEventHub = accountEventHub;
         this.passwordEncoder = passwordEncoder;
+        this.shardedBalanceService = shardedBalanceService;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.credentialCache = credentialCache;
     }
 
+    /**
+     * Read-only lookup served from the account snapshot cache.
+     */
     public Optional<Account> findById(String id) {
-        return accountRepository.findById(id);
+        return accountSnapshotCache.get(id, accountRepository::findById)
+                .map(account -> account.isSharded() ? shardedBalanceService.withAggregatedBalance(account) : account);
+    }
+
+    /**
+     * Version of the account as {@link #findById} would return it, taken from the snapshot
+     * cache or a version-only query instead of loading the account. Empty for unknown and
+     * hot accounts, whose balance moves in the shard rows without a version bump.
+     */
+    public Optional<Long> findVersion(String id) {
+        OptionalLong cached = accountSnapshotCache.cachedVersion(id);
+        if (cached.isPresent()) {
+            return Optional.of(cached.getAsLong());
+        }
+        return accountRepository.findVersionById(id)
+                .filter(view -> view.getShardCount() == null)
+                .map(AccountRepository.VersionView::getVersion);
+    }
+
+    public Account enableHotAccountMode(String accountId, int shardCount) {
+        return shardedBalanceService.enableSharding(accountId, shardCount);
+    }
+
+    public Account disableHotAccountMode(String accountId) {
+        return shardedBalanceService.disableSharding(accountId);
     }
 
     public Account createAccount(String holderName, BigDecimal initialBalance, String rawPassword) {
@@ -55,6 +109,7 @@ public class AccountService {
 
     @Transactional
     public void changePassword(String accountId, String currentPassword, String newPassword) {
+        accountSnapshotCache.invalidateAfterCommit(accountId);
         Account account = getAccount(accountId);
         
         // Verify current password
@@ -63,6 +118,7 @@ public class AccountService {
         }
         
         // Update password
+        credentialCache.invalidateAfterCommit(accountId, account.getPassword());
         account.setPassword(passwordEncoder.encode(newPassword));
         accountRepository.save(account);
         logger.info("Password changed successfully for accountId={}", accountId);
@@ -79,17 +135,33 @@ public class AccountService {
                 });
     }
 
+    /**
+     * Principal for HTTP Basic, served from the credential cache; closed accounts are disabled.
+     */
     public UserDetails loadUserByUsername(String accountId) throws UsernameNotFoundException {
-        Account account = getAccount(accountId);
-        return User.withUsername(account.getId()) .password(account.getPassword()) .roles("USER") .build();
+        return credentialCache.principal(accountId, id -> {
+            Account account = accountSnapshotCache.get(id, accountRepository::findById)
+                    .orElseThrow(() -> new AccountNotFoundException(AppConstants.ACCOUNT_NOT_FOUND + id));
+            return User.withUsername(account.getId())
+                    .password(account.getPassword())
+                    .roles("USER")
+                    .disabled(account.getStatus() == AccountStatus.CLOSED)
+                    .build();
+        });
     }
 
     @Transactional
     public void credit(String accountId, BigDecimal amount) {
         String transactionId = UUID.randomUUID().toString();
+        accountSnapshotCache.invalidateAfterCommit(accountId);
         Account account = getAccount(accountId);
-        account.credit(amount);
-        accountRepository.save(account);
+        if (account.isSharded()) {
+            requireActive(account);
+            shardedBalanceService.credit(accountId, account.getShardCount(), amount);
+        } else {
+            account.credit(amount);
+            accountRepository.save(account);
+        }
 
         logSuccess(transactionId, null, accountId, amount);
     }
@@ -97,20 +169,35 @@ public class AccountService {
     @Transactional
     public void debit(String accountId, BigDecimal amount) {
         String transactionId = UUID.randomUUID().toString();
+        accountSnapshotCache.invalidateAfterCommit(accountId);
         Account account = getAccount(accountId);
-        account.debit(amount);
-        accountRepository.save(account);
+        if (account.isSharded()) {
+            requireActive(account);
+            shardedBalanceService.debit(accountId, account.getShardCount(), amount);
+        } else {
+            account.debit(amount);
+            accountRepository.save(account);
+        }
 
         logSuccess(transactionId, accountId, null, amount);
     }
 
     @Transactional
     public void closeAccount(String accountId) {
+        accountSnapshotCache.invalidateAfterCommit(accountId);
         Account account = getAccount(accountId);
+        credentialCache.invalidateAfterCommit(accountId, account.getPassword());
         account.setStatus(AccountStatus.CLOSED);
         accountRepository.save(account);
     }
 
+    private void requireActive(Account account) {
+        if (!account.isActive()) {
+            logger.error("Account operation failed | accountId={} | reason=ACCOUNT_INACTIVE", account.getId());
+            throw new IllegalStateException(AppConstants.ACCOUNT_NOT_ACTIVE);
+        }
+    }
+
     private void logSuccess(String txId, String from, String to, BigDecimal amount) {
         TransactionLog log = TransactionLog.builder()
                 .id(txId)
@@ -121,6 +208,10 @@ public class AccountService {
                 .idempotencyKey(UUID.randomUUID().toString())
                 .createdOn(Instant.now())
                 .build();
+        // One leg: the other side of a deposit or withdrawal is null
+        accountPostingWriter.insertFor(List.of(log), 1);
         transactionLogRepository.save(log);
+        dailyAggregateWriter.applyFor(List.of(log), 1);
+        accountEventHub.publishAfterCommit(List.of(log));
     }
 }
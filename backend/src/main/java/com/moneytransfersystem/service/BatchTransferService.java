@@ -0,0 +1,270 @@
+package com.moneytransfersystem.service;
+
+import com.moneytransfersystem.aspect.RetryOnConflict;
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.dtos.BatchTransferItemResult;
+import com.moneytransfersystem.domain.dtos.BatchTransferRequest;
+import com.moneytransfersystem.domain.dtos.BatchTransferResponse;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.BatchItemOutcome;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.repository.AccountDailyAggregateWriter;
+import com.moneytransfersystem.repository.AccountPostingWriter;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.TransactionLogBatchWriter;
+import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import com.moneytransfersystem.service.idempotency.IdempotencyKeyFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Applies many transfers in one transaction: one IN query for the accounts, one
+ * IN query for the idempotency keys, a netting stage, one balance update per
+ * account with a non-zero net position and JDBC-batched log inserts. Items are
+ * checked one by one, in submission order, against the running positions, so no
+ * account goes negative at any step of that ordering and a rejected item never
+ * undoes the others.
+ */
+@Service
+public class BatchTransferService {
+    private static final Logger logger = LoggerFactory.getLogger(BatchTransferService.class);
+
+    private final AccountRepository accountRepository;
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransactionLogBatchWriter transactionLogBatchWriter;
+    private final AccountPostingWriter accountPostingWriter;
+    private final AccountDailyAggregateWriter dailyAggregateWriter;
+    private final AccountEventHub accountEventHub;
+    private final ShardedBalanceService shardedBalanceService;
+    private final TransferProperties transferProperties;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
+    private final AccountSnapshotCache accountSnapshotCache;
+
+    public BatchTransferService(AccountRepository accountRepository,
+                                TransactionLogRepository transactionLogRepository,
+                                TransactionLogBatchWriter transactionLogBatchWriter,
+                                AccountPostingWriter accountPostingWriter,
+                                AccountDailyAggregateWriter dailyAggregateWriter,
+                                AccountEventHub accountEventHub,
+                                ShardedBalanceService shardedBalanceService,
+                                TransferProperties transferProperties,
+                                IdempotencyKeyFilter idempotencyKeyFilter,
+                                AccountSnapshotCache accountSnapshotCache) {
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.transactionLogBatchWriter = transactionLogBatchWriter;
+        this.accountPostingWriter = accountPostingWriter;
+        this.dailyAggregateWriter = dailyAggregateWriter;
+        this.accountEventHub = accountEventHub;
+        this.shardedBalanceService = shardedBalanceService;
+        this.transferProperties = transferProperties;
+        this.idempotencyKeyFilter = idempotencyKeyFilter;
+        this.accountSnapshotCache = accountSnapshotCache;
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public BatchTransferResponse transferBatch(BatchTransferRequest request) {
+        List<TransferRequest> items = request.getTransfers();
+        if (items.size() > transferProperties.getBatchMaxItems()) {
+            logger.error(
+                    "Batch rejected | class={} | method=transferBatch | size={} | max={} | reason=BATCH_TOO_LARGE",
+                    this.getClass().getSimpleName(), items.size(), transferProperties.getBatchMaxItems()
+            );
+            throw new IllegalArgumentException(AppConstants.BATCH_TOO_LARGE);
+        }
+
+        BatchContext context = new BatchContext(loadExistingKeys(items), loadAccounts(items));
+
+        List<BatchTransferItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(applyItem(i, items.get(i), context));
+        }
+
+        int accountsUpdated = applyNetPositions(context);
+        transactionLogBatchWriter.insertAll(context.logs, transferProperties.getBatchChunkSize());
+        accountPostingWriter.insertFor(context.logs, transferProperties.getBatchChunkSize());
+        dailyAggregateWriter.applyFor(context.logs, transferProperties.getBatchChunkSize());
+        accountEventHub.publishAfterCommit(context.logs);
+        context.logs.forEach(log -> idempotencyKeyFilter.rememberAfterCommit(log.getIdempotencyKey(), log.getId()));
+
+        BatchTransferResponse response = new BatchTransferResponse(results);
+        logger.info(
+                "Batch transfer completed | class={} | method=transferBatch | total={} | succeeded={} | accountsUpdated={} | logsWritten={}",
+                this.getClass().getSimpleName(), response.getTotal(), response.getSucceeded(),
+                accountsUpdated, context.logs.size()
+        );
+        return response;
+    }
+
+    private BatchTransferItemResult applyItem(int index, TransferRequest item, BatchContext context) {
+        String key = item.getIdempotencyKey();
+
+        if (context.existingKeys.contains(key) || !context.seenKeys.add(key)) {
+            return result(index, item, null, BatchItemOutcome.DUPLICATE, AppConstants.DUPLICATE_TRANSACTION);
+        }
+        if (item.getFromAccountId().equals(item.getToAccountId())) {
+            return result(index, item, null, BatchItemOutcome.REJECTED, AppConstants.SAME_ACCOUNT_TRANSFER);
+        }
+
+        Account from = context.accounts.get(item.getFromAccountId());
+        if (from == null) {
+            return result(index, item, null, BatchItemOutcome.NOT_FOUND, AppConstants.SENDER_ACCOUNT_NOT_FOUND);
+        }
+        Account to = context.accounts.get(item.getToAccountId());
+        if (to == null) {
+            return result(index, item, null, BatchItemOutcome.NOT_FOUND, AppConstants.RECEIVER_ACCOUNT_NOT_FOUND);
+        }
+
+        String transactionId = UUID.randomUUID().toString();
+        if (!from.isActive() || !to.isActive()) {
+            context.logs.add(failedLog(transactionId, item, AppConstants.ACCOUNT_NOT_ACTIVE));
+            return result(index, item, transactionId, BatchItemOutcome.FAILED, AppConstants.ACCOUNT_NOT_ACTIVE);
+        }
+
+        BigDecimal amount = item.getAmount();
+        if (context.position(from, shardedBalanceService).compareTo(amount) < 0) {
+            return result(index, item, null, BatchItemOutcome.REJECTED, AppConstants.INSUFFICIENT_BALANCE);
+        }
+        context.net.merge(from.getId(), amount.negate(), BigDecimal::add);
+        context.net.merge(to.getId(), amount, BigDecimal::add);
+
+        context.logs.add(TransactionLog.builder()
+                .id(transactionId)
+                .fromAccountId(item.getFromAccountId())
+                .toAccountId(item.getToAccountId())
+                .amount(amount)
+                .status(TransactionStatus.SUCCESS)
+                .createdOn(Instant.now())
+                .idempotencyKey(key)
+                .remarks(item.getRemarks())
+                .build());
+        return result(index, item, transactionId, BatchItemOutcome.SUCCESS, null);
+    }
+
+    /**
+     * Writes each account's net change once, in account id order. Accounts whose
+     * debits and credits cancel out are not written at all.
+     */
+    private int applyNetPositions(BatchContext context) {
+        List<Account> touched = new ArrayList<>();
+        int updated = 0;
+        for (Map.Entry<String, BigDecimal> entry : context.net.entrySet()) {
+            BigDecimal delta = entry.getValue();
+            if (delta.signum() == 0) {
+                continue;
+            }
+            Account account = context.accounts.get(entry.getKey());
+            updated++;
+            if (account.isSharded()) {
+                if (delta.signum() > 0) {
+                    shardedBalanceService.credit(account.getId(), account.getShardCount(), delta);
+                } else {
+                    // The slots were locked when the position was first read, so this cannot fall short
+                    shardedBalanceService.debit(account.getId(), account.getShardCount(), delta.negate());
+                }
+            } else {
+                if (delta.signum() > 0) {
+                    account.credit(delta);
+                } else {
+                    account.debit(delta.negate());
+                }
+                touched.add(account);
+            }
+        }
+        accountRepository.saveAll(touched);
+        return updated;
+    }
+
+    private Set<String> loadExistingKeys(List<TransferRequest> items) {
+        List<String> keys = items.stream().map(TransferRequest::getIdempotencyKey).distinct().toList();
+        Set<String> existing = new HashSet<>();
+        for (List<String> chunk : chunks(keys)) {
+            existing.addAll(transactionLogRepository.findExistingIdempotencyKeys(chunk));
+        }
+        return existing;
+    }
+
+    private Map<String, Account> loadAccounts(List<TransferRequest> items) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (TransferRequest item : items) {
+            ids.add(item.getFromAccountId());
+            ids.add(item.getToAccountId());
+        }
+        // Announced before the read the net positions are based on
+        accountSnapshotCache.invalidateAfterCommit(ids);
+        Map<String, Account> accounts = new HashMap<>();
+        for (List<String> chunk : chunks(new ArrayList<>(ids))) {
+            accountRepository.findAllById(chunk).forEach(account -> accounts.put(account.getId(), account));
+        }
+        return accounts;
+    }
+
+    private List<List<String>> chunks(List<String> values) {
+        int size = Math.max(1, transferProperties.getBatchChunkSize());
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += size) {
+            chunks.add(values.subList(i, Math.min(values.size(), i + size)));
+        }
+        return chunks;
+    }
+
+    private TransactionLog failedLog(String transactionId, TransferRequest item, String failureReason) {
+        String remarks = item.getRemarks() != null && !item.getRemarks().isEmpty()
+                ? item.getRemarks() + " | Error: " + failureReason
+                : "Error: " + failureReason;
+
+        return TransactionLog.builder()
+                .id(transactionId)
+                .fromAccountId(item.getFromAccountId())
+                .toAccountId(item.getToAccountId())
+                .amount(item.getAmount())
+                .status(TransactionStatus.FAILED)
+                .failureReason(failureReason)
+                .createdOn(Instant.now())
+                .idempotencyKey(item.getIdempotencyKey())
+                .remarks(remarks)
+                .build();
+    }
+
+    private static BatchTransferItemResult result(int index, TransferRequest item, String transactionId,
+                                                  BatchItemOutcome outcome, String message) {
+        return new BatchTransferItemResult(index, item.getIdempotencyKey(), transactionId, outcome, message);
+    }
+
+    private static final class BatchContext {
+        private final Set<String> existingKeys;
+        private final Map<String, Account> accounts;
+        private final Set<String> seenKeys = new HashSet<>();
+        // Net balance change per account; sorted so rows are always written in the same order
+        private final Map<String, BigDecimal> net = new TreeMap<>();
+        private final Map<String, BigDecimal> shardedBase = new HashMap<>();
+        private final List<TransactionLog> logs = new ArrayList<>();
+
+        private BatchContext(Set<String> existingKeys, Map<String, Account> accounts) {
+            this.existingKeys = existingKeys;
+            this.accounts = accounts;
+        }
+
+        /**
+         * Balance the account would have after the items accepted so far.
+         */
+        private BigDecimal position(Account account, ShardedBalanceService shardedBalanceService) {
+            BigDecimal base = account.isSharded()
+                    ? shardedBase.computeIfAbsent(account.getId(), shardedBalanceService::lockedTotalBalance)
+                    : account.getBalance();
+            return base.add(net.getOrDefault(account.getId(), BigDecimal.ZERO));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.moneytransfersystem.service;
+
+import com.moneytransfersystem.constants.AppConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position in an account's history or statement: the (createdOn, transaction id) of the
+ * last row a client has seen.
+ * Clients get it as an opaque URL-safe token and must not depend on its layout.
+ */
+record HistoryCursor(Instant createdOn, String id) {
+
+    // A day inside the DATETIME range at both ends, so the bound value stays in range in any JVM time zone
+    private static final Instant MIN_CREATED_ON = Instant.parse("1000-01-02T00:00:00Z");
+    private static final Instant MAX_CREATED_ON = Instant.parse("9999-12-30T23:59:59Z");
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String raw = createdOn.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Empty for the first page, which has no cursor to seek from.
+     */
+    static Optional<HistoryCursor> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException(AppConstants.INVALID_HISTORY_CURSOR);
+            }
+            Instant createdOn = Instant.parse(raw.substring(0, separator));
+            if (createdOn.isBefore(MIN_CREATED_ON) || createdOn.isAfter(MAX_CREATED_ON)) {
+                throw new IllegalArgumentException(AppConstants.INVALID_HISTORY_CURSOR);
+            }
+            return Optional.of(new HistoryCursor(createdOn, raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException(AppConstants.INVALID_HISTORY_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.moneytransfersystem.service;
+
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.AccountShard;
+import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.AccountShardRepository;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hot-account mode: the balance of a sharded account is spread over N
+ * account_shards rows so concurrent transfers touch different rows instead
+ * of queueing on the single accounts row and its version.
+ */
+@Service
+public class ShardedBalanceService {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedBalanceService.class);
+
+    static final int MIN_SHARDS = 2;
+    static final int MAX_SHARDS = 64;
+
+    private final AccountRepository accountRepository;
+    private final AccountShardRepository accountShardRepository;
+    private final AccountSnapshotCache accountSnapshotCache;
+
+    public ShardedBalanceService(AccountRepository accountRepository,
+                                 AccountShardRepository accountShardRepository,
+                                 AccountSnapshotCache accountSnapshotCache) {
+        this.accountRepository = accountRepository;
+        this.accountShardRepository = accountShardRepository;
+        this.accountSnapshotCache = accountSnapshotCache;
+    }
+
+    /**
+     * Moves the account balance into {@code shardCount} slots. The accounts row keeps a zero balance.
+     */
+    @Transactional
+    public Account enableSharding(String accountId, int shardCount) {
+        if (shardCount < MIN_SHARDS || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException(AppConstants.INVALID_SHARD_COUNT);
+        }
+
+        accountSnapshotCache.invalidateAfterCommit(accountId);
+        Account account = findAccount(accountId);
+        if (account.isSharded()) {
+            throw new IllegalArgumentException(AppConstants.ACCOUNT_ALREADY_SHARDED);
+        }
+
+        accountShardRepository.saveAll(split(accountId, account.getBalance(), shardCount));
+
+        account.setBalance(BigDecimal.ZERO);
+        account.setShardCount(shardCount);
+        Account saved = accountRepository.save(account);
+
+        logger.info("Hot-account mode enabled | accountId={} | shards={}", accountId, shardCount);
+        return saved;
+    }
+
+    /**
+     * Folds all slots back into the accounts row and drops them.
+     */
+    @Transactional
+    public Account disableSharding(String accountId) {
+        accountSnapshotCache.invalidateAfterCommit(accountId);
+        Account account = findAccount(accountId);
+        if (!account.isSharded()) {
+            throw new IllegalArgumentException(AppConstants.ACCOUNT_NOT_SHARDED);
+        }
+
+        BigDecimal total = sum(accountShardRepository.findAllForUpdate(accountId));
+        accountShardRepository.deleteByAccountId(accountId);
+
+        account.setBalance(total);
+        account.setShardCount(null);
+        Account saved = accountRepository.save(account);
+
+        logger.info("Hot-account mode disabled | accountId={} | balance={}", accountId, total);
+        return saved;
+    }
+
+    public BigDecimal totalBalance(String accountId) {
+        return accountShardRepository.sumBalanceByAccountId(accountId);
+    }
+
+    /**
+     * Locks every slot and returns their sum, so the total cannot move until the caller's transaction ends.
+     */
+    @Transactional
+    public BigDecimal lockedTotalBalance(String accountId) {
+        return accountShardRepository.findAllForUpdate(accountId).stream()
+                .map(AccountShard::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Copy of the account whose balance is the sum of its slots; non-sharded accounts are returned as-is.
+     */
+    public Account withAggregatedBalance(Account account) {
+        if (!account.isSharded()) {
+            return account;
+        }
+        return account.toBuilder()
+                .balance(totalBalance(account.getId()))
+                .build();
+    }
+
+    /**
+     * Debits one slot picked at random, probing the others if it cannot cover the
+     * amount. When no single slot can, all slots are locked and rebalanced.
+     * An insufficient balance writes nothing, so it does not doom the caller's transaction.
+     */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public void debit(String accountId, int shardCount, BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException(AppConstants.INVALID_DEBIT_AMOUNT);
+        }
+
+        Instant now = Instant.now();
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            if (accountShardRepository.guardedDebit(accountId, (start + i) % shardCount, amount, now) == 1) {
+                return;
+            }
+        }
+
+        rebalanceAndDebit(accountId, amount);
+    }
+
+    @Transactional
+    public void credit(String accountId, int shardCount, BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException(AppConstants.INVALID_CREDIT_AMOUNT);
+        }
+
+        int slot = ThreadLocalRandom.current().nextInt(shardCount);
+        if (accountShardRepository.credit(accountId, slot, amount, Instant.now()) == 0) {
+            // Slots were folded back by a concurrent disableSharding; the retry sees the plain account
+            throw new ObjectOptimisticLockingFailureException(AccountShard.class, accountId);
+        }
+    }
+
+    private void rebalanceAndDebit(String accountId, BigDecimal amount) {
+        List<AccountShard> shards = accountShardRepository.findAllForUpdate(accountId);
+        if (shards.isEmpty()) {
+            throw new ObjectOptimisticLockingFailureException(AccountShard.class, accountId);
+        }
+        BigDecimal total = sum(shards);
+
+        if (total.compareTo(amount) < 0) {
+            logger.error(
+                    "Debit failed | class={} | method=debit | accountId={} | balance={} | requested={} | reason=INSUFFICIENT_BALANCE",
+                    this.getClass().getSimpleName(), accountId, total, amount
+            );
+            throw new IllegalArgumentException(AppConstants.INSUFFICIENT_BALANCE);
+        }
+
+        List<AccountShard> rebalanced = split(accountId, total.subtract(amount), shards.size());
+        Instant now = Instant.now();
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).setBalance(rebalanced.get(i).getBalance());
+            shards.get(i).setLastUpdated(now);
+        }
+        accountShardRepository.saveAll(shards);
+
+        logger.info("Shards rebalanced | accountId={} | shards={} | remaining={}", accountId, shards.size(), total.subtract(amount));
+    }
+
+    /**
+     * Even split at the balance scale; the rounding remainder goes to slot 0.
+     */
+    static List<AccountShard> split(String accountId, BigDecimal total, int shardCount) {
+        BigDecimal share = total.divide(BigDecimal.valueOf(shardCount), 4, RoundingMode.DOWN);
+        BigDecimal remainder = total.subtract(share.multiply(BigDecimal.valueOf(shardCount)));
+
+        List<AccountShard> shards = new ArrayList<>(shardCount);
+        for (int slot = 0; slot < shardCount; slot++) {
+            shards.add(AccountShard.of(accountId, slot, slot == 0 ? share.add(remainder) : share));
+        }
+        return shards;
+    }
+
+    private static BigDecimal sum(List<AccountShard> shards) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (AccountShard shard : shards) {
+            total = total.add(shard.getBalance());
+        }
+        return total;
+    }
+
+    private Account findAccount(String accountId) {
+        return accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(AppConstants.ACCOUNT_NOT_FOUND + accountId));
+    }
+}
@@ -0,0 +1,195 @@
+package com.moneytransfersystem.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.ExportFormat;
+import com.moneytransfersystem.repository.TransactionLogExportReader;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full account history as CSV or NDJSON, written to the response while the rows are read.
+ * Holds one row and one write buffer at a time, whatever the size of the history.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String CSV_HEADER =
+            "transaction_id,from_account_id,to_account_id,amount,status,failure_reason,idempotency_key,created_on,remarks";
+
+    // Bounds of an open-ended range; both are valid SQL timestamps
+    private static final Instant EARLIEST = Instant.parse("1970-01-01T00:00:00Z");
+    private static final Instant LATEST = Instant.parse("9999-12-31T23:59:59Z");
+
+    private final TransactionLogExportReader exportReader;
+    private final TransferProperties transferProperties;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public TransactionExportService(TransactionLogExportReader exportReader,
+                                    TransferProperties transferProperties,
+                                    ReplicaLagGuard replicaLagGuard) {
+        this.exportReader = exportReader;
+        this.transferProperties = transferProperties;
+        this.replicaLagGuard = replicaLagGuard;
+    }
+
+    /**
+     * Validates the request up front so bad input still gets a 400, then returns the body
+     * that runs the query once the response is committed.
+     */
+    public StreamingResponseBody export(String accountId, Instant from, Instant to, ExportFormat format, boolean gzip) {
+        Instant start = from == null ? EARLIEST : from;
+        Instant end = to == null ? LATEST : to;
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException(AppConstants.INVALID_EXPORT_RANGE);
+        }
+        int flushRows = Math.max(1, transferProperties.getExportFlushRows());
+
+        return out -> {
+            // syncFlush so every flush pushes the rows compressed so far to the client
+            GZIPOutputStream zipped = gzip ? new GZIPOutputStream(out, true) : null;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(zipped != null ? zipped : out, StandardCharsets.UTF_8));
+            RowWriter rows = format == ExportFormat.NDJSON ? new NdjsonRowWriter(writer) : new CsvRowWriter(writer);
+
+            rows.begin();
+            int[] pending = {0};
+            try {
+                replicaLagGuard.readFromReplica(accountId, () -> {
+                    exportReader.forEach(accountId, start, end, transferProperties.getExportFetchSize(), log -> {
+                        try {
+                            rows.write(log);
+                            if (++pending[0] == flushRows) {
+                                pending[0] = 0;
+                                writer.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    return null;
+                });
+            } catch (UncheckedIOException e) {
+                // Client went away; rethrowing the cause aborts the query and the response
+                throw e.getCause();
+            }
+            writer.flush();
+            if (zipped != null) {
+                zipped.finish();
+            }
+        };
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void write(TransactionLog log) throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(TransactionLog log) throws IOException {
+            field(log.getId());
+            writer.write(',');
+            field(log.getFromAccountId());
+            writer.write(',');
+            field(log.getToAccountId());
+            writer.write(',');
+            field(log.getAmount() == null ? null : log.getAmount().toPlainString());
+            writer.write(',');
+            field(log.getStatus() == null ? null : log.getStatus().name());
+            writer.write(',');
+            field(log.getFailureReason());
+            writer.write(',');
+            field(log.getIdempotencyKey());
+            writer.write(',');
+            field(log.getCreatedOn() == null ? null : log.getCreatedOn().toString());
+            writer.write(',');
+            field(log.getRemarks());
+            writer.write("\r\n");
+        }
+
+        private void field(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator json;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            // Newlines are written here, and flushing the generator must not flush the response
+            this.json = jsonFactory.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(TransactionLog log) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("id", log.getId());
+            json.writeStringField("fromAccountId", log.getFromAccountId());
+            json.writeStringField("toAccountId", log.getToAccountId());
+            if (log.getAmount() == null) {
+                json.writeNullField("amount");
+            } else {
+                json.writeNumberField("amount", log.getAmount());
+            }
+            json.writeStringField("status", log.getStatus() == null ? null : log.getStatus().name());
+            json.writeStringField("failureReason", log.getFailureReason());
+            json.writeStringField("idempotencyKey", log.getIdempotencyKey());
+            json.writeStringField("createdOn", log.getCreatedOn() == null ? null : log.getCreatedOn().toString());
+            json.writeStringField("remarks", log.getRemarks());
+            json.writeEndObject();
+            // Hand the buffered object to the writer before the separator
+            json.flush();
+            writer.write('\n');
+        }
+    }
+}
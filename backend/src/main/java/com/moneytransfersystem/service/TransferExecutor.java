@@ -0,0 +1,13 @@
+package com.moneytransfersystem.service;
+
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+
+/**
+ * Executes a single transfer. {@link TransferService} is the JPA implementation;
+ * alternative engines are selected by Spring profile and marked {@code @Primary}.
+ */
+public interface TransferExecutor {
+
+    TransactionLog transfer(TransferRequest request);
+}
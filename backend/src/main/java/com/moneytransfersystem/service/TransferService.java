@@ -1,85 +1,252 @@
 package com.moneytransfersystem.service;
 
+import com.moneytransfersystem.aspect.RetryOnConflict;
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.domain.dtos.AccountDailySummary;
+import com.moneytransfersystem.domain.dtos.AccountStatementPage;
+import com.moneytransfersystem.domain.dtos.TransactionHistoryPage;
 import com.moneytransfersystem.domain.dtos.TransferRequest;
 import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.AccountPosting;
 import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.AccountStatus;
 import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.domain.enums.TransferExecutionMode;
 import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
 import com.moneytransfersystem.domain.exceptions.DuplicateTranferException;
+import com.moneytransfersystem.repository.AccountDailyAggregateRepository;
+import com.moneytransfersystem.repository.AccountDailyAggregateWriter;
+import com.moneytransfersystem.repository.AccountPostingRepository;
+import com.moneytransfersystem.repository.AccountPostingWriter;
 import com.moneytransfersystem.repository.AccountRepository;
 import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import com.moneytransfersystem.service.idempotency.IdempotencyKeyFilter;
+import com.moneytransfersystem.service.metrics.TransferMetrics;
+import com.moneytransfersystem.service.metrics.TransferMetrics.Phase;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 import com.moneytransfersystem.constants.AppConstants;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
-public class TransferService {
+public class TransferService implements TransferExecutor {
     private static final Logger logger = LoggerFactory.getLogger(TransferService.class);
 
+    private static final Comparator<TransactionLog> HISTORY_ORDER =
+            Comparator.comparing(TransactionLog::getCreatedOn).thenComparing(TransactionLog::getId).reversed();
+
     private final AccountRepository accountRepository;
     private final TransactionLogRepository transactionLogRepository;
+    private final AccountPostingWriter accountPostingWriter;
+    private final AccountPostingRepository accountPostingRepository;
+    private final AccountDailyAggregateWriter dailyAggregateWriter;
+    private final AccountEventHub accountEventHub;
+    private final AccountDailyAggregateRepository dailyAggregateRepository;
+    private final TransferProperties transferProperties;
+    private final ShardedBalanceService shardedBalanceService;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final TransferMetrics transferMetrics;
 
-    public TransferService(AccountRepository accountRepository, TransactionLogRepository transactionLogRepository) {
+    public TransferService(AccountRepository accountRepository,
+                           TransactionLogRepository transactionLogRepository,
+                           AccountPostingWriter accountPostingWriter,
+                           AccountPostingRepository accountPostingRepository,
+                           AccountDailyAggregateWriter dailyAggregateWriter,
+                           AccountEventHub accountEventHub,
+                           AccountDailyAggregateRepository dailyAggregateRepository,
+                           TransferProperties transferProperties,
+                           ShardedBalanceService shardedBalanceService,
+                           IdempotencyKeyFilter idempotencyKeyFilter,
+                           AccountSnapshotCache accountSnapshotCache,
+                           ReplicaLagGuard replicaLagGuard,
+                           TransferMetrics transferMetrics) {
         this.accountRepository = accountRepository;
         this.transactionLogRepository = transactionLogRepository;
+        this.accountPostingWriter = accountPostingWriter;
+        this.accountPostingRepository = accountPostingRepository;
+        this.dailyAggregateWriter = dailyAggregateWriter;
+        this.accountEventHub = accountEventHub;
+        this.dailyAggregateRepository = dailyAggregateRepository;
+        this.transferProperties = transferProperties;
+        this.shardedBalanceService = shardedBalanceService;
+        this.idempotencyKeyFilter = idempotencyKeyFilter;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.replicaLagGuard = replicaLagGuard;
+        this.transferMetrics = transferMetrics;
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionLog> getTransactionHistory(String accountId) {
+        replicaLagGuard.useReplica(accountId);
         return transactionLogRepository.findByFromAccountIdOrToAccountIdOrderByCreatedOnDesc(accountId, accountId);
     }
 
+    /**
+     * Validator of the account's history, without reading it: digest of the newest sent and
+     * received (createdOn, id), each one index probe, and the account version. The version
+     * also moves for a transfer that commits behind the newest entry.
+     */
+    @Transactional(readOnly = true)
+    public String getHistoryVersion(String accountId) {
+        replicaLagGuard.useReplica(accountId);
+        PageRequest newest = PageRequest.of(0, 1);
+        StringBuilder state = new StringBuilder()
+                .append(accountRepository.findVersionById(accountId).map(AccountRepository.VersionView::getVersion).orElse(null));
+        for (List<TransactionLogRepository.LogMarker> marker : List.of(
+                transactionLogRepository.findNewestSent(accountId, newest),
+                transactionLogRepository.findNewestReceived(accountId, newest))) {
+            state.append('|');
+            if (!marker.isEmpty()) {
+                state.append(marker.get(0).getCreatedOn()).append('/').append(marker.get(0).getId());
+            }
+        }
+        return DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * One keyset page of history, newest first. Each direction is a seek on its own index for
+     * limit + 1 rows; merging the two is enough to fill the page and tell whether more exist.
+     */
+    @Transactional(readOnly = true)
+    public TransactionHistoryPage getTransactionHistoryPage(String accountId, Integer limit, String after) {
+        replicaLagGuard.useReplica(accountId);
+        int pageSize = pageSize(limit);
+        Optional<HistoryCursor> cursor = HistoryCursor.decode(after);
+        PageRequest seek = PageRequest.of(0, pageSize + 1);
+
+        List<TransactionLog> sent = cursor
+                .map(c -> transactionLogRepository.findSentBefore(accountId, c.createdOn(), c.id(), seek))
+                .orElseGet(() -> transactionLogRepository.findSentFirstPage(accountId, seek));
+        List<TransactionLog> received = cursor
+                .map(c -> transactionLogRepository.findReceivedBefore(accountId, c.createdOn(), c.id(), seek))
+                .orElseGet(() -> transactionLogRepository.findReceivedFirstPage(accountId, seek));
+
+        List<TransactionLog> merged = new ArrayList<>(pageSize + 1);
+        Set<String> seen = new HashSet<>();
+        int i = 0;
+        int j = 0;
+        while (merged.size() <= pageSize && (i < sent.size() || j < received.size())) {
+            TransactionLog next;
+            if (j >= received.size() || (i < sent.size() && HISTORY_ORDER.compare(sent.get(i), received.get(j)) <= 0)) {
+                next = sent.get(i++);
+            } else {
+                next = received.get(j++);
+            }
+            // A self-transfer is returned by both seeks
+            if (seen.add(next.getId())) {
+                merged.add(next);
+            }
+        }
+
+        if (merged.size() <= pageSize) {
+            return new TransactionHistoryPage(merged, null);
+        }
+        List<TransactionLog> page = merged.subList(0, pageSize);
+        TransactionLog last = page.get(pageSize - 1);
+        return new TransactionHistoryPage(new ArrayList<>(page),
+                new HistoryCursor(last.getCreatedOn(), last.getId()).encode());
+    }
+
+    /**
+     * One page of the account's postings, newest first, with the balance after each.
+     * Served by a single range scan on (account_id, created_on).
+     */
+    @Transactional(readOnly = true)
+    public AccountStatementPage getStatementPage(String accountId, Integer limit, String after) {
+        replicaLagGuard.useReplica(accountId);
+        int pageSize = pageSize(limit);
+        PageRequest seek = PageRequest.of(0, pageSize + 1);
+        List<AccountPosting> rows = HistoryCursor.decode(after)
+                .map(c -> accountPostingRepository.findPageBefore(accountId, c.createdOn(), c.id(), seek))
+                .orElseGet(() -> accountPostingRepository.findFirstPage(accountId, seek));
+
+        if (rows.size() <= pageSize) {
+            return new AccountStatementPage(rows, null);
+        }
+        AccountPosting last = rows.get(pageSize - 1);
+        return new AccountStatementPage(new ArrayList<>(rows.subList(0, pageSize)),
+                new HistoryCursor(last.getCreatedOn(), last.getTransactionId()).encode());
+    }
+
+    /**
+     * Per-day totals for [from, to], read from the daily aggregates: cost grows with the
+     * number of days, not the number of transfers. Days without activity are omitted.
+     */
+    @Transactional(readOnly = true)
+    public List<AccountDailySummary> getDailySummary(String accountId, LocalDate from, LocalDate to) {
+        replicaLagGuard.useReplica(accountId);
+        LocalDate end = to == null ? LocalDate.now(ZoneOffset.UTC) : to;
+        LocalDate start = from == null ? end.minusDays(29) : from;
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= transferProperties.getDailySummaryMaxDays()) {
+            throw new IllegalArgumentException(AppConstants.INVALID_SUMMARY_RANGE);
+        }
+        return dailyAggregateRepository.summarize(accountId, start, end);
+    }
+
+    private int pageSize(Integer limit) {
+        int pageSize = limit == null ? transferProperties.getHistoryDefaultPageSize() : limit;
+        if (pageSize < 1 || pageSize > transferProperties.getHistoryMaxPageSize()) {
+            throw new IllegalArgumentException(AppConstants.INVALID_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+
+    @RetryOnConflict
     @Transactional
+    @Override
     public TransactionLog transfer(TransferRequest request) {
+        return applyInCurrentTransaction(request);
+    }
+
+    /**
+     * The body of {@link #transfer} without its transaction and retry advice, for callers
+     * that already hold a transaction, such as the group-commit coordinator.
+     */
+    public TransactionLog applyInCurrentTransaction(TransferRequest request) {
         String transactionId = UUID.randomUUID().toString();
+        long started = System.nanoTime();
+
+        boolean probed = true;
 
         try {
-            Optional<TransactionLog> existing =
-                    transactionLogRepository.findByIdempotencyKey(request.getIdempotencyKey());
-
-            if (existing.isPresent()) {
-                logger.error(
-                        "Transfer rejected | class={} | method=transfer | idempotencyKey={} | reason=DUPLICATE_TRANSACTION",
-                        this.getClass().getSimpleName(),
-                        request.getIdempotencyKey()
-                );
-                throw new DuplicateTranferException(AppConstants.DUPLICATE_TRANSACTION);
-            }
+            probed = checkIdempotency(request.getIdempotencyKey());
+            long mark = transferMetrics.recordPhase(Phase.IDEMPOTENCY, started);
 
             validateTransfer(request);
+            accountSnapshotCache.invalidateAfterCommit(request.getFromAccountId(), request.getToAccountId());
 
-            Account fromAccount = accountRepository.findById(request.getFromAccountId())
-                    .orElseThrow(() -> {
-                        logger.error(
-                                "Transfer failed | class={} | method=transfer | txId={} | fromAccountId={} | reason=SENDER_NOT_FOUND",
-                                this.getClass().getSimpleName(),
-                                transactionId,
-                                request.getFromAccountId()
-                        );
-                        return new AccountNotFoundException(AppConstants.SENDER_ACCOUNT_NOT_FOUND);
-                    });
-            Account toAccount = accountRepository.findById(request.getToAccountId())
-                    .orElseThrow(() -> {
-                        logger.error(
-                                "Transfer failed | class={} | method=transfer | txId={} | toAccountId={} | reason=RECEIVER_NOT_FOUND",
-                                this.getClass().getSimpleName(),
-                                transactionId,
-                                request.getToAccountId()
-                        );
-                        return new AccountNotFoundException(AppConstants.RECEIVER_ACCOUNT_NOT_FOUND);
-                    });
-
-            fromAccount.debit(request.getAmount());
-            toAccount.credit(request.getAmount());
-
-            accountRepository.save(fromAccount);
-            accountRepository.save(toAccount);
+            if (transferProperties.getExecutionMode() == TransferExecutionMode.GUARDED_UPDATE) {
+                applyGuardedTransfer(request, transactionId);
+                // The conditional UPDATEs load, check and write in one statement
+                mark = transferMetrics.recordPhase(Phase.SAVE, mark);
+            } else {
+                mark = applyEntityTransfer(request, transactionId, mark);
+            }
 
             TransactionLog successLog = TransactionLog.builder()
                     .id(transactionId)
@@ -92,7 +259,16 @@ public class TransferService {
                     .remarks(request.getRemarks())
                     .build();
 
+            accountPostingWriter.insertFor(List.of(successLog), 2);
+            dailyAggregateWriter.applyFor(List.of(successLog), 2);
+            accountEventHub.publishAfterCommit(List.of(successLog));
             transactionLogRepository.save(successLog);
+            if (!probed) {
+                flushOrRejectDuplicate(request.getIdempotencyKey());
+            }
+            idempotencyKeyFilter.rememberAfterCommit(request.getIdempotencyKey(), transactionId);
+            transferMetrics.recordPhase(Phase.LOG, mark);
+            transferMetrics.recordSuccess(started);
 
             logger.info(
                     "Transfer success | class={} | method=transfer | txId={} | fromAccountId={} | toAccountId={} | amount={}",
@@ -108,10 +284,16 @@ public class TransferService {
         } catch (DuplicateTranferException e) {
             // For duplicate transactions, re-throw without saving (transaction already exists)
             logger.warn("Duplicate transaction detected with idempotencyKey={}", request.getIdempotencyKey());
+            transferMetrics.recordOutcome(started, TransferMetrics.REJECTED, e.getMessage());
             throw e;
         } catch (IllegalArgumentException | AccountNotFoundException e) {
             // Validation or not-found errors should be propagated to callers/tests
             logger.warn("Transfer validation/not-found error: {}", e.getMessage());
+            transferMetrics.recordOutcome(started, TransferMetrics.REJECTED, e.getMessage());
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            // Version conflicts roll back and are retried by OptimisticLockRetryAspect
+            transferMetrics.recordOutcome(started, TransferMetrics.CONFLICT, AppConstants.CONCURRENT_UPDATE);
             throw e;
         } catch (Exception e) {
             // Log and save failed transaction with failure reason for unexpected errors
@@ -144,12 +326,211 @@ public class TransferService {
                     .build();
 
             transactionLogRepository.save(failedLog);
+            dailyAggregateWriter.applyFor(List.of(failedLog), 1);
+            accountEventHub.publishAfterCommit(List.of(failedLog));
+            if (!probed) {
+                flushOrRejectDuplicate(request.getIdempotencyKey());
+            }
+            idempotencyKeyFilter.rememberAfterCommit(request.getIdempotencyKey(), transactionId);
+            transferMetrics.recordOutcome(started, TransferMetrics.FAILED, failureReason);
 
             // Return the failed transaction (don't throw) so it's sent to frontend
             return failedLog;
         }
     }
 
+    /**
+     * Rejects a known duplicate. Returns false when the pre-filter ruled the key out and the
+     * lookup was skipped; the unique constraint on idempotency_key is then the final arbiter.
+     */
+    private boolean checkIdempotency(String idempotencyKey) {
+        boolean duplicate;
+        boolean probed = false;
+
+        if (idempotencyKeyFilter.knownTransactionId(idempotencyKey).isPresent()) {
+            duplicate = true;
+        } else if (idempotencyKeyFilter.mightContain(idempotencyKey)) {
+            probed = true;
+            duplicate = transactionLogRepository.findByIdempotencyKey(idempotencyKey).isPresent();
+            if (!duplicate) {
+                idempotencyKeyFilter.recordFalsePositive();
+            }
+        } else {
+            duplicate = false;
+        }
+
+        if (duplicate) {
+            logger.error(
+                    "Transfer rejected | class={} | method=transfer | idempotencyKey={} | reason=DUPLICATE_TRANSACTION",
+                    this.getClass().getSimpleName(),
+                    idempotencyKey
+            );
+            throw new DuplicateTranferException(AppConstants.DUPLICATE_TRANSACTION);
+        }
+        return probed;
+    }
+
+    private void flushOrRejectDuplicate(String idempotencyKey) {
+        try {
+            transactionLogRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            idempotencyKeyFilter.recordConstraintViolation();
+            logger.error(
+                    "Transfer rejected | class={} | method=transfer | idempotencyKey={} | reason=DUPLICATE_TRANSACTION_CONSTRAINT",
+                    this.getClass().getSimpleName(),
+                    idempotencyKey
+            );
+            throw new DuplicateTranferException(AppConstants.DUPLICATE_TRANSACTION);
+        }
+    }
+
+    /**
+     * Load, apply and save the two legs, recording each phase from {@code mark}.
+     * Returns the time the last phase ended.
+     */
+    private long applyEntityTransfer(TransferRequest request, String transactionId, long mark) {
+        Account fromAccount = accountRepository.findById(request.getFromAccountId())
+                .orElseThrow(() -> {
+                    logger.error(
+                            "Transfer failed | class={} | method=transfer | txId={} | fromAccountId={} | reason=SENDER_NOT_FOUND",
+                            this.getClass().getSimpleName(),
+                            transactionId,
+                            request.getFromAccountId()
+                    );
+                    return new AccountNotFoundException(AppConstants.SENDER_ACCOUNT_NOT_FOUND);
+                });
+        Account toAccount = accountRepository.findById(request.getToAccountId())
+                .orElseThrow(() -> {
+                    logger.error(
+                            "Transfer failed | class={} | method=transfer | txId={} | toAccountId={} | reason=RECEIVER_NOT_FOUND",
+                            this.getClass().getSimpleName(),
+                            transactionId,
+                            request.getToAccountId()
+                    );
+                    return new AccountNotFoundException(AppConstants.RECEIVER_ACCOUNT_NOT_FOUND);
+                });
+        mark = transferMetrics.recordPhase(Phase.LOAD, mark);
+
+        BigDecimal amount = request.getAmount();
+
+        // Hot-account legs are checked before anything is written, so a rejection never follows a shard update
+        if (fromAccount.isSharded()) {
+            requireActive(fromAccount, transactionId);
+        }
+        if (toAccount.isSharded()) {
+            requireActive(toAccount, transactionId);
+        }
+
+        if (!fromAccount.isSharded()) {
+            fromAccount.debit(amount);
+        }
+        if (!toAccount.isSharded()) {
+            toAccount.credit(amount);
+        }
+        mark = transferMetrics.recordPhase(Phase.APPLY, mark);
+
+        if (fromAccount.isSharded()) {
+            shardedBalanceService.debit(fromAccount.getId(), fromAccount.getShardCount(), amount);
+        } else {
+            accountRepository.save(fromAccount);
+        }
+        if (toAccount.isSharded()) {
+            shardedBalanceService.credit(toAccount.getId(), toAccount.getShardCount(), amount);
+        } else {
+            accountRepository.save(toAccount);
+        }
+        // Otherwise the versioned UPDATEs would run at commit, outside every phase
+        accountRepository.flush();
+        return transferMetrics.recordPhase(Phase.SAVE, mark);
+    }
+
+    private void requireActive(Account account, String transactionId) {
+        if (!account.isActive()) {
+            logger.error(
+                    "Transfer failed | class={} | method=transfer | txId={} | accountId={} | reason=ACCOUNT_INACTIVE",
+                    this.getClass().getSimpleName(),
+                    transactionId,
+                    account.getId()
+            );
+            throw new IllegalStateException(AppConstants.ACCOUNT_NOT_ACTIVE);
+        }
+    }
+
+    /**
+     * One conditional UPDATE per leg instead of load/mutate/save. When a guard
+     * rejects, a status probe maps the zero row count onto the same exceptions
+     * Account.debit/credit would have thrown, or routes a hot account to its shards.
+     */
+    private void applyGuardedTransfer(TransferRequest request, String transactionId) {
+        BigDecimal amount = request.getAmount();
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException(AppConstants.INVALID_DEBIT_AMOUNT);
+        }
+
+        Instant now = Instant.now();
+
+        Integer fromShards = null;
+        if (accountRepository.guardedDebit(request.getFromAccountId(), amount, now) == 0) {
+            fromShards = shardCountOrReject(request.getFromAccountId(), transactionId, true);
+            shardedBalanceService.debit(request.getFromAccountId(), fromShards, amount);
+        }
+
+        if (accountRepository.guardedCredit(request.getToAccountId(), amount, now) == 0) {
+            try {
+                int toShards = shardCountOrReject(request.getToAccountId(), transactionId, false);
+                shardedBalanceService.credit(request.getToAccountId(), toShards, amount);
+            } catch (RuntimeException rejection) {
+                // An inactive receiver is recorded as a FAILED log and committed, so the debit must be put back
+                if (fromShards != null) {
+                    shardedBalanceService.credit(request.getFromAccountId(), fromShards, amount);
+                } else {
+                    accountRepository.revertDebit(request.getFromAccountId(), amount, now);
+                }
+                throw rejection;
+            }
+        }
+    }
+
+    /**
+     * Explains a guarded update that touched no rows: returns the shard count of an
+     * active hot account, otherwise throws the matching rejection.
+     */
+    private int shardCountOrReject(String accountId, String transactionId, boolean sender) {
+        Optional<AccountStatus> status = accountRepository.findStatusById(accountId);
+
+        String reason;
+        RuntimeException rejection;
+        if (status.isEmpty()) {
+            reason = sender ? "SENDER_NOT_FOUND" : "RECEIVER_NOT_FOUND";
+            rejection = new AccountNotFoundException(sender
+                    ? AppConstants.SENDER_ACCOUNT_NOT_FOUND
+                    : AppConstants.RECEIVER_ACCOUNT_NOT_FOUND);
+        } else if (status.get() != AccountStatus.ACTIVE) {
+            reason = "ACCOUNT_INACTIVE";
+            rejection = new IllegalStateException(AppConstants.ACCOUNT_NOT_ACTIVE);
+        } else {
+            Optional<Integer> shardCount = accountRepository.findShardCountById(accountId);
+            if (shardCount.isPresent()) {
+                return shardCount.get();
+            }
+            if (!sender) {
+                // Active, unsharded and still unmatched: hot-account mode was switched off mid-transfer
+                throw new ObjectOptimisticLockingFailureException(Account.class, accountId);
+            }
+            reason = "INSUFFICIENT_BALANCE";
+            rejection = new IllegalArgumentException(AppConstants.INSUFFICIENT_BALANCE);
+        }
+
+        logger.error(
+                "Transfer failed | class={} | method=applyGuardedTransfer | txId={} | accountId={} | reason={}",
+                this.getClass().getSimpleName(),
+                transactionId,
+                accountId,
+                reason
+        );
+        throw rejection;
+    }
+
     private void validateTransfer(TransferRequest request) {
         if (request.getFromAccountId().equals(request.getToAccountId())) {
             logger.error(
@@ -0,0 +1,40 @@
+package com.moneytransfersystem.service.auth;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Skips the delegate's (deliberately slow) check for a password that {@link CredentialCache}
+ * saw verified against the same stored hash within its TTL.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final CredentialCache credentialCache;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, CredentialCache credentialCache) {
+        this.delegate = delegate;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (credentialCache.isVerified(rawPassword, encodedPassword)) {
+            return true;
+        }
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            credentialCache.recordVerified(rawPassword, encodedPassword);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,220 @@
+package com.moneytransfersystem.service.auth;
+
+import com.moneytransfersystem.config.CredentialCacheProperties;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Node-local cache of authenticated principals and of recent successful password checks,
+ * so repeated HTTP Basic requests skip both the account lookup and BCrypt.
+ * <p>
+ * A verification is keyed by the stored password hash and holds an HMAC of the presented
+ * password under a key generated at startup; the password itself is never kept. A new hash
+ * after a password change therefore never matches an old entry. {@code changePassword} and
+ * {@code closeAccount} also evict the account explicitly, before the write and again once
+ * it completes. Failed checks are never cached.
+ * <p>
+ * Those evictions only reach this node. Principals therefore expire after
+ * {@code principal-ttl-ms}, which bounds how long another node keeps accepting a closed
+ * account or serving a changed password hash.
+ */
+@Component
+public class CredentialCache {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final CredentialCacheProperties properties;
+    private final Map<String, CachedPrincipal> principals;
+    // Stored password hash -> last successful check against it
+    private final Map<String, Verification> verifications = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // Bumped by every invalidation; a principal loaded across one is not stored
+    private long generation;
+    private final ThreadLocal<Mac> macs;
+
+    private final LongAdder principalHits = new LongAdder();
+    private final LongAdder principalMisses = new LongAdder();
+    private final LongAdder verificationHits = new LongAdder();
+    private final LongAdder verificationMisses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record Verification(byte[] mac, long expiresAt) {
+    }
+
+    private record CachedPrincipal(UserDetails principal, long expiresAt) {
+    }
+
+    public CredentialCache(CredentialCacheProperties properties) {
+        this.properties = properties;
+        int capacity = Math.max(1, properties.getMaxPrincipals());
+        this.principals = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > capacity;
+            }
+        };
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, HMAC);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(HMAC + " is not available", e);
+            }
+        });
+    }
+
+    /**
+     * The cached principal if it is within the TTL, or the loader's result, which is cached
+     * unless the account was invalidated while it loaded. Returns a copy: Spring Security erases the password of
+     * the principal it authenticated.
+     */
+    public UserDetails principal(String accountId, Function<String, UserDetails> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(accountId);
+        }
+        long loadGeneration;
+        lock.lock();
+        try {
+            CachedPrincipal cached = principals.get(accountId);
+            if (cached != null) {
+                if (cached.expiresAt() - System.nanoTime() >= 0) {
+                    principalHits.increment();
+                    return copy(cached.principal());
+                }
+                principals.remove(accountId);
+            }
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        principalMisses.increment();
+        UserDetails loaded = loader.apply(accountId);
+        lock.lock();
+        try {
+            if (generation == loadGeneration) {
+                principals.put(accountId, new CachedPrincipal(copy(loaded),
+                        System.nanoTime() + properties.getPrincipalTtlMs() * 1_000_000L));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    /**
+     * True when this password was checked against this stored hash within the TTL.
+     */
+    public boolean isVerified(CharSequence rawPassword, String encodedPassword) {
+        if (!properties.isEnabled() || rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        Verification verification = verifications.get(encodedPassword);
+        if (verification == null || verification.expiresAt() - System.nanoTime() < 0
+                || !MessageDigest.isEqual(verification.mac(), mac(rawPassword))) {
+            verificationMisses.increment();
+            return false;
+        }
+        verificationHits.increment();
+        return true;
+    }
+
+    /**
+     * Records a successful check of the password against the stored hash.
+     */
+    public void recordVerified(CharSequence rawPassword, String encodedPassword) {
+        if (!properties.isEnabled() || rawPassword == null || encodedPassword == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (verifications.size() >= properties.getMaxVerifications()) {
+            verifications.values().removeIf(verification -> verification.expiresAt() - now < 0);
+            if (verifications.size() >= properties.getMaxVerifications()) {
+                return;
+            }
+        }
+        verifications.put(encodedPassword,
+                new Verification(mac(rawPassword), now + properties.getVerificationTtlMs() * 1_000_000L));
+    }
+
+    /**
+     * Forgets the account's principal and its verified password now and again when the
+     * surrounding transaction completes, so nothing read before the write survives it.
+     */
+    public void invalidateAfterCommit(String accountId, String encodedPassword) {
+        evict(accountId, encodedPassword);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(accountId, encodedPassword);
+                }
+            });
+        }
+    }
+
+    private void evict(String accountId, String encodedPassword) {
+        lock.lock();
+        try {
+            principals.remove(accountId);
+            generation++;
+        } finally {
+            lock.unlock();
+        }
+        if (encodedPassword != null) {
+            verifications.remove(encodedPassword);
+        }
+        invalidations.increment();
+    }
+
+    private static UserDetails copy(UserDetails principal) {
+        return User.withUserDetails(principal).build();
+    }
+
+    private byte[] mac(CharSequence rawPassword) {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(rawPassword));
+        Mac mac = macs.get();
+        mac.update(bytes);
+        Arrays.fill(bytes.array(), (byte) 0);
+        return mac.doFinal();
+    }
+
+    public Map<String, Long> snapshot() {
+        return Map.of(
+                "principalHits", principalHits.sum(),
+                "principalMisses", principalMisses.sum(),
+                "verificationHits", verificationHits.sum(),
+                "verificationMisses", verificationMisses.sum(),
+                "invalidations", invalidations.sum()
+        );
+    }
+
+    public long getPrincipalHits() { return principalHits.sum(); }
+    public long getPrincipalMisses() { return principalMisses.sum(); }
+    public long getVerificationHits() { return verificationHits.sum(); }
+    public long getVerificationMisses() { return verificationMisses.sum(); }
+    public long getInvalidations() { return invalidations.sum(); }
+}
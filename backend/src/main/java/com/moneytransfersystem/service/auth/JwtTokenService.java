@@ -0,0 +1,154 @@
+package com.moneytransfersystem.service.auth;
+
+import com.moneytransfersystem.config.JwtProperties;
+import com.moneytransfersystem.domain.dtos.AuthTokens;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
+import com.moneytransfersystem.service.AccountService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issues and verifies signed bearer tokens, so requests after login skip the password hash
+ * and the account lookup.
+ * <p>
+ * Access tokens are short-lived and verified from the signature alone. Refresh tokens are
+ * checked against the account on use and carry a fingerprint of the password hash, so a
+ * password change or a closed account ends the login at the next refresh.
+ */
+@Service
+public class JwtTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenService.class);
+
+    private static final String TYPE_CLAIM = "typ";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+    private static final String PASSWORD_CLAIM = "pwd";
+
+    private final JwtProperties properties;
+    private final AccountService accountService;
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder refreshed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public JwtTokenService(JwtProperties properties, AccountService accountService) {
+        this.properties = properties;
+        this.accountService = accountService;
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            logger.warn("No jwt.secret configured, using a random key | tokens will not survive a restart or work across nodes");
+            this.key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        } else {
+            this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getSecret()));
+        }
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .requireIssuer(properties.getIssuer())
+                .setAllowedClockSkewSeconds(properties.getClockSkewSeconds())
+                .build();
+    }
+
+    /**
+     * Access and refresh token for an account whose credentials were just verified.
+     */
+    public AuthTokens issue(String accountId) {
+        Account account = accountService.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        return issue(account);
+    }
+
+    /**
+     * Account id of a valid access token, without touching the database.
+     */
+    public Optional<String> verifyAccessToken(String token) {
+        return parse(token, ACCESS).map(Claims::getSubject);
+    }
+
+    /**
+     * New token pair for a valid refresh token whose account is still active with the same
+     * password. The old refresh token keeps working until it expires.
+     */
+    public Optional<AuthTokens> refresh(String refreshToken) {
+        Optional<Claims> claims = parse(refreshToken, REFRESH);
+        if (claims.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Account> account = accountService.findById(claims.get().getSubject())
+                .filter(found -> found.getStatus() == AccountStatus.ACTIVE)
+                .filter(found -> fingerprint(found).equals(claims.get().get(PASSWORD_CLAIM, String.class)));
+        if (account.isEmpty()) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        refreshed.increment();
+        return Optional.of(issue(account.get()));
+    }
+
+    private AuthTokens issue(Account account) {
+        Date now = new Date();
+        String accessToken = Jwts.builder()
+                .setIssuer(properties.getIssuer())
+                .setSubject(account.getId())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + properties.getAccessTokenTtlMs()))
+                .claim(TYPE_CLAIM, ACCESS)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        String refreshToken = Jwts.builder()
+                .setIssuer(properties.getIssuer())
+                .setSubject(account.getId())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + properties.getRefreshTokenTtlMs()))
+                .claim(TYPE_CLAIM, REFRESH)
+                .claim(PASSWORD_CLAIM, fingerprint(account))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+        issued.increment();
+        return new AuthTokens(accessToken, refreshToken, properties.getAccessTokenTtlMs() / 1000);
+    }
+
+    private Optional<Claims> parse(String token, String type) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (type.equals(claims.get(TYPE_CLAIM, String.class)) && claims.getSubject() != null) {
+                return Optional.of(claims);
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected token | class={} | method=parse | reason={}", getClass().getSimpleName(), e.getMessage());
+        }
+        rejected.increment();
+        return Optional.empty();
+    }
+
+    // Changes with every password change; the hash itself never leaves the server
+    private static String fingerprint(Account account) {
+        return DigestUtils.md5DigestAsHex(String.valueOf(account.getPassword()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getIssued() { return issued.sum(); }
+    public long getRefreshed() { return refreshed.sum(); }
+    public long getRejected() { return rejected.sum(); }
+}
@@ -0,0 +1,157 @@
+package com.moneytransfersystem.service.auth;
+
+import com.moneytransfersystem.config.LoginRateLimitProperties;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.exceptions.TooManyRequestsException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Node-local admission control for requests that hash a password: one token bucket per
+ * client address and one per account, checked before any hashing is queued.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full
+ * again (the GCRA form of a token bucket), updated by compare-and-set without locks.
+ * At most {@code max-tracked-keys} buckets are kept per kind; once full buckets cannot be
+ * pruned, new keys share one overflow bucket, so a flood of addresses or account ids
+ * exhausts that bucket rather than the heap.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final LoginRateLimitProperties properties;
+    private final Buckets byIp;
+    private final Buckets byAccount;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder ipRejections = new LongAdder();
+    private final LongAdder accountRejections = new LongAdder();
+
+    public LoginRateLimiter(LoginRateLimitProperties properties) {
+        this.properties = properties;
+        this.byIp = new Buckets(properties::getPerIpBurst, properties::getPerIpPerMinute);
+        this.byAccount = new Buckets(properties::getPerAccountBurst, properties::getPerAccountPerMinute);
+    }
+
+    /**
+     * Takes one attempt from the client's and the account's bucket.
+     *
+     * @throws TooManyRequestsException when either is empty
+     */
+    public void acquire(String clientIp, String accountId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (clientIp != null && !byIp.tryAcquire(clientIp, now)) {
+            ipRejections.increment();
+            throw new TooManyRequestsException(AppConstants.TOO_MANY_LOGIN_ATTEMPTS);
+        }
+        if (accountId != null && !byAccount.tryAcquire(accountId, now)) {
+            accountRejections.increment();
+            throw new TooManyRequestsException(AppConstants.TOO_MANY_LOGIN_ATTEMPTS);
+        }
+        admitted.increment();
+    }
+
+    private final class Buckets {
+        private final IntSupplier burst;
+        private final IntSupplier perMinute;
+        // Key -> System.nanoTime() at which its bucket is full again
+        private final Map<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+        // Entries in fullAt; slots are claimed before the insert, so the cap holds under contention
+        private final AtomicInteger tracked = new AtomicInteger();
+        private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+        private final AtomicLong lastPruneAt = new AtomicLong(System.nanoTime());
+
+        Buckets(IntSupplier burst, IntSupplier perMinute) {
+            this.burst = burst;
+            this.perMinute = perMinute;
+        }
+
+        boolean tryAcquire(String key, long now) {
+            long interval = NANOS_PER_MINUTE / Math.max(1, perMinute.getAsInt());
+            long capacity = interval * Math.max(1, burst.getAsInt());
+            AtomicLong bucket = fullAt.get(key);
+            if (bucket == null) {
+                bucket = track(key, now, interval);
+            }
+            while (true) {
+                long current = bucket.get();
+                long next = Math.max(current, now) + interval;
+                if (next - now > capacity) {
+                    return false;
+                }
+                if (bucket.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        private AtomicLong track(String key, long now, long interval) {
+            int max = Math.max(1, properties.getMaxTrackedKeys());
+            if (tracked.get() >= max) {
+                prune(now, interval);
+            }
+            while (true) {
+                int count = tracked.get();
+                if (count >= max) {
+                    return overflow;
+                }
+                if (tracked.compareAndSet(count, count + 1)) {
+                    break;
+                }
+            }
+            AtomicLong created = new AtomicLong(now);
+            AtomicLong existing = fullAt.putIfAbsent(key, created);
+            if (existing != null) {
+                tracked.decrementAndGet();
+                return existing;
+            }
+            return created;
+        }
+
+        // Full buckets carry no state worth keeping. A bucket takes at least one refill
+        // interval to become full again, so scanning more often mostly finds nothing.
+        private void prune(long now, long interval) {
+            long last = lastPruneAt.get();
+            if (now - last < interval || !lastPruneAt.compareAndSet(last, now)) {
+                return;
+            }
+            for (Map.Entry<String, AtomicLong> entry : fullAt.entrySet()) {
+                if (entry.getValue().get() - now <= 0 && fullAt.remove(entry.getKey(), entry.getValue())) {
+                    tracked.decrementAndGet();
+                }
+            }
+        }
+
+        int size() {
+            return tracked.get();
+        }
+    }
+
+    public Map<String, Long> snapshot() {
+        return Map.of(
+                "admitted", admitted.sum(),
+                "ipRejections", ipRejections.sum(),
+                "accountRejections", accountRejections.sum(),
+                "trackedIps", (long) byIp.size(),
+                "trackedAccounts", (long) byAccount.size()
+        );
+    }
+
+    public long getAdmitted() { return admitted.sum(); }
+    public long getIpRejections() { return ipRejections.sum(); }
+    public long getAccountRejections() { return accountRejections.sum(); }
+    public int getTrackedIps() { return byIp.size(); }
+    public int getTrackedAccounts() { return byAccount.size(); }
+}
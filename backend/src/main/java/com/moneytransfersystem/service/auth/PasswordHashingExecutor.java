@@ -0,0 +1,142 @@
+package com.moneytransfersystem.service.auth;
+
+import com.moneytransfersystem.config.PasswordHashingProperties;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.exceptions.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a small dedicated pool instead of the request thread, so a burst
+ * of logins can use at most that many cores and transfers keep the rest.
+ * <p>
+ * The queue is bounded: once it is full, or a caller has waited {@code maxWaitMs}, the
+ * request is refused with {@link TooManyRequestsException} (429) rather than piling up.
+ * Work abandoned by a caller that gave up is dropped from the queue unrun.
+ */
+@Component
+public class PasswordHashingExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor pool;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Long::max, 0);
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties) {
+        this.properties = properties;
+        int threads = properties.getThreads() > 0
+                ? properties.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Runs the hashing task on the pool and waits for its result.
+     *
+     * @throws TooManyRequestsException when the queue is full or the wait runs out
+     */
+    public <T> T hash(Supplier<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                long started = System.nanoTime();
+                record(queueWaitNanos, maxQueueWaitNanos, started - submitted);
+                try {
+                    return task.get();
+                } finally {
+                    record(hashNanos, maxHashNanos, System.nanoTime() - started);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.warn("Password hashing rejected | class={} | method=hash | reason=QUEUE_FULL | queued={}",
+                    getClass().getSimpleName(), pool.getQueue().size());
+            throw new TooManyRequestsException(AppConstants.AUTHENTICATION_BUSY);
+        }
+
+        try {
+            return future.get(properties.getMaxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new TooManyRequestsException(AppConstants.AUTHENTICATION_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void record(LongAdder total, LongAccumulator max, long nanos) {
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    public Map<String, Object> snapshot() {
+        long done = completed.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("threads", pool.getMaximumPoolSize());
+        snapshot.put("active", pool.getActiveCount());
+        snapshot.put("queued", pool.getQueue().size());
+        snapshot.put("completed", done);
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("timedOut", timedOut.sum());
+        snapshot.put("avgQueueWaitMs", done == 0 ? 0.0 : queueWaitNanos.sum() / 1e6 / done);
+        snapshot.put("maxQueueWaitMs", maxQueueWaitNanos.get() / 1e6);
+        snapshot.put("avgHashMs", done == 0 ? 0.0 : hashNanos.sum() / 1e6 / done);
+        snapshot.put("maxHashMs", maxHashNanos.get() / 1e6);
+        return snapshot;
+    }
+
+    public long getCompleted() { return completed.sum(); }
+    public long getRejected() { return rejected.sum(); }
+    public long getTimedOut() { return timedOut.sum(); }
+    public long getQueueWaitNanos() { return queueWaitNanos.sum(); }
+    public long getHashNanos() { return hashNanos.sum(); }
+}
@@ -0,0 +1,303 @@
+package com.moneytransfersystem.service.cache;
+
+import com.moneytransfersystem.config.AccountCacheProperties;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Node-local LRU of detached account snapshots for read-only paths.
+ * <p>
+ * Writers call {@link #invalidateAfterCommit} before touching an account. From then until
+ * their transaction completes the account is served from the database, and the entry is
+ * evicted again once it has. A read that raced a write is never stored: each load records
+ * the write generation of its stripe first and is only cached if no write started since.
+ * Hot (sharded) accounts are never cached, their balance lives in the shard rows.
+ * Committed writes are also reported to {@link ReplicaLagGuard} to keep their reads off the replica.
+ * Registered {@link WriteListener}s, such as the ledger engine, see every write start and complete.
+ */
+@Component
+public class AccountSnapshotCache {
+
+    /**
+     * Told about the writes announced through {@link #invalidateAfterCommit}.
+     */
+    public interface WriteListener {
+
+        /**
+         * Called before the write, in its transaction; throwing rejects the write.
+         */
+        default void beforeWrite(Collection<String> accountIds) {
+        }
+
+        /**
+         * Called once the writing transaction has completed, committed or not.
+         */
+        void afterCompletion(Collection<String> accountIds, boolean committed);
+    }
+
+    private static final int STRIPES = 256;
+
+    private final AccountCacheProperties properties;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final Map<String, Account> snapshots;
+    // Accounts with a write in flight on this node, with the number of open writers
+    private final Map<String, Integer> pending = new HashMap<>();
+    private final long[] generations = new long[STRIPES];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<WriteListener> writeListeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder racedLoads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AccountSnapshotCache(AccountCacheProperties properties, ReplicaLagGuard replicaLagGuard) {
+        this.properties = properties;
+        this.replicaLagGuard = replicaLagGuard;
+        int capacity = Math.max(1, properties.getMaxEntries());
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Account> eldest) {
+                if (size() > capacity) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The cached snapshot, or the loader's result, which is cached when no write raced it.
+     * Always returns a copy the caller may modify.
+     */
+    public Optional<Account> get(String accountId, Function<String, Optional<Account>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(accountId);
+        }
+        int stripe = stripe(accountId);
+        long generation;
+        lock.lock();
+        try {
+            if (pending.containsKey(accountId)) {
+                bypasses.increment();
+                generation = -1;
+            } else {
+                Account cached = snapshots.get(accountId);
+                if (cached != null) {
+                    hits.increment();
+                    return Optional.of(copy(cached));
+                }
+                generation = generations[stripe];
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        Optional<Account> loaded = loader.apply(accountId);
+        if (generation < 0 || loaded.isEmpty() || loaded.get().isSharded()) {
+            return loaded;
+        }
+
+        Account snapshot = copy(loaded.get());
+        lock.lock();
+        try {
+            if (generations[stripe] == generation && !pending.containsKey(accountId)) {
+                snapshots.put(accountId, snapshot);
+            } else {
+                racedLoads.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    /**
+     * Version of the cached snapshot, without loading or copying it. Empty when the account
+     * is not cached or a write to it is in flight.
+     */
+    public OptionalLong cachedVersion(String accountId) {
+        if (!properties.isEnabled()) {
+            return OptionalLong.empty();
+        }
+        lock.lock();
+        try {
+            Account cached = pending.containsKey(accountId) ? null : snapshots.get(accountId);
+            if (cached == null || cached.getVersion() == null) {
+                return OptionalLong.empty();
+            }
+            hits.increment();
+            return OptionalLong.of(cached.getVersion());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the accounts as being written until the surrounding transaction completes,
+     * committed or not. Must be called before the write, including the reads it is based
+     * on; without a transaction the entries are only evicted.
+     */
+    public void invalidateAfterCommit(Collection<String> accountIds) {
+        invalidateAfterCommit(accountIds, true);
+    }
+
+    /**
+     * As {@link #invalidateAfterCommit(Collection)}; with {@code notifyListeners} false the write
+     * listeners are not told, for writers that already hold the new balances themselves.
+     */
+    public void invalidateAfterCommit(Collection<String> accountIds, boolean notifyListeners) {
+        Set<String> ids = new LinkedHashSet<>(accountIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return;
+        }
+        // The listeners that saw the write start are the ones told it completed
+        List<WriteListener> listeners = notifyListeners ? beforeWrite(ids) : List.of();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids);
+            replicaLagGuard.recordWrites(ids);
+            afterCompletion(listeners, ids, true);
+            return;
+        }
+
+        lock.lock();
+        try {
+            for (String id : ids) {
+                pending.merge(id, 1, Integer::sum);
+                snapshots.remove(id);
+                generations[stripe(id)]++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.lock();
+                try {
+                    for (String id : ids) {
+                        pending.computeIfPresent(id, (key, writers) -> writers == 1 ? null : writers - 1);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                // A reader that checked before the write began may have stored a snapshot since
+                evict(ids);
+                if (status == STATUS_COMMITTED) {
+                    replicaLagGuard.recordWrites(ids);
+                }
+                AccountSnapshotCache.this.afterCompletion(listeners, ids, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    public void invalidateAfterCommit(String... accountIds) {
+        invalidateAfterCommit(List.of(accountIds));
+    }
+
+    public void addWriteListener(WriteListener listener) {
+        writeListeners.add(listener);
+    }
+
+    public void removeWriteListener(WriteListener listener) {
+        writeListeners.remove(listener);
+    }
+
+    private List<WriteListener> beforeWrite(Set<String> ids) {
+        List<WriteListener> listeners = List.copyOf(writeListeners);
+        for (int i = 0; i < listeners.size(); i++) {
+            try {
+                listeners.get(i).beforeWrite(ids);
+            } catch (RuntimeException e) {
+                // The write will not happen; complete it for the listeners that already saw it start
+                afterCompletion(listeners.subList(0, i), ids, false);
+                throw e;
+            }
+        }
+        return listeners;
+    }
+
+    private void afterCompletion(List<WriteListener> listeners, Set<String> ids, boolean committed) {
+        for (WriteListener listener : listeners) {
+            listener.afterCompletion(ids, committed);
+        }
+    }
+
+    private void evict(Collection<String> ids) {
+        lock.lock();
+        try {
+            for (String id : ids) {
+                snapshots.remove(id);
+                generations[stripe(id)]++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        invalidations.add(ids.size());
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("hits", hits.sum());
+        snapshot.put("misses", misses.sum());
+        snapshot.put("hitRate", getHitRate());
+        snapshot.put("bypasses", bypasses.sum());
+        snapshot.put("racedLoads", racedLoads.sum());
+        snapshot.put("invalidations", invalidations.sum());
+        snapshot.put("evictions", evictions.sum());
+        snapshot.put("size", getSize());
+        return snapshot;
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getBypasses() { return bypasses.sum(); }
+    public long getRacedLoads() { return racedLoads.sum(); }
+    public long getInvalidations() { return invalidations.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public int getSize() {
+        lock.lock();
+        try {
+            return snapshots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int stripe(String accountId) {
+        return (accountId.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    private static Account copy(Account account) {
+        return account.toBuilder().build();
+    }
+}
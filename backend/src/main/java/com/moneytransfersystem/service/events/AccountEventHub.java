@@ -0,0 +1,437 @@
+package com.moneytransfersystem.service.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfersystem.config.AccountEventsProperties;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.dtos.BalanceUpdate;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
+import com.moneytransfersystem.domain.exceptions.EventStreamUnavailableException;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.service.ShardedBalanceService;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans committed balance changes and transaction logs out to Server-Sent Events subscribers.
+ * <p>
+ * Each account is owned by one dispatcher thread, which alone touches its subscribers and
+ * replay buffer, so delivery is ordered and needs no locks. Writers hand over logs after
+ * commit, and only for accounts somebody is watching. Every event is serialized once and
+ * the same frame is written to every subscriber; balances are read once per commit through
+ * the account snapshot cache. Event ids are node-wide and increasing: a reconnect with
+ * Last-Event-ID replays what the buffer still holds, or gets a "resync" event when it
+ * cannot be served (buffer overrun, dropped commits or a restarted node).
+ */
+@Component
+public class AccountEventHub {
+    private static final Logger logger = LoggerFactory.getLogger(AccountEventHub.class);
+
+    static final String BALANCE = "balance";
+    static final String TRANSACTION = "transaction";
+    static final String RESYNC = "resync";
+
+    private final AccountEventsProperties properties;
+    private final AccountRepository accountRepository;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final ShardedBalanceService shardedBalanceService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    // Accounts whose events were dropped on a full queue; their streams get a resync next
+    private final Set<String> needsResync = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private ThreadPoolExecutor[] dispatchers;
+    private ScheduledExecutorService heartbeat;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    public AccountEventHub(AccountEventsProperties properties,
+                           AccountRepository accountRepository,
+                           AccountSnapshotCache accountSnapshotCache,
+                           ShardedBalanceService shardedBalanceService,
+                           ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.shardedBalanceService = shardedBalanceService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void start() {
+        int count = Math.max(1, properties.getDispatchers());
+        dispatchers = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            String name = "account-events-" + i;
+            dispatchers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, properties.getHeartbeatMs());
+        heartbeat.scheduleAtFixedRate(this::scheduleHeartbeats, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        heartbeat.shutdownNow();
+        for (ThreadPoolExecutor dispatcher : dispatchers) {
+            dispatcher.shutdown();
+        }
+        for (ThreadPoolExecutor dispatcher : dispatchers) {
+            dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        channels.values().forEach(channel -> channel.emitters.forEach(ResponseBodyEmitter::complete));
+    }
+
+    /**
+     * Opens a stream for the account. Without Last-Event-ID the first event is the current
+     * balance; with it, the missed events are replayed, or a resync is sent when they cannot be.
+     */
+    public SseEmitter subscribe(String accountId, String lastEventId) {
+        if (!properties.isEnabled()) {
+            throw new EventStreamUnavailableException(AppConstants.EVENT_STREAM_DISABLED);
+        }
+        if (loadBalance(accountId).isEmpty()) {
+            throw new AccountNotFoundException(accountId);
+        }
+        Channel existing = channels.get(accountId);
+        if (existing != null && existing.subscribers >= properties.getMaxSubscribersPerAccount()) {
+            throw new EventStreamUnavailableException(AppConstants.TOO_MANY_SUBSCRIBERS);
+        }
+
+        SseEmitter emitter = newEmitter(properties.getEmitterTimeoutMs());
+        Runnable unsubscribe = () -> runOn(accountId, () -> unregister(accountId, emitter));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        if (!runOn(accountId, () -> register(accountId, emitter, lastEventId))) {
+            throw new EventStreamUnavailableException(AppConstants.TOO_MANY_SUBSCRIBERS);
+        }
+        return emitter;
+    }
+
+    /**
+     * Delivers the logs to their accounts' subscribers once the surrounding transaction
+     * commits; immediately when there is none. Costs two map lookups per log when nobody
+     * is subscribed to either account.
+     */
+    public void publishAfterCommit(List<TransactionLog> logs) {
+        if (!properties.isEnabled() || channels.isEmpty()) {
+            return;
+        }
+        List<TransactionLog> watched = new ArrayList<>();
+        for (TransactionLog log : logs) {
+            if (watched(log.getFromAccountId()) || watched(log.getToAccountId())) {
+                watched.add(log);
+            }
+        }
+        if (watched.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(watched);
+                }
+            });
+        } else {
+            dispatch(watched);
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private boolean watched(String accountId) {
+        return accountId != null && channels.containsKey(accountId);
+    }
+
+    private void dispatch(List<TransactionLog> logs) {
+        Set<String> accountIds = new LinkedHashSet<>();
+        for (TransactionLog log : logs) {
+            if (watched(log.getFromAccountId())) {
+                accountIds.add(log.getFromAccountId());
+            }
+            if (watched(log.getToAccountId())) {
+                accountIds.add(log.getToAccountId());
+            }
+        }
+        for (String accountId : accountIds) {
+            if (!runOn(accountId, () -> deliver(accountId, logs))) {
+                dropped.increment();
+                needsResync.add(accountId);
+            }
+        }
+    }
+
+    private boolean runOn(String accountId, Runnable task) {
+        try {
+            dispatchers[(accountId.hashCode() & 0x7fffffff) % dispatchers.length].execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    // ---- Dispatcher-thread side: everything below touches a channel only from its owning thread
+
+    private void register(String accountId, SseEmitter emitter, String lastEventId) {
+        Channel channel = channels.computeIfAbsent(accountId, id -> new Channel(sequence.get()));
+        channel.emitters.add(emitter);
+        channel.subscribers = channel.emitters.size();
+
+        Long lastId = parseEventId(lastEventId);
+        if (lastEventId == null) {
+            sendSnapshot(accountId, channel, List.of(emitter));
+            return;
+        }
+        if (lastId == null || lastId > sequence.get() || lastId < channel.floor) {
+            resyncs.increment();
+            send(channel, List.of(emitter), frame(sequence.get(), RESYNC, Map.of("accountId", accountId)));
+            sendSnapshot(accountId, channel, List.of(emitter));
+            return;
+        }
+        for (Event event : channel.recent) {
+            if (event.id > lastId) {
+                send(channel, List.of(emitter), event.frame);
+            }
+        }
+    }
+
+    private void unregister(String accountId, SseEmitter emitter) {
+        Channel channel = channels.get(accountId);
+        if (channel != null) {
+            channel.emitters.remove(emitter);
+            channel.subscribers = channel.emitters.size();
+            channel.touch();
+        }
+    }
+
+    private void deliver(String accountId, List<TransactionLog> logs) {
+        Channel channel = channels.get(accountId);
+        if (channel == null) {
+            return;
+        }
+        resyncIfDropped(accountId, channel);
+
+        boolean moved = false;
+        for (TransactionLog log : logs) {
+            if (accountId.equals(log.getFromAccountId()) || accountId.equals(log.getToAccountId())) {
+                publish(channel, TRANSACTION, log);
+                moved |= log.getStatus() == TransactionStatus.SUCCESS;
+            }
+        }
+        if (moved) {
+            loadBalance(accountId).ifPresent(balance -> publish(channel, BALANCE, balance));
+        }
+    }
+
+    private void resyncIfDropped(String accountId, Channel channel) {
+        if (needsResync.remove(accountId)) {
+            resyncs.increment();
+            // Clients resuming from before this point cannot be served from the buffer any more
+            channel.floor = sequence.get();
+            channel.recent.clear();
+            publish(channel, RESYNC, Map.of("accountId", accountId));
+            sendSnapshot(accountId, channel, channel.emitters);
+        }
+    }
+
+    private void publish(Channel channel, String name, Object payload) {
+        long id = sequence.incrementAndGet();
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(id, name, payload);
+        if (frame == null) {
+            return;
+        }
+        published.increment();
+        channel.recent.addLast(new Event(id, frame));
+        while (channel.recent.size() > Math.max(1, properties.getReplaySize())) {
+            channel.floor = channel.recent.removeFirst().id;
+        }
+        send(channel, channel.emitters, frame);
+    }
+
+    private void sendSnapshot(String accountId, Channel channel, List<SseEmitter> targets) {
+        // Carries the latest id, so a resume from here replays only what follows
+        loadBalance(accountId).ifPresent(balance ->
+                send(channel, targets, frame(sequence.get(), BALANCE, balance)));
+    }
+
+    private void send(Channel channel, List<SseEmitter> targets, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (frame == null || targets.isEmpty()) {
+            return;
+        }
+        List<SseEmitter> failed = null;
+        for (SseEmitter emitter : targets) {
+            try {
+                emitter.send(frame);
+                delivered.increment();
+            } catch (Exception e) {
+                // Client went away; the container completes the emitter on its own
+                if (failed == null) {
+                    failed = new ArrayList<>();
+                }
+                failed.add(emitter);
+            }
+        }
+        if (failed != null) {
+            channel.emitters.removeAll(failed);
+            channel.subscribers = channel.emitters.size();
+            channel.touch();
+        }
+    }
+
+    private void heartbeat(int dispatcher) {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Channel>> it = channels.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Channel> entry = it.next();
+            String accountId = entry.getKey();
+            if ((accountId.hashCode() & 0x7fffffff) % dispatchers.length != dispatcher) {
+                continue;
+            }
+            Channel channel = entry.getValue();
+            resyncIfDropped(accountId, channel);
+            send(channel, new ArrayList<>(channel.emitters), SseEmitter.event().comment("keepalive").build());
+            if (channel.emitters.isEmpty() && now - channel.idleSince > properties.getRetentionMs()) {
+                it.remove();
+            }
+        }
+    }
+
+    private void scheduleHeartbeats() {
+        for (int i = 0; i < dispatchers.length; i++) {
+            int dispatcher = i;
+            try {
+                dispatchers[i].execute(() -> heartbeat(dispatcher));
+            } catch (RejectedExecutionException e) {
+                // Queue is full of deliveries, which keep the streams alive anyway
+            }
+        }
+    }
+
+    private Optional<BalanceUpdate> loadBalance(String accountId) {
+        return accountSnapshotCache.get(accountId, accountRepository::findById)
+                .map(shardedBalanceService::withAggregatedBalance)
+                .map(AccountEventHub::balanceOf);
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(long id, String name, Object payload) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            logger.error("Account event dropped | class={} | method=frame | event={} | reason={}",
+                    getClass().getSimpleName(), name, e.getMessage());
+            return null;
+        }
+    }
+
+    private static BalanceUpdate balanceOf(Account account) {
+        return new BalanceUpdate(account.getId(), account.getBalance(),
+                account.getStatus() == null ? null : account.getStatus().name(),
+                account.getVersion(), account.getLastUpdated());
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public Map<String, Long> snapshot() {
+        long subscribers = 0;
+        for (Channel channel : channels.values()) {
+            subscribers += channel.subscribers;
+        }
+        return Map.of(
+                "channels", (long) channels.size(),
+                "subscribers", subscribers,
+                "published", published.sum(),
+                "delivered", delivered.sum(),
+                "dropped", dropped.sum(),
+                "resyncs", resyncs.sum()
+        );
+    }
+
+    public long getPublished() { return published.sum(); }
+    public long getDelivered() { return delivered.sum(); }
+    public long getDropped() { return dropped.sum(); }
+    public long getResyncs() { return resyncs.sum(); }
+
+    private record Event(long id, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+    }
+
+    /**
+     * Subscribers and recent events of one account. Mutated only by the owning dispatcher;
+     * {@code subscribers} is published for the admission check on request threads.
+     */
+    private static final class Channel {
+        final List<SseEmitter> emitters = new ArrayList<>();
+        final ArrayDeque<Event> recent = new ArrayDeque<>();
+        // Events with an id up to this one may have been missed by a resuming client
+        long floor;
+        long idleSince = System.currentTimeMillis();
+        volatile int subscribers;
+
+        Channel(long floor) {
+            this.floor = floor;
+        }
+
+        void touch() {
+            idleSince = System.currentTimeMillis();
+        }
+    }
+}
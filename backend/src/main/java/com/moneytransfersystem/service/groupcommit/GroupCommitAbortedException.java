@@ -0,0 +1,11 @@
+package com.moneytransfersystem.service.groupcommit;
+
+/**
+ * The group holding a transfer could not commit; the transfer itself was not applied.
+ */
+class GroupCommitAbortedException extends RuntimeException {
+
+    GroupCommitAbortedException(Throwable cause) {
+        super(cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,249 @@
+package com.moneytransfersystem.service.groupcommit;
+
+import com.moneytransfersystem.config.GroupCommitProperties;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.service.TransferService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the transfers that arrive within a short window in one database transaction,
+ * so a group pays for a single commit. Each transfer runs under its own savepoint:
+ * a failing one is rolled back alone and its caller gets its own exception.
+ */
+@Component
+@Profile("!ledger")
+@ConditionalOnProperty(prefix = "transfer.group-commit", name = "enabled", havingValue = "true")
+public class GroupCommitCoordinator implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitCoordinator.class);
+
+    // Lower account id first, so concurrent writers always take row locks in the same order
+    static final Comparator<PendingTransfer> LOCK_ORDER = Comparator
+            .comparing((PendingTransfer p) -> lowerId(p.request()))
+            .thenComparing(p -> higherId(p.request()));
+
+    private final TransferService transferService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final GroupCommitProperties properties;
+    private final GroupCommitMetrics metrics;
+    private final BlockingQueue<PendingTransfer> queue;
+
+    private volatile boolean running = true;
+    private Thread thread;
+
+    public GroupCommitCoordinator(TransferService transferService,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  GroupCommitProperties properties,
+                                  GroupCommitMetrics metrics) {
+        this.transferService = transferService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.metrics = metrics;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+    }
+
+    @PostConstruct
+    public void start() {
+        Thread worker = new Thread(this, "group-commit");
+        worker.setDaemon(true);
+        this.thread = worker;
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Queues a transfer for the next group. The future completes after the group commits,
+     * or with a {@link GroupCommitAbortedException} when the group as a whole failed.
+     */
+    public CompletableFuture<TransactionLog> submit(TransferRequest request) {
+        PendingTransfer pending = new PendingTransfer(request, new CompletableFuture<>());
+        try {
+            if (!queue.offer(pending, properties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Group commit queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing transfer", e);
+        }
+        return pending.result();
+    }
+
+    @Override
+    public void run() {
+        List<PendingTransfer> group = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                group.clear();
+                if (collect(group)) {
+                    commit(group);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean collect(List<PendingTransfer> group) throws InterruptedException {
+        PendingTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        group.add(first);
+        int maxBatch = Math.max(1, properties.getMaxBatch());
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(properties.getWindowMicros());
+        while (group.size() < maxBatch) {
+            queue.drainTo(group, maxBatch - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxBatch || remaining <= 0) {
+                break;
+            }
+            PendingTransfer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+        return true;
+    }
+
+    void commit(List<PendingTransfer> group) {
+        group.sort(LOCK_ORDER);
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PendingTransfer pending : group) {
+                    applyUnderSavepoint(pending);
+                }
+            });
+        } catch (RuntimeException e) {
+            metrics.recordAborted();
+            logger.error("Group commit failed | class={} | method=commit | size={} | reason={}",
+                    getClass().getSimpleName(), group.size(), e.getMessage());
+            for (PendingTransfer pending : group) {
+                pending.result().completeExceptionally(new GroupCommitAbortedException(e));
+            }
+            return;
+        }
+        metrics.recordCommit(group.size(), System.nanoTime() - start);
+
+        for (PendingTransfer pending : group) {
+            if (pending.error != null) {
+                pending.result().completeExceptionally(pending.error);
+            } else {
+                pending.result().complete(pending.log);
+            }
+        }
+    }
+
+    private void applyUnderSavepoint(PendingTransfer pending) {
+        // JDBC savepoints on the transaction's connection; the JPA dialect does not offer them
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        List<TransactionSynchronization> registered = TransactionSynchronizationManager.isSynchronizationActive()
+                ? TransactionSynchronizationManager.getSynchronizations()
+                : List.of();
+        try {
+            pending.log = transferService.applyInCurrentTransaction(pending.request());
+            // Surface this transfer's write conflicts now, while its savepoint can still undo them
+            entityManager.flush();
+            session.doWork(connection -> connection.releaseSavepoint(savepoint));
+        } catch (RuntimeException e) {
+            session.doWork(connection -> connection.rollback(savepoint));
+            entityManager.clear();
+            discardSynchronizationsSince(registered);
+            pending.log = null;
+            pending.error = e;
+        }
+    }
+
+    /**
+     * Drops after-commit callbacks registered by a transfer that was rolled back to its savepoint.
+     * The dropped ones are completed as rolled back first, as the transaction would have done,
+     * so whatever they hold until completion is released; the account cache's write marks
+     * would otherwise keep those accounts uncached for good.
+     */
+    private static void discardSynchronizationsSince(List<TransactionSynchronization> registered) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.getSynchronizations().size() == registered.size()) {
+            return;
+        }
+        List<TransactionSynchronization> dropped = new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        dropped.removeAll(registered);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        registered.forEach(TransactionSynchronizationManager::registerSynchronization);
+        for (TransactionSynchronization synchronization : dropped) {
+            try {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            } catch (RuntimeException e) {
+                logger.warn("Discarded synchronization failed | class={} | method=discardSynchronizationsSince | reason={}",
+                        GroupCommitCoordinator.class.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private static String lowerId(TransferRequest request) {
+        String from = String.valueOf(request.getFromAccountId());
+        String to = String.valueOf(request.getToAccountId());
+        return from.compareTo(to) <= 0 ? from : to;
+    }
+
+    private static String higherId(TransferRequest request) {
+        String from = String.valueOf(request.getFromAccountId());
+        String to = String.valueOf(request.getToAccountId());
+        return from.compareTo(to) <= 0 ? to : from;
+    }
+
+    static final class PendingTransfer {
+        private final TransferRequest request;
+        private final CompletableFuture<TransactionLog> result;
+        private TransactionLog log;
+        private RuntimeException error;
+
+        PendingTransfer(TransferRequest request, CompletableFuture<TransactionLog> result) {
+            this.request = request;
+            this.result = result;
+        }
+
+        TransferRequest request() {
+            return request;
+        }
+
+        CompletableFuture<TransactionLog> result() {
+            return result;
+        }
+    }
+}
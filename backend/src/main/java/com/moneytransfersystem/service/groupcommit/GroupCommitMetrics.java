@@ -0,0 +1,102 @@
+package com.moneytransfersystem.service.groupcommit;
+
+import com.moneytransfersystem.config.GroupCommitProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Group sizes, commit latency and aborted groups for the group-commit coordinator.
+ */
+@Component
+public class GroupCommitMetrics {
+
+    // Upper bounds of the batch size buckets; the last bucket is open-ended
+    static final int[] BATCH_SIZE_BOUNDS = {1, 2, 4, 8, 16, 32, 64, 128, 256};
+
+    private final GroupCommitProperties properties;
+    private final AtomicLongArray batchSizeBuckets = new AtomicLongArray(BATCH_SIZE_BOUNDS.length + 1);
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder transfers = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+    private final LongAdder commitNanos = new LongAdder();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+
+    public GroupCommitMetrics(GroupCommitProperties properties) {
+        this.properties = properties;
+    }
+
+    public void recordCommit(int batchSize, long elapsedNanos) {
+        commits.increment();
+        transfers.add(batchSize);
+        commitNanos.add(elapsedNanos);
+        maxCommitNanos.accumulateAndGet(elapsedNanos, Math::max);
+        batchSizeBuckets.incrementAndGet(bucketFor(batchSize));
+    }
+
+    public void recordAborted() {
+        aborted.increment();
+    }
+
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    public long getTransfers() {
+        return transfers.sum();
+    }
+
+    public long getAborted() {
+        return aborted.sum();
+    }
+
+    public long getWindowMicros() {
+        return properties.getWindowMicros();
+    }
+
+    public long getCommitNanosTotal() {
+        return commitNanos.sum();
+    }
+
+    public long getMaxCommitNanos() {
+        return maxCommitNanos.get();
+    }
+
+    /**
+     * Group count per batch size bucket, keyed by the bucket's upper bound ("+Inf" for the last).
+     */
+    public Map<String, Long> batchSizeHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BATCH_SIZE_BOUNDS.length; i++) {
+            histogram.put(String.valueOf(BATCH_SIZE_BOUNDS[i]), batchSizeBuckets.get(i));
+        }
+        histogram.put("+Inf", batchSizeBuckets.get(BATCH_SIZE_BOUNDS.length));
+        return histogram;
+    }
+
+    public Map<String, Object> snapshot() {
+        long commitCount = commits.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("windowMicros", getWindowMicros());
+        snapshot.put("commits", commitCount);
+        snapshot.put("transfers", transfers.sum());
+        snapshot.put("aborted", aborted.sum());
+        snapshot.put("meanCommitMicros", commitCount == 0 ? 0 : commitNanos.sum() / commitCount / 1000);
+        snapshot.put("maxCommitMicros", maxCommitNanos.get() / 1000);
+        snapshot.put("batchSizeHistogram", batchSizeHistogram());
+        return snapshot;
+    }
+
+    static int bucketFor(int batchSize) {
+        for (int i = 0; i < BATCH_SIZE_BOUNDS.length; i++) {
+            if (batchSize <= BATCH_SIZE_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BATCH_SIZE_BOUNDS.length;
+    }
+}
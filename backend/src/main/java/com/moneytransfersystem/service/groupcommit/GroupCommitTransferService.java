@@ -0,0 +1,49 @@
+package com.moneytransfersystem.service.groupcommit;
+
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
+import com.moneytransfersystem.domain.exceptions.DuplicateTranferException;
+import com.moneytransfersystem.service.TransferExecutor;
+import com.moneytransfersystem.service.TransferService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Transfer entry point when group commit is enabled. Business outcomes are returned or
+ * thrown exactly as {@link TransferService} produces them; anything else (an aborted group,
+ * a write conflict) is retried alone through the regular transactional path.
+ */
+@Service
+@Primary
+@Profile("!ledger")
+@ConditionalOnProperty(prefix = "transfer.group-commit", name = "enabled", havingValue = "true")
+public class GroupCommitTransferService implements TransferExecutor {
+
+    private final GroupCommitCoordinator coordinator;
+    private final TransferService transferService;
+
+    public GroupCommitTransferService(GroupCommitCoordinator coordinator, TransferService transferService) {
+        this.coordinator = coordinator;
+        this.transferService = transferService;
+    }
+
+    @Override
+    public TransactionLog transfer(TransferRequest request) {
+        try {
+            return coordinator.submit(request).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DuplicateTranferException
+                    || cause instanceof AccountNotFoundException
+                    || cause instanceof IllegalArgumentException) {
+                throw (RuntimeException) cause;
+            }
+        }
+        return transferService.transfer(request);
+    }
+}
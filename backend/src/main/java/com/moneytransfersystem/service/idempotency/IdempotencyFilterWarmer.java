@@ -0,0 +1,62 @@
+package com.moneytransfersystem.service.idempotency;
+
+import com.moneytransfersystem.config.IdempotencyProperties;
+import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.repository.TransactionLogRepository.IdempotencyKeyView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Loads recent idempotency keys into {@link IdempotencyKeyFilter} once the application is up.
+ * Until it finishes the filter answers "maybe" for every key, so nothing is skipped early.
+ */
+@Component
+public class IdempotencyFilterWarmer {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilterWarmer.class);
+
+    private final IdempotencyKeyFilter filter;
+    private final TransactionLogRepository transactionLogRepository;
+    private final IdempotencyProperties properties;
+
+    public IdempotencyFilterWarmer(IdempotencyKeyFilter filter,
+                                   TransactionLogRepository transactionLogRepository,
+                                   IdempotencyProperties properties) {
+        this.filter = filter;
+        this.transactionLogRepository = transactionLogRepository;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            Instant since = Instant.now().minus(Duration.ofDays(properties.getWarmupDays()));
+            List<IdempotencyKeyView> keys = transactionLogRepository.findRecentIdempotencyKeys(
+                    since, PageRequest.of(0, properties.getWarmupMaxRows()));
+
+            // Oldest first, so the newest keys end up most recently used in the LRU
+            for (int i = keys.size() - 1; i >= 0; i--) {
+                filter.remember(keys.get(i).getIdempotencyKey(), keys.get(i).getId());
+            }
+            filter.markWarm();
+
+            logger.info("Idempotency filter warmed | keys={} | sinceDays={} | tookMs={}",
+                    keys.size(), properties.getWarmupDays(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (Exception e) {
+            // Stay cold: every key keeps going to the database
+            logger.warn("Idempotency filter warm-up failed, falling back to database lookups | reason={}", e.getMessage());
+        }
+    }
+}
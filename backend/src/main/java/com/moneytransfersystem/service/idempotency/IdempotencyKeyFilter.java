@@ -0,0 +1,166 @@
+package com.moneytransfersystem.service.idempotency;
+
+import com.moneytransfersystem.config.IdempotencyProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Node-local pre-filter in front of the idempotency-key lookup.
+ * <p>
+ * A bounded LRU answers "seen recently, here is the transaction id" without the
+ * database. A two-generation Bloom filter answers "definitely never seen here",
+ * in which case the caller skips the SELECT and lets the unique constraint on
+ * transaction_logs.idempotency_key reject the rare duplicate the filter cannot
+ * know about (another node, or a key older than the warm-up window).
+ * Only committed keys are remembered.
+ */
+@Component
+public class IdempotencyKeyFilter {
+
+    private final IdempotencyProperties properties;
+    private final AtomicReference<Generations> generations;
+    private final Map<String, String> recent;
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private volatile boolean warm;
+
+    private final LongAdder lruHits = new LongAdder();
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder constraintViolations = new LongAdder();
+
+    public IdempotencyKeyFilter(IdempotencyProperties properties) {
+        this.properties = properties;
+        this.generations = new AtomicReference<>(new Generations(newBloom(), null));
+        int capacity = Math.max(1, properties.getLruSize());
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Transaction id of a recently committed transfer with this key, if this node saw it.
+     */
+    public Optional<String> knownTransactionId(String key) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        String transactionId;
+        recentLock.lock();
+        try {
+            transactionId = recent.get(key);
+        } finally {
+            recentLock.unlock();
+        }
+        if (transactionId != null) {
+            lruHits.increment();
+        }
+        return Optional.ofNullable(transactionId);
+    }
+
+    /**
+     * False only when the key was definitely not committed through this node within the window.
+     * Always true while disabled or still warming up, so callers fall back to the database.
+     */
+    public boolean mightContain(String key) {
+        if (!properties.isEnabled() || !warm) {
+            probes.increment();
+            return true;
+        }
+        Generations g = generations.get();
+        boolean maybe = g.current.mightContain(key) || (g.previous != null && g.previous.mightContain(key));
+        if (maybe) {
+            probes.increment();
+        } else {
+            definiteMisses.increment();
+        }
+        return maybe;
+    }
+
+    public void recordFalsePositive() {
+        if (properties.isEnabled() && warm) {
+            falsePositives.increment();
+        }
+    }
+
+    public void recordConstraintViolation() {
+        constraintViolations.increment();
+    }
+
+    public void remember(String key, String transactionId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Generations g = generations.get();
+        if (g.current.insertions() >= properties.getExpectedKeys()) {
+            Generations rotated = new Generations(newBloom(), g.current);
+            g = generations.compareAndSet(g, rotated) ? rotated : generations.get();
+        }
+        g.current.put(key);
+
+        recentLock.lock();
+        try {
+            recent.put(key, transactionId);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    /**
+     * Remembers the key once the surrounding transaction commits; immediately when there is none.
+     */
+    public void rememberAfterCommit(String key, String transactionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(key, transactionId);
+                }
+            });
+        } else {
+            remember(key, transactionId);
+        }
+    }
+
+    public void markWarm() {
+        this.warm = true;
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public Map<String, Long> snapshot() {
+        return Map.of(
+                "lruHits", lruHits.sum(),
+                "definiteMisses", definiteMisses.sum(),
+                "probes", probes.sum(),
+                "falsePositives", falsePositives.sum(),
+                "constraintViolations", constraintViolations.sum()
+        );
+    }
+
+    public long getLruHits() { return lruHits.sum(); }
+    public long getDefiniteMisses() { return definiteMisses.sum(); }
+    public long getProbes() { return probes.sum(); }
+    public long getFalsePositives() { return falsePositives.sum(); }
+    public long getConstraintViolations() { return constraintViolations.sum(); }
+
+    private BloomFilter newBloom() {
+        return new BloomFilter(properties.getExpectedKeys(), properties.getFalsePositiveRate());
+    }
+
+    private record Generations(BloomFilter current, BloomFilter previous) {
+    }
+}
@@ -0,0 +1,336 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.repository.AccountDailyAggregateWriter;
+import com.moneytransfersystem.repository.AccountPostingWriter;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.TransactionLogBatchWriter;
+import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.ShardedBalanceService;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Writes journaled, already-acknowledged decisions to accounts and transaction_logs.
+ * Batches are applied in hand-off order; applying is idempotent on transaction id,
+ * so a crash between the database commit and the checkpoint only causes a re-check.
+ * <p>
+ * Both legs go through the same guarded updates as the JPA path, so the database never
+ * goes negative or moves money on a closed account even when a decision was made on a
+ * balance another writer had already changed. Such an entry is recorded as FAILED, and an
+ * entry whose idempotency key is already taken is skipped; either way the partitions drop
+ * the accounts' cached state.
+ */
+final class JournalDrainer implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(JournalDrainer.class);
+
+    private final AccountRepository accountRepository;
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransactionLogBatchWriter batchWriter;
+    private final AccountPostingWriter postingWriter;
+    private final AccountDailyAggregateWriter dailyAggregateWriter;
+    private final AccountEventHub accountEventHub;
+    private final ShardedBalanceService shardedBalanceService;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final TransactionTemplate transactionTemplate;
+    private final UndrainedEntries undrained;
+    private final Consumer<String> evictor;
+    private final int batchSize;
+    private final long retryBackoffMs;
+
+    private final LinkedBlockingQueue<DrainBatch> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock handOffLock = new ReentrantLock();
+    private final ReentrantLock drainedLock = new ReentrantLock();
+    private final Condition drainedAdvanced = drainedLock.newCondition();
+    private volatile long drainedSequence;
+    private volatile boolean running = true;
+    private Thread thread;
+
+    JournalDrainer(AccountRepository accountRepository,
+                   TransactionLogRepository transactionLogRepository,
+                   TransactionLogBatchWriter batchWriter,
+                   AccountPostingWriter postingWriter,
+                   AccountDailyAggregateWriter dailyAggregateWriter,
+                   AccountEventHub accountEventHub,
+                   ShardedBalanceService shardedBalanceService,
+                   AccountSnapshotCache accountSnapshotCache,
+                   TransactionTemplate transactionTemplate,
+                   UndrainedEntries undrained,
+                   Consumer<String> evictor,
+                   int batchSize,
+                   long retryBackoffMs) {
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.batchWriter = batchWriter;
+        this.postingWriter = postingWriter;
+        this.dailyAggregateWriter = dailyAggregateWriter;
+        this.accountEventHub = accountEventHub;
+        this.shardedBalanceService = shardedBalanceService;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.transactionTemplate = transactionTemplate;
+        this.undrained = undrained;
+        this.evictor = evictor;
+        this.batchSize = Math.max(1, batchSize);
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    void start() {
+        Thread worker = new Thread(this, "ledger-journal-drainer");
+        worker.setDaemon(true);
+        this.thread = worker;
+        worker.start();
+    }
+
+    void stop(long timeoutMs) throws InterruptedException {
+        // No interrupt: it would close the journal's file channels mid-write
+        running = false;
+        if (thread != null) {
+            thread.join(timeoutMs);
+        }
+    }
+
+    /**
+     * Hands durable entries to the drainer. The commit sequence is taken under the same
+     * lock as the enqueue, so queue order and sequence order agree.
+     */
+    long handOff(TransferJournal journal, List<TransferJournal.JournalEntry> entries, LedgerEngine engine) {
+        handOffLock.lock();
+        try {
+            long sequence = engine.nextCommitSequence();
+            queue.add(new DrainBatch(journal, entries, sequence));
+            return sequence;
+        } finally {
+            handOffLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every batch handed off with a sequence up to {@code sequence} is in the database.
+     */
+    boolean awaitDrained(long sequence, long timeoutMs) throws InterruptedException {
+        if (drainedSequence >= sequence) {
+            return true;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        drainedLock.lock();
+        try {
+            while (drainedSequence < sequence) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = drainedAdvanced.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            drainedLock.unlock();
+        }
+    }
+
+    int backlog() {
+        return queue.size();
+    }
+
+    @Override
+    public void run() {
+        List<DrainBatch> batches = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                DrainBatch first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batches.clear();
+                batches.add(first);
+                int entries = first.entries().size();
+                DrainBatch next;
+                while (entries < batchSize && (next = queue.poll()) != null) {
+                    batches.add(next);
+                    entries += next.entries().size();
+                }
+                drainWithRetry(batches);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void drainWithRetry(List<DrainBatch> batches) throws InterruptedException {
+        List<TransferJournal.JournalEntry> entries = new ArrayList<>();
+        for (DrainBatch batch : batches) {
+            entries.addAll(batch.entries());
+        }
+        while (true) {
+            try {
+                apply(entries);
+                break;
+            } catch (RuntimeException e) {
+                // Entries are already acknowledged; they can only be retried, never dropped
+                logger.error("Journal drain failed | class={} | method=drainWithRetry | entries={} | reason={}",
+                        getClass().getSimpleName(), entries.size(), e.getMessage());
+                Thread.sleep(retryBackoffMs);
+            }
+        }
+
+        Map<TransferJournal, Long> checkpoints = new HashMap<>();
+        for (DrainBatch batch : batches) {
+            for (TransferJournal.JournalEntry entry : batch.entries()) {
+                checkpoints.merge(batch.journal(), entry.sequence(), Math::max);
+            }
+        }
+        checkpoints.forEach(TransferJournal::release);
+        for (TransferJournal.JournalEntry entry : entries) {
+            undrained.drained(entry.log());
+        }
+
+        drainedLock.lock();
+        try {
+            drainedSequence = batches.get(batches.size() - 1).commitSequence();
+            drainedAdvanced.signalAll();
+        } finally {
+            drainedLock.unlock();
+        }
+    }
+
+    /**
+     * Applies entries in one transaction, skipping those whose transaction log already exists
+     * and those whose idempotency key belongs to another transaction.
+     */
+    void apply(List<TransferJournal.JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> ids = new ArrayList<>(entries.size());
+            for (TransferJournal.JournalEntry entry : entries) {
+                ids.add(entry.log().getId());
+            }
+            Set<String> applied = new HashSet<>();
+            transactionLogRepository.findAllById(ids).forEach(log -> applied.add(log.getId()));
+
+            List<String> keys = new ArrayList<>(entries.size());
+            for (TransferJournal.JournalEntry entry : entries) {
+                if (!applied.contains(entry.log().getId()) && entry.log().getIdempotencyKey() != null) {
+                    keys.add(entry.log().getIdempotencyKey());
+                }
+            }
+            Set<String> takenKeys = keys.isEmpty()
+                    ? new HashSet<>()
+                    : new HashSet<>(transactionLogRepository.findExistingIdempotencyKeys(keys));
+
+            Instant now = Instant.now();
+            List<TransactionLog> logs = new ArrayList<>(entries.size());
+            for (TransferJournal.JournalEntry entry : entries) {
+                TransactionLog log = entry.log();
+                if (!applied.add(log.getId())) {
+                    continue;
+                }
+                if (log.getIdempotencyKey() != null && !takenKeys.add(log.getIdempotencyKey())) {
+                    // The unique key would fail the whole batch on every retry; the first transaction stands
+                    logger.error("Journaled transfer skipped | class={} | method=apply | txId={} | idempotencyKey={} | reason=DUPLICATE_TRANSACTION",
+                            getClass().getSimpleName(), log.getId(), log.getIdempotencyKey());
+                    evict(log);
+                    continue;
+                }
+                if (log.getStatus() == TransactionStatus.SUCCESS) {
+                    // The ledger already holds these balances; only other caches need dropping
+                    accountSnapshotCache.invalidateAfterCommit(List.of(log.getFromAccountId(), log.getToAccountId()), false);
+                    String failureReason = applyLegs(log, now);
+                    if (failureReason != null) {
+                        logger.error("Journaled transfer failed | class={} | method=apply | txId={} | fromAccountId={} | toAccountId={} | reason={}",
+                                getClass().getSimpleName(), log.getId(), log.getFromAccountId(), log.getToAccountId(), failureReason);
+                        log = failed(log, failureReason);
+                        evict(log);
+                    }
+                }
+                logs.add(log);
+            }
+            batchWriter.insertAll(logs, batchSize);
+            postingWriter.insertFor(logs, batchSize);
+            dailyAggregateWriter.applyFor(logs, batchSize);
+            accountEventHub.publishAfterCommit(logs);
+        });
+    }
+
+    /**
+     * Debits then credits with the guarded updates. Returns null when both legs applied, otherwise
+     * the failure reason, with nothing left changed.
+     */
+    private String applyLegs(TransactionLog log, Instant now) {
+        String from = log.getFromAccountId();
+        String to = log.getToAccountId();
+        BigDecimal amount = log.getAmount();
+
+        if (accountRepository.guardedDebit(from, amount, now) == 0) {
+            Optional<AccountStatus> status = accountRepository.findStatusById(from);
+            if (status.isEmpty()) {
+                return AppConstants.SENDER_ACCOUNT_NOT_FOUND;
+            }
+            if (status.get() != AccountStatus.ACTIVE) {
+                return AppConstants.ACCOUNT_NOT_ACTIVE;
+            }
+            return accountRepository.findShardCountById(from).isPresent()
+                    ? AppConstants.ACCOUNT_ALREADY_SHARDED
+                    : AppConstants.INSUFFICIENT_BALANCE;
+        }
+
+        if (accountRepository.guardedCredit(to, amount, now) == 0) {
+            Optional<AccountStatus> status = accountRepository.findStatusById(to);
+            Optional<Integer> shards = accountRepository.findShardCountById(to);
+            if (status.isPresent() && status.get() == AccountStatus.ACTIVE && shards.isPresent()) {
+                shardedBalanceService.credit(to, shards.get(), amount);
+                return null;
+            }
+            accountRepository.revertDebit(from, amount, now);
+            return status.isEmpty() ? AppConstants.RECEIVER_ACCOUNT_NOT_FOUND : AppConstants.ACCOUNT_NOT_ACTIVE;
+        }
+        return null;
+    }
+
+    // Same FAILED log the JPA path records
+    private static TransactionLog failed(TransactionLog log, String failureReason) {
+        return TransactionLog.builder()
+                .id(log.getId())
+                .fromAccountId(log.getFromAccountId())
+                .toAccountId(log.getToAccountId())
+                .amount(log.getAmount())
+                .status(TransactionStatus.FAILED)
+                .failureReason(failureReason)
+                .createdOn(log.getCreatedOn())
+                .idempotencyKey(log.getIdempotencyKey())
+                .remarks(log.getRemarks() != null && !log.getRemarks().isEmpty()
+                        ? log.getRemarks() + " | Error: " + failureReason
+                        : "Error: " + failureReason)
+                .build();
+    }
+
+    // The sender's cached debit and the receiver's routed credit did not happen
+    private void evict(TransactionLog log) {
+        evictor.accept(log.getFromAccountId());
+        evictor.accept(log.getToAccountId());
+    }
+
+    private record DrainBatch(TransferJournal journal, List<TransferJournal.JournalEntry> entries, long commitSequence) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Messages processed by a ledger partition, in ring order.
+ */
+sealed interface LedgerCommand {
+
+    /** A transfer whose sender is owned by the receiving partition. */
+    record Transfer(TransferRequest request, CompletableFuture<TransactionLog> result) implements LedgerCommand {
+    }
+
+    /** A credit already committed to the database by another partition's batch. */
+    record Credit(String accountId, BigDecimal amount, long commitSequence) implements LedgerCommand {
+    }
+
+    /** Drops the cached state so the next use reloads it from the database. */
+    record Evict(String accountId) implements LedgerCommand {
+    }
+}
@@ -0,0 +1,305 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.config.LedgerProperties;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.repository.AccountDailyAggregateWriter;
+import com.moneytransfersystem.repository.AccountPostingWriter;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.TransactionLogBatchWriter;
+import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.ShardedBalanceService;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import com.moneytransfersystem.service.idempotency.IdempotencyKeyFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory ledger partitioned by account id. Each partition has one writer thread
+ * and its own ring buffer, so balance decisions need no locks. A transfer runs on
+ * the sender's partition; the committed credit is then sent to the receiver's.
+ * With {@code ledger.journal.enabled} decisions are acknowledged from a local
+ * write-ahead journal and drained to the database in the background.
+ */
+@Component
+@Profile("ledger")
+public class LedgerEngine {
+    private static final Logger logger = LoggerFactory.getLogger(LedgerEngine.class);
+
+    private final AccountRepository accountRepository;
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransactionLogBatchWriter batchWriter;
+    private final AccountPostingWriter postingWriter;
+    private final AccountDailyAggregateWriter dailyAggregateWriter;
+    private final AccountEventHub accountEventHub;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
+    private final ShardedBalanceService shardedBalanceService;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerProperties ledgerProperties;
+    private final AtomicLong commitSequence = new AtomicLong();
+    // Journal mode: what is acknowledged but not yet drained, and short-lived receiver status lookups
+    private final UndrainedEntries undrained = new UndrainedEntries();
+    private final Map<String, ReceiverStatus> receiverStatuses = new ConcurrentHashMap<>();
+    // Deposits, withdrawals, closes, JPA and batch transfers and sharding all write through AccountSnapshotCache
+    private final AccountSnapshotCache.WriteListener writeListener = new OutsideWriteFence();
+    private LedgerPartition[] partitions;
+    private JournalDrainer drainer;
+
+    public LedgerEngine(AccountRepository accountRepository,
+                        TransactionLogRepository transactionLogRepository,
+                        TransactionLogBatchWriter batchWriter,
+                        AccountPostingWriter postingWriter,
+                        AccountDailyAggregateWriter dailyAggregateWriter,
+                        AccountEventHub accountEventHub,
+                        IdempotencyKeyFilter idempotencyKeyFilter,
+                        ShardedBalanceService shardedBalanceService,
+                        AccountSnapshotCache accountSnapshotCache,
+                        PlatformTransactionManager transactionManager,
+                        LedgerProperties ledgerProperties) {
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.batchWriter = batchWriter;
+        this.postingWriter = postingWriter;
+        this.dailyAggregateWriter = dailyAggregateWriter;
+        this.accountEventHub = accountEventHub;
+        this.idempotencyKeyFilter = idempotencyKeyFilter;
+        this.shardedBalanceService = shardedBalanceService;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ledgerProperties = ledgerProperties;
+    }
+
+    @PostConstruct
+    public void start() {
+        int count = Math.max(1, ledgerProperties.getPartitions());
+        LedgerProperties.Journal journalProperties = ledgerProperties.getJournal();
+        TransferJournal[] journals = new TransferJournal[count];
+        if (journalProperties.isEnabled()) {
+            drainer = new JournalDrainer(accountRepository, transactionLogRepository, batchWriter,
+                    postingWriter, dailyAggregateWriter, accountEventHub, shardedBalanceService, accountSnapshotCache, transactionTemplate, undrained,
+                    this::evict, journalProperties.getDrainBatchSize(), journalProperties.getDrainRetryBackoffMs());
+            for (int i = 0; i < count; i++) {
+                journals[i] = new TransferJournal(Path.of(journalProperties.getDirectory(), "p" + i),
+                        journalProperties.getSegmentSizeBytes());
+                recover(journals[i]);
+            }
+            drainer.start();
+        }
+
+        partitions = new LedgerPartition[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new LedgerPartition(i, this, ledgerProperties, journals[i], drainer);
+            partitions[i].start();
+        }
+        accountSnapshotCache.addWriteListener(writeListener);
+        logger.info("Ledger engine started | class={} | method=start | partitions={} | ringSize={} | journal={}",
+                getClass().getSimpleName(), count, ledgerProperties.getRingSize(), journalProperties.isEnabled());
+    }
+
+    /**
+     * Crash recovery: entries journaled but not yet drained are written to the database
+     * before any partition accepts work. Replay is idempotent on transaction id.
+     * The old segments are deleted even when nothing was pending: a clean shutdown
+     * leaves its drained active segment behind.
+     */
+    private void recover(TransferJournal journal) {
+        List<TransferJournal.JournalEntry> entries = journal.recover();
+        int batchSize = Math.max(1, ledgerProperties.getJournal().getDrainBatchSize());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            drainer.apply(entries.subList(from, Math.min(entries.size(), from + batchSize)));
+        }
+        journal.discardRecovered(journal.lastSequence());
+        if (!entries.isEmpty()) {
+            logger.info("Journal replayed | class={} | method=recover | entries={}", getClass().getSimpleName(), entries.size());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        accountSnapshotCache.removeWriteListener(writeListener);
+        for (LedgerPartition partition : partitions) {
+            partition.stop(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (drainer != null) {
+            drainer.stop(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Queues a transfer on the sender's partition. The future completes once the
+     * batch holding it is committed, or with a {@link LedgerFallbackException}.
+     */
+    public CompletableFuture<TransactionLog> submit(TransferRequest request) {
+        CompletableFuture<TransactionLog> result = new CompletableFuture<>();
+        LedgerCommand command = new LedgerCommand.Transfer(request, result);
+        if (!offerWithin(partitionFor(request.getFromAccountId()), command, ledgerProperties.getOfferTimeoutMs())) {
+            throw new IllegalStateException("Ledger partition is full");
+        }
+        return result;
+    }
+
+    /**
+     * Drops the cached balance and receiver status of an account written outside the engine.
+     */
+    public void evict(String accountId) {
+        if (accountId == null || partitions == null) {
+            return;
+        }
+        receiverStatuses.remove(accountId);
+        LedgerPartition partition = partitionFor(accountId);
+        if (!partition.offer(new LedgerCommand.Evict(accountId))) {
+            partition.markStale(accountId);
+        }
+    }
+
+    void routeCredit(String accountId, BigDecimal amount, long sequence) {
+        // Partitions never block on each other; when the ring is full the cached state is dropped instead,
+        // so the next decision reloads the balance, credit included, rather than rejecting against a low one
+        LedgerPartition partition = partitionFor(accountId);
+        if (!partition.offer(new LedgerCommand.Credit(accountId, amount, sequence))) {
+            partition.markStale(accountId);
+            logger.warn("Ledger credit deferred to reload | class={} | method=routeCredit | accountId={}",
+                    getClass().getSimpleName(), accountId);
+        }
+    }
+
+    private boolean offerWithin(LedgerPartition partition, LedgerCommand command, long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (!partition.offer(command)) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    /**
+     * Claims an idempotency key until its entry is drained; false when it is already taken.
+     */
+    boolean reserveKey(String idempotencyKey) {
+        return idempotencyKeyFilter.knownTransactionId(idempotencyKey).isEmpty() && undrained.reserveKey(idempotencyKey);
+    }
+
+    void releaseKey(String idempotencyKey) {
+        undrained.releaseKey(idempotencyKey);
+    }
+
+    UndrainedEntries undrained() {
+        return undrained;
+    }
+
+    /**
+     * Receiver status for journal-mode decisions, cached for the state TTL. Null when the account does not exist.
+     */
+    AccountStatus receiverStatus(String accountId) {
+        long now = System.nanoTime();
+        ReceiverStatus cached = receiverStatuses.get(accountId);
+        if (cached != null && now - cached.loadedAtNanos() < TimeUnit.MILLISECONDS.toNanos(ledgerProperties.getStateTtlMs())) {
+            return cached.status();
+        }
+        AccountStatus status = accountRepository.findStatusById(accountId).orElse(null);
+        if (status == null) {
+            receiverStatuses.remove(accountId);
+        } else {
+            receiverStatuses.put(accountId, new ReceiverStatus(status, now));
+        }
+        return status;
+    }
+
+    int drainBacklog() {
+        return drainer == null ? 0 : drainer.backlog();
+    }
+
+    LedgerPartition partitionFor(String accountId) {
+        return partitions[Math.floorMod(accountId.hashCode(), partitions.length)];
+    }
+
+    long nextCommitSequence() {
+        return commitSequence.incrementAndGet();
+    }
+
+    long currentCommitSequence() {
+        return commitSequence.get();
+    }
+
+    AccountRepository accountRepository() {
+        return accountRepository;
+    }
+
+    TransactionLogRepository transactionLogRepository() {
+        return transactionLogRepository;
+    }
+
+    TransactionLogBatchWriter batchWriter() {
+        return batchWriter;
+    }
+
+    AccountPostingWriter postingWriter() {
+        return postingWriter;
+    }
+
+    AccountDailyAggregateWriter dailyAggregateWriter() {
+        return dailyAggregateWriter;
+    }
+
+    AccountEventHub accountEventHub() {
+        return accountEventHub;
+    }
+
+    IdempotencyKeyFilter idempotencyKeyFilter() {
+        return idempotencyKeyFilter;
+    }
+
+    AccountSnapshotCache accountSnapshotCache() {
+        return accountSnapshotCache;
+    }
+
+    TransactionTemplate transactionTemplate() {
+        return transactionTemplate;
+    }
+
+    private record ReceiverStatus(AccountStatus status, long loadedAtNanos) {
+    }
+
+    /**
+     * Holds writes made outside the engine until the accounts have nothing left to drain,
+     * and keeps partitions off the accounts until the write completes. The cached state is
+     * marked stale rather than evicted by command, so it is dropped before any later decision.
+     */
+    private class OutsideWriteFence implements AccountSnapshotCache.WriteListener {
+
+        @Override
+        public void beforeWrite(Collection<String> accountIds) {
+            undrained.fence(accountIds, ledgerProperties.getJournal().getOutsideWriteTimeoutMs());
+        }
+
+        @Override
+        public void afterCompletion(Collection<String> accountIds, boolean committed) {
+            for (String accountId : accountIds) {
+                receiverStatuses.remove(accountId);
+                partitionFor(accountId).markStale(accountId);
+            }
+            undrained.unfence(accountIds);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.moneytransfersystem.service.ledger;
+
+/**
+ * Signals that the engine did not decide a transfer and the caller should run it
+ * through the JPA path, which produces the authoritative outcome and response.
+ */
+class LedgerFallbackException extends RuntimeException {
+
+    LedgerFallbackException(String reason) {
+        super(reason, null, false, false);
+    }
+}
@@ -0,0 +1,541 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.config.LedgerProperties;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.enums.JournalFsyncPolicy;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.domain.exceptions.DuplicateTranferException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single writer for the accounts hashed to it. Drains its ring in batches and decides
+ * transfers against cached sender balances. Without a journal the batch is persisted in
+ * one transaction before the callers' futures complete; with a journal the decisions are
+ * acknowledged once fsynced and the {@link JournalDrainer} writes them to the database.
+ */
+final class LedgerPartition implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(LedgerPartition.class);
+
+    private final int index;
+    private final LedgerEngine engine;
+    private final RingBuffer<LedgerCommand> ring;
+    private final int maxBatch;
+    private final long idleParkNanos;
+    private final long stateTtlNanos;
+    // Touched only by this partition's thread
+    private final Map<String, AccountState> accounts = new HashMap<>();
+    // Accounts whose cached state must be dropped before the next batch; fed by other threads when the ring is full
+    private final Set<String> staleAccounts = ConcurrentHashMap.newKeySet();
+
+    private final TransferJournal journal;
+    private final JournalDrainer drainer;
+    private final JournalFsyncPolicy fsyncPolicy;
+    private final long groupWindowNanos;
+    private final int groupMaxPending;
+    private final long drainWaitTimeoutMs;
+    private final List<Journaled> pending = new ArrayList<>();
+    private long firstPendingNanos;
+
+    private volatile boolean running = true;
+    private volatile Thread thread;
+
+    LedgerPartition(int index, LedgerEngine engine, LedgerProperties properties,
+                    TransferJournal journal, JournalDrainer drainer) {
+        this.index = index;
+        this.engine = engine;
+        this.ring = new RingBuffer<>(properties.getRingSize());
+        this.maxBatch = Math.max(1, properties.getMaxBatch());
+        this.idleParkNanos = TimeUnit.MICROSECONDS.toNanos(properties.getIdleParkMicros());
+        this.stateTtlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getStateTtlMs());
+        this.journal = journal;
+        this.drainer = drainer;
+        LedgerProperties.Journal journalProperties = properties.getJournal();
+        this.fsyncPolicy = journalProperties.getFsyncPolicy();
+        this.groupWindowNanos = TimeUnit.MICROSECONDS.toNanos(journalProperties.getGroupWindowMicros());
+        this.groupMaxPending = journalProperties.getGroupMaxPending();
+        this.drainWaitTimeoutMs = journalProperties.getDrainWaitTimeoutMs();
+    }
+
+    void start() {
+        Thread worker = new Thread(this, "ledger-partition-" + index);
+        worker.setDaemon(true);
+        this.thread = worker;
+        worker.start();
+    }
+
+    void stop(long timeoutMs) throws InterruptedException {
+        running = false;
+        Thread worker = thread;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            worker.join(timeoutMs);
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    boolean offer(LedgerCommand command) {
+        if (!ring.offer(command)) {
+            return false;
+        }
+        Thread worker = thread;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    /**
+     * Drops the account's cached state before the next batch is decided. Never blocks and never fails,
+     * unlike {@link #offer}, so a credit or eviction that finds the ring full is not lost.
+     */
+    void markStale(String accountId) {
+        staleAccounts.add(accountId);
+        Thread worker = thread;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    @Override
+    public void run() {
+        List<LedgerCommand> batch = new ArrayList<>(maxBatch);
+        while (running || !ring.isEmpty() || !pending.isEmpty()) {
+            batch.clear();
+            if (ring.drainTo(batch, maxBatch) == 0) {
+                if (!pending.isEmpty()) {
+                    syncPending();
+                } else {
+                    LockSupport.parkNanos(idleParkNanos);
+                }
+                continue;
+            }
+            try {
+                process(batch);
+            } catch (RuntimeException e) {
+                logger.error("Ledger batch failed | class={} | method=run | partition={} | reason={}",
+                        getClass().getSimpleName(), index, e.getMessage(), e);
+                accounts.clear();
+                for (LedgerCommand command : batch) {
+                    if (command instanceof LedgerCommand.Transfer transfer) {
+                        // With a journal the database may lag, so the JPA path is not a safe fallback
+                        transfer.result().completeExceptionally(journal != null
+                                ? new IllegalStateException("Ledger batch failed", e)
+                                : new LedgerFallbackException("batch failed"));
+                    }
+                }
+            }
+            if (journal != null && shouldSync()) {
+                syncPending();
+            }
+        }
+    }
+
+    private void dropStale() {
+        if (staleAccounts.isEmpty()) {
+            return;
+        }
+        Iterator<String> stale = staleAccounts.iterator();
+        while (stale.hasNext()) {
+            accounts.remove(stale.next());
+            stale.remove();
+        }
+    }
+
+    private void process(List<LedgerCommand> batch) {
+        // Marked before their commands were offered, so anything this batch decides sees the drop
+        dropStale();
+        List<Decision> accepted = new ArrayList<>();
+        if (journal != null) {
+            reserveKeys(batch);
+        }
+        for (LedgerCommand command : batch) {
+            if (command instanceof LedgerCommand.Transfer transfer) {
+                if (journal != null) {
+                    if (!transfer.result().isDone()) {
+                        decideJournaled(transfer);
+                    }
+                } else {
+                    decide(transfer, accepted);
+                }
+            } else if (command instanceof LedgerCommand.Credit credit) {
+                AccountState state = accounts.get(credit.accountId());
+                // Credits committed before the state was loaded are already in its balance
+                if (state != null && credit.commitSequence() > state.loadedAtSequence) {
+                    state.balance = state.balance.add(credit.amount());
+                }
+            } else if (command instanceof LedgerCommand.Evict evict) {
+                accounts.remove(evict.accountId());
+            }
+        }
+        if (!accepted.isEmpty()) {
+            persist(accepted);
+        }
+    }
+
+    private void decide(LedgerCommand.Transfer transfer, List<Decision> accepted) {
+        TransferRequest request = transfer.request();
+        BigDecimal amount = request.getAmount();
+        AccountState sender = stateFor(request.getFromAccountId());
+
+        // Anything short of a clean debit is left to the JPA path for its exact outcome
+        if (sender == null || !sender.active || sender.sharded
+                || !isValidAmount(amount)
+                || request.getFromAccountId().equals(request.getToAccountId())
+                || sender.balance.compareTo(amount) < 0) {
+            transfer.result().completeExceptionally(new LedgerFallbackException("not decidable in memory"));
+            return;
+        }
+        sender.balance = sender.balance.subtract(amount);
+        accepted.add(new Decision(transfer, request.getFromAccountId()));
+    }
+
+    /**
+     * Journal mode: claims the idempotency key of every valid transfer in the batch, then looks
+     * the claimed keys up in the database. Looking up after claiming matters: the drainer only
+     * releases a key once its log is committed, so a key it released is always found.
+     * Transfers left incomplete hold their key until drained or released.
+     */
+    private void reserveKeys(List<LedgerCommand> batch) {
+        List<LedgerCommand.Transfer> reserved = new ArrayList<>();
+        for (LedgerCommand command : batch) {
+            if (!(command instanceof LedgerCommand.Transfer transfer)) {
+                continue;
+            }
+            TransferRequest request = transfer.request();
+            if (!isValidAmount(request.getAmount()) || request.getFromAccountId().equals(request.getToAccountId())) {
+                transfer.result().completeExceptionally(new LedgerFallbackException("invalid request"));
+            } else if (!engine.reserveKey(request.getIdempotencyKey())) {
+                rejectDuplicate(transfer);
+            } else {
+                reserved.add(transfer);
+            }
+        }
+        if (reserved.isEmpty()) {
+            return;
+        }
+
+        Set<String> knownKeys;
+        try {
+            knownKeys = knownKeys(reserved);
+        } catch (RuntimeException e) {
+            reserved.forEach(transfer -> engine.releaseKey(transfer.request().getIdempotencyKey()));
+            throw e;
+        }
+        for (LedgerCommand.Transfer transfer : reserved) {
+            if (knownKeys.contains(transfer.request().getIdempotencyKey())) {
+                engine.releaseKey(transfer.request().getIdempotencyKey());
+                rejectDuplicate(transfer);
+            }
+        }
+    }
+
+    private void rejectDuplicate(LedgerCommand.Transfer transfer) {
+        logger.error("Transfer rejected | class={} | method=reserveKeys | idempotencyKey={} | reason=DUPLICATE_TRANSACTION",
+                getClass().getSimpleName(), transfer.request().getIdempotencyKey());
+        transfer.result().completeExceptionally(new DuplicateTranferException(AppConstants.DUPLICATE_TRANSACTION));
+    }
+
+    /**
+     * Journal mode: the cached balance is authoritative, so every outcome that changes a
+     * balance or writes a log is decided here. Only the read-only rejections of the JPA
+     * path (unknown accounts, inactive or sharded sender, invalid input) fall back to it.
+     * The idempotency key is already reserved by {@link #reserveKeys}; the accounts are
+     * counted as undrained before anything is read, and counted out again unless the
+     * outcome is a journaled success.
+     */
+    private void decideJournaled(LedgerCommand.Transfer transfer) {
+        TransferRequest request = transfer.request();
+        BigDecimal amount = request.getAmount();
+        String from = request.getFromAccountId();
+        String to = request.getToAccountId();
+
+        if (!engine.undrained().enter(from, to)) {
+            // A write outside the engine is in progress; the JPA path waits for it
+            engine.releaseKey(request.getIdempotencyKey());
+            transfer.result().completeExceptionally(new LedgerFallbackException("account written outside the ledger"));
+            return;
+        }
+        // Marked by a write that completed after this batch started
+        if (staleAccounts.remove(from)) {
+            accounts.remove(from);
+        }
+
+        AccountState sender;
+        AccountStatus receiverStatus;
+        try {
+            sender = stateFor(from);
+            receiverStatus = engine.receiverStatus(to);
+        } catch (RuntimeException e) {
+            release(request);
+            transfer.result().completeExceptionally(e);
+            return;
+        }
+        if (sender == null || !sender.active || sender.sharded || receiverStatus == null) {
+            release(request);
+            transfer.result().completeExceptionally(new LedgerFallbackException("not decidable in memory"));
+            return;
+        }
+        if (sender.balance.compareTo(amount) < 0) {
+            release(request);
+            logger.error("Transfer failed | class={} | method=decideJournaled | fromAccountId={} | reason=INSUFFICIENT_BALANCE",
+                    getClass().getSimpleName(), from);
+            transfer.result().completeExceptionally(new IllegalArgumentException(AppConstants.INSUFFICIENT_BALANCE));
+            return;
+        }
+
+        TransactionLog.TransactionLogBuilder log = TransactionLog.builder()
+                .id(UUID.randomUUID().toString())
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(amount)
+                .createdOn(Instant.now())
+                .idempotencyKey(request.getIdempotencyKey());
+        if (receiverStatus == AccountStatus.ACTIVE) {
+            sender.balance = sender.balance.subtract(amount);
+            log.status(TransactionStatus.SUCCESS).remarks(request.getRemarks());
+        } else {
+            // Same FAILED log the JPA path records for an inactive receiver; it changes no balance
+            engine.undrained().exit(from, to);
+            String failureReason = AppConstants.ACCOUNT_NOT_ACTIVE;
+            log.status(TransactionStatus.FAILED)
+                    .failureReason(failureReason)
+                    .remarks(request.getRemarks() != null && !request.getRemarks().isEmpty()
+                            ? request.getRemarks() + " | Error: " + failureReason
+                            : "Error: " + failureReason);
+        }
+
+        TransactionLog entry = log.build();
+        long sequence = journal.append(entry);
+        if (pending.isEmpty()) {
+            firstPendingNanos = System.nanoTime();
+        }
+        pending.add(new Journaled(transfer, new TransferJournal.JournalEntry(sequence, entry)));
+    }
+
+    private void release(TransferRequest request) {
+        engine.undrained().exit(request.getFromAccountId(), request.getToAccountId());
+        engine.releaseKey(request.getIdempotencyKey());
+    }
+
+    private boolean shouldSync() {
+        if (pending.isEmpty()) {
+            return false;
+        }
+        return fsyncPolicy == JournalFsyncPolicy.EVERY_BATCH
+                || ring.isEmpty()
+                || pending.size() >= groupMaxPending
+                || System.nanoTime() - firstPendingNanos >= groupWindowNanos;
+    }
+
+    /**
+     * One fsync for everything appended since the last one, then acknowledge it all.
+     */
+    private void syncPending() {
+        List<Journaled> group = new ArrayList<>(pending);
+        pending.clear();
+        long commitSequence;
+        try {
+            journal.sync();
+            List<TransferJournal.JournalEntry> entries = new ArrayList<>(group.size());
+            for (Journaled journaled : group) {
+                entries.add(journaled.entry);
+            }
+            commitSequence = drainer.handOff(journal, entries, engine);
+        } catch (RuntimeException e) {
+            // The outcome is unknown: the records may still be replayed on restart
+            logger.error("Journal sync failed | class={} | method=syncPending | partition={} | size={} | reason={}",
+                    getClass().getSimpleName(), index, group.size(), e.getMessage());
+            accounts.clear();
+            for (Journaled journaled : group) {
+                TransactionLog log = journaled.entry.log();
+                // Never handed to the drainer; a replay on restart rechecks the balances
+                if (log.getStatus() == TransactionStatus.SUCCESS) {
+                    engine.undrained().exit(log.getFromAccountId(), log.getToAccountId());
+                }
+                journaled.transfer.result().completeExceptionally(new IllegalStateException("Ledger journal unavailable", e));
+            }
+            return;
+        }
+
+        for (Journaled journaled : group) {
+            TransactionLog log = journaled.entry.log();
+            engine.idempotencyKeyFilter().remember(log.getIdempotencyKey(), log.getId());
+            if (log.getStatus() == TransactionStatus.SUCCESS) {
+                engine.routeCredit(log.getToAccountId(), log.getAmount(), commitSequence);
+            }
+            journaled.transfer.result().complete(log);
+        }
+    }
+
+    private Set<String> knownKeys(List<LedgerCommand.Transfer> transfers) {
+        List<String> keys = new ArrayList<>(transfers.size());
+        for (LedgerCommand.Transfer transfer : transfers) {
+            keys.add(transfer.request().getIdempotencyKey());
+        }
+        return new HashSet<>(engine.transactionLogRepository().findExistingIdempotencyKeys(keys));
+    }
+
+    private void persist(List<Decision> decisions) {
+        long commitSequence;
+        try {
+            commitSequence = engine.transactionTemplate().execute(status -> writeBatch(decisions));
+        } catch (RuntimeException e) {
+            logger.error("Ledger persist failed | class={} | method=persist | partition={} | size={} | reason={}",
+                    getClass().getSimpleName(), index, decisions.size(), e.getMessage());
+            for (Decision decision : decisions) {
+                accounts.remove(decision.senderId);
+                decision.transfer.result().completeExceptionally(new LedgerFallbackException("persist failed"));
+            }
+            return;
+        }
+
+        for (Decision decision : decisions) {
+            TransferRequest request = decision.transfer.request();
+            if (decision.log == null) {
+                accounts.remove(decision.senderId);
+                decision.transfer.result().completeExceptionally(new LedgerFallbackException("rejected by guard"));
+                continue;
+            }
+            engine.idempotencyKeyFilter().remember(request.getIdempotencyKey(), decision.log.getId());
+            engine.routeCredit(request.getToAccountId(), request.getAmount(), commitSequence);
+            decision.transfer.result().complete(decision.log);
+        }
+    }
+
+    private long writeBatch(List<Decision> decisions) {
+        List<String> keys = new ArrayList<>(decisions.size());
+        for (Decision decision : decisions) {
+            keys.add(decision.transfer.request().getIdempotencyKey());
+        }
+        Set<String> existing = new HashSet<>(engine.transactionLogRepository().findExistingIdempotencyKeys(keys));
+        Set<String> seen = new HashSet<>();
+        List<TransactionLog> logs = new ArrayList<>(decisions.size());
+        Instant now = Instant.now();
+
+        for (Decision decision : decisions) {
+            decision.log = null;
+            TransferRequest request = decision.transfer.request();
+            if (existing.contains(request.getIdempotencyKey()) || !seen.add(request.getIdempotencyKey())) {
+                continue;
+            }
+            // The ledger already holds these balances; only other caches need dropping
+            engine.accountSnapshotCache().invalidateAfterCommit(
+                    List.of(request.getFromAccountId(), request.getToAccountId()), false);
+            // The database stays the final arbiter; cached balances only pre-filter
+            if (engine.accountRepository().guardedDebit(request.getFromAccountId(), request.getAmount(), now) == 0) {
+                continue;
+            }
+            if (engine.accountRepository().guardedCredit(request.getToAccountId(), request.getAmount(), now) == 0) {
+                engine.accountRepository().revertDebit(request.getFromAccountId(), request.getAmount(), now);
+                continue;
+            }
+            decision.log = TransactionLog.builder()
+                    .id(UUID.randomUUID().toString())
+                    .fromAccountId(request.getFromAccountId())
+                    .toAccountId(request.getToAccountId())
+                    .amount(request.getAmount())
+                    .status(TransactionStatus.SUCCESS)
+                    .createdOn(now)
+                    .idempotencyKey(request.getIdempotencyKey())
+                    .remarks(request.getRemarks())
+                    .build();
+            logs.add(decision.log);
+        }
+        engine.batchWriter().insertAll(logs, maxBatch);
+        engine.postingWriter().insertFor(logs, maxBatch);
+        engine.dailyAggregateWriter().applyFor(logs, maxBatch);
+        engine.accountEventHub().publishAfterCommit(logs);
+        // Taken before commit: a state loaded after this may or may not see the credits, so it can only under-count
+        return engine.nextCommitSequence();
+    }
+
+    private AccountState stateFor(String accountId) {
+        AccountState state = accounts.get(accountId);
+        if (state != null && System.nanoTime() - state.loadedAtNanos < stateTtlNanos) {
+            return state;
+        }
+        if (journal != null) {
+            // The database must hold every acknowledged decision before it can be the source of a balance
+            if (!pending.isEmpty()) {
+                syncPending();
+            }
+            awaitDrained(engine.currentCommitSequence());
+        }
+        long sequence = engine.currentCommitSequence();
+        Account account = engine.accountRepository().findById(accountId).orElse(null);
+        if (account == null) {
+            accounts.remove(accountId);
+            return null;
+        }
+        state = new AccountState(account.getBalance(), account.getStatus() == AccountStatus.ACTIVE,
+                account.isSharded(), sequence, System.nanoTime());
+        accounts.put(accountId, state);
+        return state;
+    }
+
+    private void awaitDrained(long sequence) {
+        try {
+            if (!drainer.awaitDrained(sequence, drainWaitTimeoutMs)) {
+                throw new IllegalStateException("Ledger journal drain is behind");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the journal drain", e);
+        }
+    }
+
+    private static boolean isValidAmount(BigDecimal amount) {
+        return amount != null && amount.signum() > 0;
+    }
+
+    private static final class AccountState {
+        BigDecimal balance;
+        final boolean active;
+        final boolean sharded;
+        final long loadedAtSequence;
+        final long loadedAtNanos;
+
+        AccountState(BigDecimal balance, boolean active, boolean sharded, long loadedAtSequence, long loadedAtNanos) {
+            this.balance = balance;
+            this.active = active;
+            this.sharded = sharded;
+            this.loadedAtSequence = loadedAtSequence;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    private static final class Decision {
+        final LedgerCommand.Transfer transfer;
+        final String senderId;
+        TransactionLog log;
+
+        Decision(LedgerCommand.Transfer transfer, String senderId) {
+            this.transfer = transfer;
+            this.senderId = senderId;
+        }
+    }
+
+    private record Journaled(LedgerCommand.Transfer transfer, TransferJournal.JournalEntry entry) {
+    }
+}
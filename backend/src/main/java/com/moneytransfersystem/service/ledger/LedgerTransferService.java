@@ -0,0 +1,48 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.service.TransferExecutor;
+import com.moneytransfersystem.service.TransferService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Transfer entry point for the "ledger" profile. Clean debits are decided by the
+ * {@link LedgerEngine}; everything else runs through {@link TransferService}, so
+ * callers see the same responses and exceptions as the JPA path.
+ */
+@Service
+@Primary
+@Profile("ledger")
+public class LedgerTransferService implements TransferExecutor {
+
+    private final LedgerEngine ledgerEngine;
+    private final TransferService transferService;
+
+    public LedgerTransferService(LedgerEngine ledgerEngine, TransferService transferService) {
+        this.ledgerEngine = ledgerEngine;
+        this.transferService = transferService;
+    }
+
+    @Override
+    public TransactionLog transfer(TransferRequest request) {
+        try {
+            return ledgerEngine.submit(request).join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof LedgerFallbackException)) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+        try {
+            return transferService.transfer(request);
+        } finally {
+            // The JPA path wrote these rows directly; drop the cached copies
+            ledgerEngine.evict(request.getFromAccountId());
+            ledgerEngine.evict(request.getToAccountId());
+        }
+    }
+}
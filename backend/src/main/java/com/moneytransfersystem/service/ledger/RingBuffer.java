@@ -0,0 +1,75 @@
+package com.moneytransfersystem.service.ledger;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer with pre-allocated slots.
+ * Producers claim a sequence with CAS and publish it per slot; the single
+ * consumer drains published slots in sequence order. No locks on either side.
+ */
+final class RingBuffer<E> {
+
+    private final Object[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    RingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new Object[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            long sequence = claimed.get();
+            if (sequence - consumed.get() >= slots.length) {
+                return false;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                int index = (int) (sequence & mask);
+                slots[index] = element;
+                published.set(index, sequence);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Consumer thread only. Moves up to {@code max} published elements into {@code sink}.
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<E> sink, int max) {
+        long next = consumed.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                break;
+            }
+            sink.add((E) slots[index]);
+            slots[index] = null;
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumed.lazySet(next);
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return consumed.get() == claimed.get();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
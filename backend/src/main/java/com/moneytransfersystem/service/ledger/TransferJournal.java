@@ -0,0 +1,314 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of one ledger partition, split into memory-mapped segment files.
+ * Each record is {@code [length][crc32c][payload]}; a zero length or a checksum mismatch
+ * marks the end of the readable log, so a torn tail after a crash is simply ignored.
+ * Appends and syncs happen on the partition thread; {@link #release} runs on the drainer.
+ */
+final class TransferJournal implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TransferJournal.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Deque<Segment> closedSegments = new ConcurrentLinkedDeque<>();
+    private Segment active;
+    private long nextSequence;
+    private int syncedPosition;
+
+    TransferJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Reads every intact record after the checkpoint. Must be called once before the first append.
+     */
+    List<JournalEntry> recover() {
+        List<JournalEntry> entries = new ArrayList<>();
+        long checkpoint = readCheckpoint();
+        long lastSequence = checkpoint;
+        try {
+            Files.createDirectories(directory);
+            for (Path file : segmentFiles()) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    JournalEntry entry;
+                    while ((entry = readNext(buffer)) != null) {
+                        lastSequence = Math.max(lastSequence, entry.sequence());
+                        if (entry.sequence() > checkpoint) {
+                            entries.add(entry);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        nextSequence = lastSequence + 1;
+        logger.info("Journal recovered | class={} | method=recover | directory={} | checkpoint={} | pending={}",
+                getClass().getSimpleName(), directory, checkpoint, entries.size());
+        return entries;
+    }
+
+    /**
+     * Writes the record into the mapped segment without forcing it. Returns the assigned sequence.
+     */
+    long append(TransactionLog log) {
+        byte[] payload = encode(nextSequence, log);
+        int recordSize = HEADER_BYTES + payload.length;
+        if (recordSize + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Journal record larger than segment");
+        }
+        if (active == null || active.buffer.remaining() < recordSize + Integer.BYTES) {
+            roll();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        active.buffer.putInt(payload.length);
+        active.buffer.putInt((int) crc.getValue());
+        active.buffer.put(payload);
+        active.lastSequence = nextSequence;
+        return nextSequence++;
+    }
+
+    /**
+     * Forces everything appended since the last sync to the storage device.
+     */
+    void sync() {
+        if (active == null) {
+            return;
+        }
+        int position = active.buffer.position();
+        if (position > syncedPosition) {
+            active.buffer.force(syncedPosition, position - syncedPosition);
+            syncedPosition = position;
+        }
+    }
+
+    /**
+     * Records that every entry up to {@code sequence} is in the database and deletes
+     * the segments that hold nothing newer.
+     */
+    void release(long sequence) {
+        writeCheckpoint(sequence);
+        Segment oldest;
+        while ((oldest = closedSegments.peekFirst()) != null && oldest.lastSequence <= sequence) {
+            closedSegments.pollFirst();
+            try {
+                oldest.channel.close();
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException e) {
+                logger.warn("Journal segment not deleted | class={} | method=release | path={} | reason={}",
+                        getClass().getSimpleName(), oldest.path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sequence of the last record appended or recovered, 0 for an empty journal.
+     */
+    long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Deletes every segment once recovery has written their entries to the database.
+     */
+    void discardRecovered(long sequence) {
+        writeCheckpoint(sequence);
+        try {
+            for (Path file : segmentFiles()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            sync();
+            if (active != null) {
+                active.channel.close();
+            }
+            for (Segment segment : closedSegments) {
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void roll() {
+        try {
+            if (active != null) {
+                sync();
+                closedSegments.addLast(active);
+            }
+            Path path = directory.resolve(String.format("%020d%s", nextSequence, SEGMENT_SUFFIX));
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            active = new Segment(path, channel, buffer);
+            syncedPosition = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+    }
+
+    private long readCheckpoint() {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        try {
+            return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0L;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCheckpoint(long sequence) {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII)));
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JournalEntry readNext(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int length = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining() - Integer.BYTES) {
+            return null;
+        }
+        int expectedCrc = buffer.getInt();
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+        return decode(ByteBuffer.wrap(payload));
+    }
+
+    static byte[] encode(long sequence, TransactionLog log) {
+        byte[][] fields = {
+                bytes(log.getId()), bytes(log.getFromAccountId()), bytes(log.getToAccountId()),
+                bytes(log.getAmount().toPlainString()), bytes(log.getIdempotencyKey()),
+                bytes(log.getRemarks()), bytes(log.getFailureReason())
+        };
+        int size = Long.BYTES + Long.BYTES + Integer.BYTES + 1;
+        for (byte[] field : fields) {
+            size += Integer.BYTES + (field == null ? 0 : field.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(sequence);
+        buffer.putLong(log.getCreatedOn().getEpochSecond());
+        buffer.putInt(log.getCreatedOn().getNano());
+        buffer.put((byte) log.getStatus().ordinal());
+        for (byte[] field : fields) {
+            buffer.putInt(field == null ? -1 : field.length);
+            if (field != null) {
+                buffer.put(field);
+            }
+        }
+        return buffer.array();
+    }
+
+    static JournalEntry decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        Instant createdOn = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        TransactionStatus status = TransactionStatus.values()[buffer.get()];
+        TransactionLog log = TransactionLog.builder()
+                .id(string(buffer))
+                .fromAccountId(string(buffer))
+                .toAccountId(string(buffer))
+                .amount(new BigDecimal(string(buffer)))
+                .idempotencyKey(string(buffer))
+                .remarks(string(buffer))
+                .failureReason(string(buffer))
+                .status(status)
+                .createdOn(createdOn)
+                .build();
+        return new JournalEntry(sequence, log);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    record JournalEntry(long sequence, TransactionLog log) {
+    }
+
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        volatile long lastSequence;
+
+        Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Journal mode bookkeeping of what is acknowledged but not yet in the database: the
+ * idempotency keys, and per account the number of successful entries still to drain.
+ * <p>
+ * Writers outside the engine fence the accounts they are about to write. A fence waits
+ * until the accounts have nothing left to drain and keeps partitions from deciding new
+ * transfers on them until the write completes, so the drainer never finds a balance or
+ * status other than the one an acknowledged transfer was decided against.
+ * A partition counts an account in before it checks the fences and a writer fences it
+ * before it checks the count, so at least one of the two always sees the other.
+ */
+final class UndrainedEntries {
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Integer> fences = new ConcurrentHashMap<>();
+
+    /**
+     * Claims an idempotency key until its entry is drained; false when it is already claimed.
+     */
+    boolean reserveKey(String idempotencyKey) {
+        return keys.add(idempotencyKey);
+    }
+
+    void releaseKey(String idempotencyKey) {
+        keys.remove(idempotencyKey);
+    }
+
+    /**
+     * Counts a transfer in on both accounts, unless either is fenced.
+     */
+    boolean enter(String fromAccountId, String toAccountId) {
+        increment(fromAccountId);
+        increment(toAccountId);
+        if (fences.containsKey(fromAccountId) || fences.containsKey(toAccountId)) {
+            exit(fromAccountId, toAccountId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Counts out a transfer that was not journaled as a success, or has been drained.
+     */
+    void exit(String fromAccountId, String toAccountId) {
+        decrement(fromAccountId);
+        decrement(toAccountId);
+    }
+
+    void drained(TransactionLog log) {
+        keys.remove(log.getIdempotencyKey());
+        if (log.getStatus() == TransactionStatus.SUCCESS) {
+            exit(log.getFromAccountId(), log.getToAccountId());
+        }
+    }
+
+    /**
+     * Fences the accounts and waits until none has entries left to drain. Throws an
+     * optimistic-lock failure, with the fences lifted, when that takes longer than the timeout.
+     */
+    void fence(Collection<String> accountIds, long timeoutMs) {
+        accountIds.forEach(id -> fences.merge(id, 1, Integer::sum));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (String accountId : accountIds) {
+            while (accounts.containsKey(accountId)) {
+                if (System.nanoTime() - deadline >= 0) {
+                    unfence(accountIds);
+                    throw new ObjectOptimisticLockingFailureException(Account.class, accountId);
+                }
+                LockSupport.parkNanos(POLL_NANOS);
+            }
+        }
+    }
+
+    void unfence(Collection<String> accountIds) {
+        accountIds.forEach(id -> fences.computeIfPresent(id, (key, count) -> count == 1 ? null : count - 1));
+    }
+
+    private void increment(String accountId) {
+        accounts.merge(accountId, 1, Integer::sum);
+    }
+
+    private void decrement(String accountId) {
+        accounts.computeIfPresent(accountId, (key, count) -> count == 1 ? null : count - 1);
+    }
+}
@@ -0,0 +1,145 @@
+package com.moneytransfersystem.service.metrics;
+
+import com.moneytransfersystem.constants.AppConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the transfer pipeline, scraped from {@code /actuator/prometheus}.
+ * <p>
+ * Every meter is resolved once, up front or on the first failure of a given kind, so the
+ * hot path only reads {@link System#nanoTime()} and records into an existing timer; nothing
+ * is looked up in the registry and no tags are built per transfer. Outcome reasons are
+ * the names of the AppConstants failure messages, and OTHER for any other message, so
+ * the series count stays bounded.
+ */
+@Component
+public class TransferMetrics {
+
+    public enum Phase {
+        IDEMPOTENCY, LOAD, APPLY, SAVE, LOG;
+
+        final String tag = name().toLowerCase();
+    }
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String FAILED = "FAILED";
+    public static final String REJECTED = "REJECTED";
+    public static final String CONFLICT = "CONFLICT";
+
+    static final String OTHER_REASON = "OTHER";
+
+    private static final Map<String, String> REASONS = Map.ofEntries(
+            Map.entry(AppConstants.INSUFFICIENT_BALANCE, "INSUFFICIENT_BALANCE"),
+            Map.entry(AppConstants.ACCOUNT_NOT_ACTIVE, "ACCOUNT_NOT_ACTIVE"),
+            Map.entry(AppConstants.SENDER_ACCOUNT_NOT_FOUND, "SENDER_ACCOUNT_NOT_FOUND"),
+            Map.entry(AppConstants.RECEIVER_ACCOUNT_NOT_FOUND, "RECEIVER_ACCOUNT_NOT_FOUND"),
+            Map.entry(AppConstants.DUPLICATE_TRANSACTION, "DUPLICATE_TRANSACTION"),
+            Map.entry(AppConstants.SAME_ACCOUNT_TRANSFER, "SAME_ACCOUNT_TRANSFER"),
+            Map.entry(AppConstants.INVALID_DEBIT_AMOUNT, "INVALID_DEBIT_AMOUNT"),
+            Map.entry(AppConstants.INVALID_CREDIT_AMOUNT, "INVALID_CREDIT_AMOUNT"),
+            Map.entry(AppConstants.ACCOUNT_ALREADY_SHARDED, "ACCOUNT_ALREADY_SHARDED"),
+            Map.entry(AppConstants.CONCURRENT_UPDATE, "CONCURRENT_UPDATE"));
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(100));
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry registry;
+    private final Timer transferTimer;
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Counter succeeded;
+    // "status:reason" -> counter, filled on the first outcome of each kind
+    private final Map<String, Counter> outcomes = new ConcurrentHashMap<>();
+    private final Counter conflicts;
+    private final Counter retriesExhausted;
+
+    public TransferMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.transferTimer = histogramTimer(Timer.builder("transfer.duration")
+                .description("End-to-end time of one transfer inside its transaction"));
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, histogramTimer(Timer.builder("transfer.phase")
+                    .description("Time spent in one phase of a transfer")
+                    .tag("phase", phase.tag)));
+        }
+        this.succeeded = outcome(SUCCESS, "none");
+        this.conflicts = Counter.builder("transfer.optimistic_lock.conflicts")
+                .description("Transfer attempts that lost an optimistic-lock race")
+                .register(registry);
+        this.retriesExhausted = Counter.builder("transfer.optimistic_lock.exhausted")
+                .description("Transfers that gave up after the last retry")
+                .register(registry);
+    }
+
+    private Timer histogramTimer(Timer.Builder builder) {
+        return builder.publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry);
+    }
+
+    /**
+     * Records the time since {@code startNanos} against the phase and returns the current
+     * time, so consecutive phases can be chained off one mark.
+     */
+    public long recordPhase(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseTimers.get(phase).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void recordSuccess(long startNanos) {
+        transferTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        succeeded.increment();
+    }
+
+    /**
+     * Records a transfer that ended with {@code status}; {@code failureReason} is the message
+     * the failure carries, as stored in the failed log.
+     */
+    public void recordOutcome(long startNanos, String status, String failureReason) {
+        transferTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        String reason = reasonTag(failureReason);
+        outcomes.computeIfAbsent(status + ':' + reason, key -> outcome(status, reason)).increment();
+    }
+
+    static String reasonTag(String failureReason) {
+        if (failureReason == null) {
+            return OTHER_REASON;
+        }
+        String reason = REASONS.get(failureReason);
+        if (reason != null) {
+            return reason;
+        }
+        if (!failureReason.startsWith(AppConstants.ACCOUNT_NOT_FOUND)) {
+            return OTHER_REASON;
+        }
+        // AccountNotFoundException prefixes "Account not found: " to the sender/receiver code or an account id
+        String detail = failureReason.substring(AppConstants.ACCOUNT_NOT_FOUND.length()).replaceFirst("^: ", "");
+        return REASONS.getOrDefault(detail, "ACCOUNT_NOT_FOUND");
+    }
+
+    public void recordConflict() {
+        conflicts.increment();
+    }
+
+    public void recordRetriesExhausted() {
+        retriesExhausted.increment();
+    }
+
+    private Counter outcome(String status, String reason) {
+        return Counter.builder("transfer.outcomes")
+                .description("Finished transfers by status and failure reason")
+                .tag("status", status)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,119 @@
+package com.moneytransfersystem.service.routing;
+
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decides which read-only transactions may read from the replica.
+ * <p>
+ * Only transactions that opt in are routed there: many standalone repository reads feed
+ * write decisions and must see the primary. An opted-in read about an account written on
+ * this node within {@code maxLagMs} stays on the primary, so a client reads its own
+ * transfer right after making it. Writes are reported by {@code AccountSnapshotCache},
+ * which every writer already tells about the accounts it touches.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+    private static final int PRUNE_EVERY = 1024;
+
+    private final ReadReplicaProperties properties;
+    // Account id -> System.nanoTime() until which its reads stay on the primary
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private final AtomicInteger recordsSincePrune = new AtomicInteger();
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+
+    public ReplicaLagGuard(ReadReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * True while the current thread is in a transaction that was let onto the replica.
+     */
+    public static boolean isReplicaRead() {
+        return Boolean.TRUE.equals(REPLICA_READ.get());
+    }
+
+    /**
+     * Lets the current read-only transaction read from the replica, unless the account (when
+     * given) was written too recently. Must be called before the transaction's first query,
+     * which is when its connection is chosen; ignored outside read-only transactions.
+     */
+    public void useReplica(String accountId) {
+        if (!properties.isEnabled()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || isReplicaRead()) {
+            return;
+        }
+        if (accountId != null && writtenRecently(accountId)) {
+            primaryFallbacks.increment();
+            return;
+        }
+        replicaReads.increment();
+        REPLICA_READ.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                REPLICA_READ.remove();
+            }
+        });
+    }
+
+    /**
+     * Runs the query in a read-only transaction routed as {@link #useReplica} decides.
+     * Inside a read-write transaction it simply joins it, on the primary.
+     */
+    @Transactional(readOnly = true)
+    public <T> T readFromReplica(String accountId, Supplier<T> query) {
+        useReplica(accountId);
+        return query.get();
+    }
+
+    /**
+     * Called once the writes to these accounts have committed.
+     */
+    public void recordWrites(Collection<String> accountIds) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long until = System.nanoTime() + properties.getMaxLagMs() * 1_000_000L;
+        for (String accountId : accountIds) {
+            recentWrites.put(accountId, until);
+        }
+        if (recordsSincePrune.addAndGet(accountIds.size()) >= PRUNE_EVERY) {
+            recordsSincePrune.set(0);
+            long now = System.nanoTime();
+            recentWrites.values().removeIf(expiry -> expiry - now < 0);
+        }
+    }
+
+    private boolean writtenRecently(String accountId) {
+        Long until = recentWrites.get(accountId);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    public Map<String, Long> snapshot() {
+        return Map.of(
+                "replicaReads", replicaReads.sum(),
+                "primaryFallbacks", primaryFallbacks.sum(),
+                "trackedAccounts", (long) recentWrites.size()
+        );
+    }
+
+    public long getReplicaReads() { return replicaReads.sum(); }
+    public long getPrimaryFallbacks() { return primaryFallbacks.sum(); }
+}
@@ -0,0 +1,203 @@
+package com.moneytransfersystem.service.snapshot;
+
+import com.moneytransfersystem.config.BalanceSnapshotProperties;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.dtos.BalanceAsOf;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.AccountBalanceSnapshot;
+import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
+import com.moneytransfersystem.repository.AccountBalanceSnapshotRepository;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.BalanceSnapshotWriter;
+import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.ShardedBalanceService;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Point-in-time balances. A background thread checkpoints every changed account once per
+ * interval, one short transaction per chunk of accounts; a lookup starts from the nearest
+ * checkpoint and replays only the transfers logged between it and the requested time.
+ */
+@Service
+public class BalanceSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    // Far enough ahead to cover any transfer already logged; a valid SQL timestamp
+    private static final Instant LATEST = Instant.parse("9999-12-31T23:59:59Z");
+
+    private final BalanceSnapshotProperties properties;
+    private final BalanceSnapshotWriter snapshotWriter;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionLogRepository transactionLogRepository;
+    private final ShardedBalanceService shardedBalanceService;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final TransactionTemplate chunkTransaction;
+    private ScheduledExecutorService scheduler;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder snapshotChunks = new LongAdder();
+    private final LongAdder failedRuns = new LongAdder();
+
+    public BalanceSnapshotService(BalanceSnapshotProperties properties,
+                                  BalanceSnapshotWriter snapshotWriter,
+                                  AccountBalanceSnapshotRepository snapshotRepository,
+                                  AccountRepository accountRepository,
+                                  TransactionLogRepository transactionLogRepository,
+                                  ShardedBalanceService shardedBalanceService,
+                                  ReplicaLagGuard replicaLagGuard,
+                                  PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.snapshotWriter = snapshotWriter;
+        this.snapshotRepository = snapshotRepository;
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.shardedBalanceService = shardedBalanceService;
+        this.replicaLagGuard = replicaLagGuard;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        // Balances and the transfers backed out of them must come from one consistent read
+        this.chunkTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, properties.getIntervalMs());
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Balance of the account at the given time (now when null): the nearest checkpoint at or
+     * before it plus the transfers logged since. Before the first checkpoint, the earliest
+     * later one (or the live balance) is walked back instead. Initial balances are not logged,
+     * so times before the account was opened report its opening balance.
+     */
+    @Transactional(readOnly = true)
+    public BalanceAsOf getBalanceAsOf(String accountId, Instant asOf) {
+        Instant at = asOf == null ? Instant.now() : asOf;
+        if (at.isAfter(Instant.now())) {
+            throw new IllegalArgumentException(AppConstants.INVALID_AS_OF);
+        }
+        replicaLagGuard.useReplica(accountId);
+
+        Optional<AccountBalanceSnapshot> before =
+                snapshotRepository.findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc(accountId, at);
+        if (before.isPresent()) {
+            AccountBalanceSnapshot snapshot = before.get();
+            BigDecimal balance = snapshot.getBalance().add(netBetween(accountId, snapshot.getTakenAt(), at));
+            return new BalanceAsOf(accountId, at, balance, snapshot.getTakenAt());
+        }
+
+        Optional<AccountBalanceSnapshot> after =
+                snapshotRepository.findFirstByAccountIdAndTakenAtGreaterThanOrderByTakenAtAsc(accountId, at);
+        if (after.isPresent()) {
+            AccountBalanceSnapshot snapshot = after.get();
+            BigDecimal balance = snapshot.getBalance().subtract(netBetween(accountId, at, snapshot.getTakenAt()));
+            return new BalanceAsOf(accountId, at, balance, snapshot.getTakenAt());
+        }
+
+        // Not checkpointed yet, so younger than one interval: walk back from the live balance
+        Account account = accountRepository.findById(accountId)
+                .map(shardedBalanceService::withAggregatedBalance)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        BigDecimal balance = account.getBalance().subtract(netBetween(accountId, at, LATEST));
+        return new BalanceAsOf(accountId, at, balance, null);
+    }
+
+    private BigDecimal netBetween(String accountId, Instant from, Instant to) {
+        return transactionLogRepository.sumReceivedBetween(accountId, from, to)
+                .subtract(transactionLogRepository.sumSentBetween(accountId, from, to));
+    }
+
+    /**
+     * One checkpoint of every account changed since the previous one. Each chunk commits on
+     * its own, so a failed run leaves valid snapshots behind and lookups just replay further.
+     */
+    public void takeSnapshot() {
+        Instant takenAt = Instant.now().minusMillis(properties.getSettleMs());
+        // Shifted back by the settle time too, for updates stamped before the previous run but committed after it
+        Instant changedSince = snapshotRepository.findLatestTakenAt()
+                .map(previous -> previous.minusMillis(properties.getSettleMs()))
+                .orElse(null);
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        long start = System.currentTimeMillis();
+        long chunks = 0;
+
+        String afterId = "";
+        while (afterId != null && !Thread.currentThread().isInterrupted()) {
+            String from = afterId;
+            afterId = chunkTransaction.execute(status -> snapshotWriter.snapshotChunk(from, takenAt, changedSince, chunkSize));
+            chunks++;
+            snapshotChunks.increment();
+            pause();
+        }
+        runs.increment();
+        logger.info("Balance snapshot taken | takenAt={} | chunks={} | durationMs={}",
+                takenAt, chunks, System.currentTimeMillis() - start);
+    }
+
+    private void runSafely() {
+        try {
+            takeSnapshot();
+        } catch (Exception e) {
+            failedRuns.increment();
+            logger.error("Balance snapshot failed | class={} | method=takeSnapshot | reason={}",
+                    getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    private void pause() {
+        if (properties.getChunkPauseMs() <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getChunkPauseMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Map<String, Long> snapshot() {
+        return Map.of(
+                "runs", runs.sum(),
+                "chunks", snapshotChunks.sum(),
+                "failedRuns", failedRuns.sum()
+        );
+    }
+
+    public long getRuns() { return runs.sum(); }
+    public long getSnapshotChunks() { return snapshotChunks.sum(); }
+    public long getFailedRuns() { return failedRuns.sum(); }
+}
@@ -1,20 +1,22 @@
 package com.moneytransfersystem.service.snowflake;
 
 import com.moneytransfersystem.config.SnowflakeProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Manages Snowflake Database Connections
- * Handles connection establishment and resource management
+ * Connections come from a small pool, which is also what bounds concurrent warehouse queries
  */
 @Slf4j
 @Component
@@ -22,9 +24,13 @@ import java.util.Properties;
 public class SnowflakeConnectionManager {
 
     private final SnowflakeProperties properties;
+    // ReentrantLock rather than synchronized, so a virtual thread creating the pool does not pin its carrier
+    private final ReentrantLock poolLock = new ReentrantLock();
+    private volatile HikariDataSource dataSource;
 
     /**
      * Gets a connection to Snowflake Data Warehouse
+     * Closing the connection returns it to the pool
      */
     public Connection getConnection() throws SQLException {
 
@@ -32,22 +38,49 @@ public class SnowflakeConnectionManager {
             throw new RuntimeException("Snowflake is not enabled. Check application.yml");
         }
 
-        String url = buildConnectionUrl();
-        log.info("Connecting to Snowflake warehouse: {}", properties.getWarehouse());
+        return pool().getConnection();
+    }
+
+    /**
+     * Creates the pool on first use, so a disabled or unreachable warehouse does not block startup
+     */
+    private HikariDataSource pool() {
+        HikariDataSource current = dataSource;
+        if (current != null) {
+            return current;
+        }
+        poolLock.lock();
+        try {
+            if (dataSource == null) {
+                log.info("Connecting to Snowflake warehouse: {}", properties.getWarehouse());
+                dataSource = new HikariDataSource(buildPoolConfig());
+            }
+            return dataSource;
+        } finally {
+            poolLock.unlock();
+        }
+    }
 
-        // ✅ Correct way: Put Properties inside method
-        Properties props = new Properties();
-        props.put("user", properties.getUser());
-        props.put("password", properties.getPassword());
-        props.put("db", properties.getDatabase());
-        props.put("schema", properties.getSchema());
-        props.put("warehouse", properties.getWarehouse());
-        props.put("role", properties.getRole());
+    private HikariConfig buildPoolConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("snowflake");
+        config.setJdbcUrl(buildConnectionUrl());
+        config.setUsername(properties.getUser());
+        config.setPassword(properties.getPassword());
+        config.addDataSourceProperty("db", properties.getDatabase());
+        config.addDataSourceProperty("schema", properties.getSchema());
+        config.addDataSourceProperty("warehouse", properties.getWarehouse());
+        config.addDataSourceProperty("role", properties.getRole());
 
         // ✅ Fix Arrow error by disabling Arrow format
-        props.put("JDBC_QUERY_RESULT_FORMAT", "JSON");
-
-        return DriverManager.getConnection(url, props);
+        config.addDataSourceProperty("JDBC_QUERY_RESULT_FORMAT", "JSON");
+
+        config.setMaximumPoolSize(properties.getMaxPoolSize());
+        config.setMinimumIdle(0);
+        config.setConnectionTimeout(properties.getConnectionTimeoutMs());
+        // Do not fail pool construction when the warehouse is down; getConnection reports it instead
+        config.setInitializationFailTimeout(-1);
+        return config;
     }
 
     /**
@@ -81,7 +114,7 @@ public class SnowflakeConnectionManager {
     }
 
     /**
-     * Closes connection safely
+     * Returns a connection to the pool safely
      */
     public void closeConnection(Connection connection) {
         if (connection != null) {
@@ -93,4 +126,12 @@ public class SnowflakeConnectionManager {
             }
         }
     }
+
+    @PreDestroy
+    public void shutdown() {
+        HikariDataSource current = dataSource;
+        if (current != null) {
+            current.close();
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.moneytransfersystem.service.snowflake;
 
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -23,6 +24,7 @@ public class SnowflakeETLService {
 
     private final SnowflakeConnectionManager connectionManager;
     private final JdbcTemplate jdbcTemplate;
+    private final ReplicaLagGuard replicaLagGuard;
 
     public void initializeSchema() {
 
@@ -208,14 +210,15 @@ public class SnowflakeETLService {
             // Fetch from MySQL
             String mysqlQuery = "SELECT account_id, holder_name, status, balance FROM accounts";
             
-            var accounts = jdbcTemplate.query(mysqlQuery, (rs, rowNum) -> {
+            // Full-table extract: read it from the replica when one is configured
+            var accounts = replicaLagGuard.readFromReplica(null, () -> jdbcTemplate.query(mysqlQuery, (rs, rowNum) -> {
                 Map<String, Object> map = new HashMap<>();
                 map.put("account_id", rs.getString("account_id"));
                 map.put("holder_name", rs.getString("holder_name"));
                 map.put("status", rs.getString("status"));
                 map.put("balance", rs.getDouble("balance"));
                 return map;
-            });
+            }));
 
             if (accounts.isEmpty()) {
                 log.warn("ℹ️ No accounts found in MySQL");
@@ -286,7 +289,8 @@ public class SnowflakeETLService {
                 FROM transaction_logs t
                 """;
             
-            var transactions = jdbcTemplate.query(mysqlQuery, (rs, rowNum) -> {
+            // Full-table extract: read it from the replica when one is configured
+            var transactions = replicaLagGuard.readFromReplica(null, () -> jdbcTemplate.query(mysqlQuery, (rs, rowNum) -> {
                 Map<String, Object> map = new HashMap<>();
                 map.put("transaction_id", rs.getString("transaction_id"));
                 map.put("from_account_id", rs.getString("from_account_id"));
@@ -301,7 +305,7 @@ public class SnowflakeETLService {
                 map.put("failure_reason", rs.getString("failure_reason"));
                 map.put("remarks", rs.getString("remarks"));
                 return map;
-            });
+            }));
 
             if (transactions.isEmpty()) {
                 log.warn("ℹ️ No transactions found in MySQL");
@@ -0,0 +1,115 @@
+package com.moneytransfersystem.aspect;
+
+import com.moneytransfersystem.config.TransferRetryProperties;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.service.AccountContentionTracker;
+import com.moneytransfersystem.service.metrics.TransferMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OptimisticLockRetryAspect Unit Tests")
+class OptimisticLockRetryAspectTest {
+
+    private TransferRetryProperties properties;
+    private AccountContentionTracker tracker;
+    private SimpleMeterRegistry registry;
+    private TransferMetrics metrics;
+    private ConflictingTarget target;
+    private ConflictingTarget proxy;
+    private TransferRequest request;
+
+    static class ConflictingTarget {
+        final AtomicInteger calls = new AtomicInteger();
+        int failuresBeforeSuccess;
+
+        @RetryOnConflict
+        public String transfer(TransferRequest request) {
+            if (calls.incrementAndGet() <= failuresBeforeSuccess) {
+                throw new ObjectOptimisticLockingFailureException("Account", request.getFromAccountId());
+            }
+            return "done";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new TransferRetryProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoffMs(1);
+        properties.setMaxBackoffMs(2);
+        tracker = new AccountContentionTracker();
+        registry = new SimpleMeterRegistry();
+        metrics = new TransferMetrics(registry);
+
+        target = new ConflictingTarget();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OptimisticLockRetryAspect(properties, tracker, metrics));
+        proxy = factory.getProxy();
+
+        request = new TransferRequest();
+        request.setFromAccountId("ACC005");
+        request.setToAccountId("ACC001");
+        request.setAmount(BigDecimal.TEN);
+        request.setIdempotencyKey("key-1");
+    }
+
+    @Test
+    @DisplayName("Should re-run the method until it stops conflicting")
+    void testRetry_SucceedsAfterConflicts() {
+        target.failuresBeforeSuccess = 2;
+
+        assertEquals("done", proxy.transfer(request));
+        assertEquals(3, target.calls.get());
+        assertEquals(2, tracker.getConflicts("ACC005"));
+        assertEquals(2, tracker.getRetries("ACC001"));
+        assertEquals(0, tracker.getExhausted("ACC005"));
+    }
+
+    @Test
+    @DisplayName("Should give up after max attempts and rethrow the conflict")
+    void testRetry_Exhausted() {
+        target.failuresBeforeSuccess = 10;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy.transfer(request));
+        assertEquals(3, target.calls.get());
+        assertEquals(3, tracker.getConflicts("ACC005"));
+        assertEquals(2, tracker.getRetries("ACC005"));
+        assertEquals(1, tracker.getExhausted("ACC001"));
+        assertEquals(3.0, registry.get("transfer.optimistic_lock.conflicts").counter().count());
+        assertEquals(1.0, registry.get("transfer.optimistic_lock.exhausted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should call through once when retry is disabled")
+    void testRetry_Disabled() {
+        properties.setEnabled(false);
+        target.failuresBeforeSuccess = 1;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy.transfer(request));
+        assertEquals(1, target.calls.get());
+        assertEquals(0, tracker.getConflicts("ACC005"));
+    }
+
+    @Test
+    @DisplayName("Should keep backoff within the configured ceiling")
+    void testBackoff_Bounded() {
+        properties.setInitialBackoffMs(10);
+        properties.setMaxBackoffMs(50);
+        OptimisticLockRetryAspect aspect = new OptimisticLockRetryAspect(properties, tracker, metrics);
+
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long backoff = aspect.backoffFor(attempt);
+            assertTrue(backoff >= 0 && backoff <= 50);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.moneytransfersystem.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.moneytransfersystem.config.TracingProperties;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of {@link TracingAspect} on a method returning a transaction history,
+ * against an unadvised call and against the former log-every-argument-and-result aspect.
+ * The {@code gc} profiler reports bytes allocated per call alongside the time.
+ * Log events are formatted and discarded, so the numbers include message building but no I/O.
+ * Opt-in: {@code mvn test -Dtest=TracingAspectBenchmark -Dbenchmark=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("TracingAspect overhead benchmark")
+public class TracingAspectBenchmark {
+
+    @Param({"10", "200"})
+    public int historyRows;
+
+    private HistoryTarget direct;
+    private HistoryTarget unsampled;
+    private HistoryTarget sampled;
+    private HistoryTarget fullLogging;
+
+    public static class HistoryTarget {
+        private List<TransactionLog> rows;
+
+        public List<TransactionLog> history(String accountId) {
+            return rows;
+        }
+    }
+
+    @Aspect
+    public static class TracedTargetAspect {
+        private final TracingAspect delegate;
+
+        TracedTargetAspect(TracingAspect delegate) {
+            this.delegate = delegate;
+        }
+
+        @Around("execution(* com.moneytransfersystem.aspect.TracingAspectBenchmark.HistoryTarget.*(..))")
+        public Object traceTarget(ProceedingJoinPoint joinPoint) throws Throwable {
+            return delegate.trace(joinPoint);
+        }
+    }
+
+    // What every service call used to pay: arguments and the whole result at INFO
+    @Aspect
+    public static class FullLoggingAspect {
+        private final org.slf4j.Logger logger = LoggerFactory.getLogger(TracingAspect.class);
+
+        @Before("execution(* com.moneytransfersystem.aspect.TracingAspectBenchmark.HistoryTarget.*(..))")
+        public void logBefore(JoinPoint joinPoint) {
+            logger.info("Entering: {} with arguments: {}", joinPoint.getSignature().getName(), joinPoint.getArgs());
+        }
+
+        @AfterReturning(pointcut = "execution(* com.moneytransfersystem.aspect.TracingAspectBenchmark.HistoryTarget.*(..))",
+                returning = "result")
+        public void logAfter(JoinPoint joinPoint, Object result) {
+            logger.info("Exiting: {} with result: {}", joinPoint.getSignature().getName(), result);
+        }
+    }
+
+    static class FormattingNullAppender extends AppenderBase<ILoggingEvent> {
+        @Override
+        protected void append(ILoggingEvent event) {
+            event.getFormattedMessage();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Logger logger = (Logger) LoggerFactory.getLogger(TracingAspect.class);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.detachAndStopAllAppenders();
+        FormattingNullAppender appender = new FormattingNullAppender();
+        appender.setContext(logger.getLoggerContext());
+        appender.start();
+        logger.addAppender(appender);
+
+        List<TransactionLog> rows = new ArrayList<>(historyRows);
+        for (int i = 0; i < historyRows; i++) {
+            rows.add(TransactionLog.builder()
+                    .id("tx-" + i)
+                    .fromAccountId("ACC001")
+                    .toAccountId("ACC002")
+                    .amount(BigDecimal.TEN)
+                    .status(TransactionStatus.SUCCESS)
+                    .createdOn(Instant.now())
+                    .idempotencyKey("key-" + i)
+                    .build());
+        }
+
+        direct = target(rows, null);
+
+        TracingProperties never = new TracingProperties();
+        never.setDefaultSampleRate(0.0);
+        unsampled = target(rows, new TracedTargetAspect(new TracingAspect(never)));
+
+        TracingProperties always = new TracingProperties();
+        always.setDefaultSampleRate(1.0);
+        sampled = target(rows, new TracedTargetAspect(new TracingAspect(always)));
+
+        fullLogging = target(rows, new FullLoggingAspect());
+    }
+
+    private static HistoryTarget target(List<TransactionLog> rows, Object aspect) {
+        HistoryTarget target = new HistoryTarget();
+        target.rows = rows;
+        if (aspect == null) {
+            return target;
+        }
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Benchmark
+    public List<TransactionLog> direct() {
+        return direct.history("ACC001");
+    }
+
+    @Benchmark
+    public List<TransactionLog> tracedUnsampled() {
+        return unsampled.history("ACC001");
+    }
+
+    @Benchmark
+    public List<TransactionLog> tracedSampled() {
+        return sampled.history("ACC001");
+    }
+
+    @Benchmark
+    public List<TransactionLog> fullArgumentLogging() {
+        return fullLogging.history("ACC001");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Should report per-call tracing overhead")
+    void runBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TracingAspectBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
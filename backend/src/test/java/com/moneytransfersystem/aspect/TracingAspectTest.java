@@ -0,0 +1,140 @@
+package com.moneytransfersystem.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.moneytransfersystem.config.TracingProperties;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TracingAspect Unit Tests")
+class TracingAspectTest {
+
+    private TracingProperties properties;
+    private TracedTarget proxy;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger aspectLogger;
+    private Level previousLevel;
+
+    // Fails the test if anything stringifies the whole result
+    static class UnprintableList extends ArrayList<String> {
+        @Override
+        public String toString() {
+            throw new AssertionError("toString() called on a collection");
+        }
+    }
+
+    static class TracedTarget {
+        public List<String> history(String accountId, String password) {
+            UnprintableList rows = new UnprintableList();
+            rows.add("row-1");
+            rows.add("row-2");
+            return rows;
+        }
+
+        public String transfer(TransferRequest request) {
+            if (request.getAmount().signum() <= 0) {
+                throw new IllegalArgumentException("amount");
+            }
+            return "done";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new TracingProperties();
+        properties.setDefaultSampleRate(0.0);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TracedTarget());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TracedTargetAspect(new TracingAspect(properties)));
+        proxy = factory.getProxy();
+
+        aspectLogger = (Logger) LoggerFactory.getLogger(TracingAspect.class);
+        previousLevel = aspectLogger.getLevel();
+        aspectLogger.setLevel(Level.INFO);
+        appender = new ListAppender<>();
+        appender.start();
+        aspectLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspectLogger.detachAppender(appender);
+        aspectLogger.setLevel(previousLevel);
+    }
+
+    // The production pointcut only matches the service package, so route the target through it
+    @Aspect
+    static class TracedTargetAspect {
+        private final TracingAspect delegate;
+
+        TracedTargetAspect(TracingAspect delegate) {
+            this.delegate = delegate;
+        }
+
+        @Around("execution(* com.moneytransfersystem.aspect.TracingAspectTest.TracedTarget.*(..))")
+        public Object traceTarget(ProceedingJoinPoint joinPoint) throws Throwable {
+            return delegate.trace(joinPoint);
+        }
+    }
+
+    @Test
+    @DisplayName("Should log nothing for an unsampled successful call")
+    void testTrace_UnsampledSuccess() {
+        proxy.history("ACC001", "secret");
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should log sizes and ids only, with sensitive parameters redacted")
+    void testTrace_SampledSummary() {
+        properties.getSampleRates().put("TracedTarget.history", 1.0);
+
+        proxy.history("ACC001", "hunter2");
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.contains("method=history"));
+        assertTrue(line.contains("accountId=ACC001"));
+        assertTrue(line.contains("password=[REDACTED]"));
+        assertFalse(line.contains("hunter2"));
+        assertTrue(line.contains("result=UnprintableList(size=2)"));
+    }
+
+    @Test
+    @DisplayName("Should always trace failures with the exception type and request ids")
+    void testTrace_FailureAlwaysLogged() {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId("ACC001");
+        request.setToAccountId("ACC002");
+        request.setAmount(BigDecimal.ZERO);
+        request.setIdempotencyKey("key-1");
+        request.setRemarks("private note");
+
+        assertThrows(IllegalArgumentException.class, () -> proxy.transfer(request));
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.contains("outcome=ERROR:IllegalArgumentException"));
+        assertTrue(line.contains("fromAccountId=ACC001"));
+        assertTrue(line.contains("idempotencyKey=key-1"));
+        assertFalse(line.contains("private note"));
+    }
+}
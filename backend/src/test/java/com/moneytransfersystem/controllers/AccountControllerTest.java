@@ -2,9 +2,18 @@ package com.moneytransfersystem.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.domain.dtos.AuthTokens;
+import com.moneytransfersystem.domain.dtos.BalanceAsOf;
 import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.exceptions.EventStreamUnavailableException;
+import com.moneytransfersystem.domain.exceptions.TooManyRequestsException;
 import com.moneytransfersystem.exception.GlobalExceptionHandler;
 import com.moneytransfersystem.service.AccountService;
+import com.moneytransfersystem.service.auth.JwtTokenService;
+import com.moneytransfersystem.service.auth.LoginRateLimiter;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import com.moneytransfersystem.service.snapshot.BalanceSnapshotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,8 +24,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -37,6 +48,18 @@ class AccountControllerTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private AccountEventHub accountEventHub;
+
+    @Mock
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Mock
+    private JwtTokenService jwtTokenService;
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
     @InjectMocks
     private AccountController accountController;
 
@@ -79,6 +102,32 @@ class AccountControllerTest {
         verify(accountService, times(1)).findById(testAccountId);
     }
 
+    @Test
+    @DisplayName("Should tag the account with its version")
+    void testGetAccount_ETag() throws Exception {
+        testAccount.setVersion(7L);
+        when(accountService.findById(testAccountId)).thenReturn(Optional.of(testAccount));
+
+        mockMvc.perform(get("/api/accounts/{id}", testAccountId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+
+        verify(accountService, never()).findVersion(anyString());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 from the version probe without loading the account")
+    void testGetAccount_NotModified() throws Exception {
+        when(accountService.findVersion(testAccountId)).thenReturn(Optional.of(7L));
+
+        mockMvc.perform(get("/api/accounts/{id}", testAccountId)
+                .header("If-None-Match", "W/\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""));
+
+        verify(accountService, never()).findById(anyString());
+    }
+
     @Test
     @DisplayName("Should return 404 when account not found")
     void testGetAccount_NotFound() throws Exception {
@@ -93,6 +142,44 @@ class AccountControllerTest {
         verify(accountService, times(1)).findById(nonExistentId);
     }
 
+    @Test
+    @DisplayName("Should return the balance as of the requested time")
+    void testGetBalanceAsOf() throws Exception {
+        Instant asOf = Instant.parse("2026-03-01T00:30:00Z");
+        when(balanceSnapshotService.getBalanceAsOf(testAccountId, asOf))
+                .thenReturn(new BalanceAsOf(testAccountId, asOf, new BigDecimal("120.00"), asOf.minusSeconds(1800)));
+
+        mockMvc.perform(get("/api/accounts/{id}/balance", testAccountId)
+                .param("asOf", "2026-03-01T00:30:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", equalTo(120.00)))
+                .andExpect(jsonPath("$.accountId", equalTo(testAccountId)));
+    }
+
+    @Test
+    @DisplayName("Should open an event stream resuming from Last-Event-ID")
+    void testStreamEvents_Resume() throws Exception {
+        when(accountEventHub.subscribe(testAccountId, "42")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/accounts/{id}/events", testAccountId)
+                .header("Last-Event-ID", "42")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(accountEventHub).subscribe(testAccountId, "42");
+    }
+
+    @Test
+    @DisplayName("Should return 503 when the account has too many event streams")
+    void testStreamEvents_TooManySubscribers() throws Exception {
+        when(accountEventHub.subscribe(testAccountId, null))
+                .thenThrow(new EventStreamUnavailableException(AppConstants.TOO_MANY_SUBSCRIBERS));
+
+        mockMvc.perform(get("/api/accounts/{id}/events", testAccountId))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message", equalTo(AppConstants.TOO_MANY_SUBSCRIBERS)));
+    }
+
     @Test
     @DisplayName("Should create account with valid payload")
     void testCreateAccount_Success() throws Exception {
@@ -162,13 +249,18 @@ class AccountControllerTest {
 
         when(accountService.authenticate(testAccountId, "correctPassword"))
                 .thenReturn(true);
+        when(jwtTokenService.issue(testAccountId))
+                .thenReturn(new AuthTokens("access-token", "refresh-token", 900));
 
         mockMvc.perform(post("/api/accounts/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(payload)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message", equalTo("Login successful")))
-                .andExpect(jsonPath("$.accountId", equalTo(testAccountId)));
+                .andExpect(jsonPath("$.accountId", equalTo(testAccountId)))
+                .andExpect(jsonPath("$.token", equalTo("access-token")))
+                .andExpect(jsonPath("$.tokenType", equalTo("Bearer")))
+                .andExpect(jsonPath("$.refreshToken", equalTo("refresh-token")));
 
         verify(accountService, times(1)).authenticate(testAccountId, "correctPassword");
     }
@@ -190,6 +282,48 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.message", equalTo("Invalid credentials")));
 
         verify(accountService, times(1)).authenticate(testAccountId, "wrongPassword");
+        verifyNoInteractions(jwtTokenService);
+    }
+
+    @Test
+    @DisplayName("Should return 429 without checking the password when login attempts are throttled")
+    void testLogin_Throttled() throws Exception {
+        doThrow(new TooManyRequestsException(AppConstants.TOO_MANY_LOGIN_ATTEMPTS))
+                .when(loginRateLimiter).acquire(anyString(), eq(testAccountId));
+
+        mockMvc.perform(post("/api/accounts/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("accountId", testAccountId, "password", "guess"))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message", equalTo(AppConstants.TOO_MANY_LOGIN_ATTEMPTS)));
+
+        verify(accountService, never()).authenticate(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should exchange a valid refresh token for new tokens")
+    void testRefreshToken_Success() throws Exception {
+        when(jwtTokenService.refresh("refresh-token"))
+                .thenReturn(Optional.of(new AuthTokens("new-access", "new-refresh", 900)));
+
+        mockMvc.perform(post("/api/accounts/token/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", "refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", equalTo("new-access")))
+                .andExpect(jsonPath("$.refreshToken", equalTo("new-refresh")));
+    }
+
+    @Test
+    @DisplayName("Should return 401 for an invalid refresh token")
+    void testRefreshToken_Invalid() throws Exception {
+        when(jwtTokenService.refresh("stale")).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/accounts/token/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", "stale"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message", equalTo(AppConstants.INVALID_REFRESH_TOKEN)));
     }
 
     @Test
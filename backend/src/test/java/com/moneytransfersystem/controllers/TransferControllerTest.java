@@ -1,12 +1,20 @@
 package com.moneytransfersystem.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfersystem.domain.dtos.BatchTransferItemResult;
+import com.moneytransfersystem.domain.dtos.BatchTransferRequest;
+import com.moneytransfersystem.domain.dtos.BatchTransferResponse;
+import com.moneytransfersystem.domain.dtos.TransactionHistoryPage;
 import com.moneytransfersystem.domain.dtos.TransferRequest;
 import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.BatchItemOutcome;
 import com.moneytransfersystem.domain.enums.TransactionStatus;
 import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
 import com.moneytransfersystem.domain.exceptions.DuplicateTranferException;
 import com.moneytransfersystem.exception.GlobalExceptionHandler;
+import com.moneytransfersystem.domain.enums.ExportFormat;
+import com.moneytransfersystem.service.BatchTransferService;
+import com.moneytransfersystem.service.TransactionExportService;
 import com.moneytransfersystem.service.TransferService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +25,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
@@ -41,6 +50,12 @@ class TransferControllerTest {
     @Mock
     private TransferService transferService;
 
+    @Mock
+    private BatchTransferService batchTransferService;
+
+    @Mock
+    private TransactionExportService transactionExportService;
+
     @InjectMocks
     private TransferController transferController;
 
@@ -222,6 +237,59 @@ class TransferControllerTest {
         verify(transferService, times(1)).getTransactionHistory(accountId);
     }
 
+    @Test
+    @DisplayName("Should return one keyset page of history with its cursor")
+    void testGetHistoryPage_Success() throws Exception {
+        String accountId = fromAccountId;
+        TransactionLog log = TransactionLog.builder()
+                .id(UUID.randomUUID().toString())
+                .fromAccountId(accountId)
+                .toAccountId(toAccountId)
+                .amount(BigDecimal.valueOf(100.00))
+                .status(TransactionStatus.SUCCESS)
+                .createdOn(Instant.now())
+                .build();
+
+        when(transferService.getTransactionHistoryPage(accountId, 1, "abc"))
+                .thenReturn(new TransactionHistoryPage(List.of(log), "next"));
+
+        mockMvc.perform(get("/api/transfers/{accountId}/history", accountId)
+                .param("limit", "1")
+                .param("after", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", equalTo("next")))
+                .andExpect(jsonPath("$.hasMore", equalTo(true)));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without reading history the client already has")
+    void testGetHistory_NotModified() throws Exception {
+        when(transferService.getHistoryVersion(fromAccountId)).thenReturn("abc123");
+
+        mockMvc.perform(get("/api/transfers/{accountId}", fromAccountId)
+                .header("If-None-Match", "\"stale\", \"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(content().string(""));
+
+        verify(transferService, never()).getTransactionHistory(anyString());
+    }
+
+    @Test
+    @DisplayName("Should tag a history page and serve it when the client's tag is stale")
+    void testGetHistoryPage_ETag() throws Exception {
+        when(transferService.getHistoryVersion(fromAccountId)).thenReturn("def456");
+        when(transferService.getTransactionHistoryPage(fromAccountId, null, null))
+                .thenReturn(new TransactionHistoryPage(List.of(), null));
+
+        mockMvc.perform(get("/api/transfers/{accountId}/history", fromAccountId)
+                .header("If-None-Match", "\"abc123\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"def456\""))
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
     @Test
     @DisplayName("Should return empty list for transaction history")
     void testGetHistory_Empty() throws Exception {
@@ -363,4 +431,70 @@ class TransferControllerTest {
                 .andExpect(jsonPath("$[0].amount", equalTo(100.00)))
                 .andExpect(jsonPath("$[1].amount", equalTo(50.00)));
     }
+
+    @Test
+    @DisplayName("Should return per-item results for a batch transfer")
+    void testTransferBatch_Success() throws Exception {
+        BatchTransferRequest batchRequest = new BatchTransferRequest();
+        batchRequest.setTransfers(List.of(transferRequest));
+
+        BatchTransferResponse response = new BatchTransferResponse(List.of(
+                new BatchTransferItemResult(0, idempotencyKey, UUID.randomUUID().toString(), BatchItemOutcome.SUCCESS, null)));
+
+        when(batchTransferService.transferBatch(any(BatchTransferRequest.class)))
+                .thenReturn(response);
+
+        mockMvc.perform(post("/api/transfers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", equalTo(1)))
+                .andExpect(jsonPath("$.succeeded", equalTo(1)))
+                .andExpect(jsonPath("$.results[0].outcome", equalTo("SUCCESS")))
+                .andExpect(jsonPath("$.results[0].idempotencyKey", equalTo(idempotencyKey)));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch with 400")
+    void testTransferBatch_Empty() throws Exception {
+        BatchTransferRequest batchRequest = new BatchTransferRequest();
+        batchRequest.setTransfers(new ArrayList<>());
+
+        mockMvc.perform(post("/api/transfers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(batchTransferService, never()).transferBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should stream the export as an attachment in the requested format")
+    void testExport_Streamed() throws Exception {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        when(transactionExportService.export(fromAccountId, from, null, ExportFormat.NDJSON, false))
+                .thenReturn(out -> out.write("{\"id\":\"tx-1\"}\n".getBytes()));
+
+        MvcResult result = mockMvc.perform(get("/api/transfers/{accountId}/export", fromAccountId)
+                .param("format", "ndjson")
+                .param("from", "2026-01-01T00:00:00Z"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString(fromAccountId + "-transactions.ndjson")))
+                .andExpect(content().string("{\"id\":\"tx-1\"}\n"));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown export format with 400")
+    void testExport_UnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/transfers/{accountId}/export", fromAccountId)
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionExportService);
+    }
 }
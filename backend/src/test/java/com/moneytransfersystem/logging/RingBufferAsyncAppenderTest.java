@@ -0,0 +1,173 @@
+package com.moneytransfersystem.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RingBufferAsyncAppender Unit Tests")
+class RingBufferAsyncAppenderTest {
+
+    private LoggerContext context;
+    private Logger logger;
+    private GatedListAppender target;
+    private RingBufferAsyncAppender appender;
+
+    // Holds the writer thread inside append() until released, so the ring can be filled
+    static class GatedListAppender extends ListAppender<ILoggingEvent> {
+        final CountDownLatch gate = new CountDownLatch(1);
+        final CountDownLatch entered = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.append(event);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        logger = context.getLogger("transfer");
+
+        target = new GatedListAppender();
+        target.setContext(context);
+        target.setName("LIST");
+        target.start();
+
+        appender = new RingBufferAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.addAppender(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.gate.countDown();
+        appender.stop();
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, message, null, null);
+    }
+
+    @Test
+    @DisplayName("Should deliver every event in order and drain the ring on stop")
+    void testAppend_DeliversInOrder() {
+        target.gate.countDown();
+        appender.start();
+
+        for (int i = 0; i < 1000; i++) {
+            appender.doAppend(event(Level.INFO, "event-" + i));
+        }
+        appender.stop();
+
+        assertEquals(1000, target.list.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("event-" + i, target.list.get(i).getFormattedMessage());
+        }
+        assertEquals(0, appender.getDropped());
+        assertTrue(appender.getBatches() > 0);
+    }
+
+    @Test
+    @DisplayName("Should drop INFO but keep WARN once the ring passes the threshold, then report the drops")
+    void testAppend_DropsByLevelAndReports() throws InterruptedException {
+        appender.setQueueSize(8);
+        appender.setDiscardingThreshold(4);
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event(Level.INFO, "info-" + i));
+        }
+        appender.doAppend(event(Level.WARN, "warn"));
+
+        assertEquals(5, appender.getDroppedBelowThreshold());
+        assertEquals(0, appender.getDroppedFull());
+
+        target.gate.countDown();
+        appender.stop();
+
+        List<String> messages = target.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertTrue(messages.contains("warn"));
+        assertEquals(5, messages.stream().filter(message -> message.startsWith("info-")).count());
+        assertTrue(messages.get(messages.size() - 1).contains("dropped=5"));
+    }
+
+    @Test
+    @DisplayName("Should hand every offered element to the consumer exactly once under contention")
+    void testEventRing_ConcurrentProducers() throws Exception {
+        EventRing<Integer> ring = new EventRing<>(64);
+        int producers = 4;
+        int perProducer = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            Integer value = ring.poll();
+            if (value != null) {
+                assertTrue(seen.add(value));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        assertNull(ring.poll());
+    }
+
+    @Test
+    @DisplayName("Should encode one escaped JSON object per line")
+    void testJsonLineEncoder_Escapes() {
+        JsonLineEncoder encoder = new JsonLineEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        String line = new String(encoder.encode(event(Level.INFO, "say \"hi\"\nbye")), StandardCharsets.UTF_8);
+
+        assertTrue(line.startsWith("{\"ts\":\""));
+        assertTrue(line.contains("\"level\":\"INFO\""));
+        assertTrue(line.contains("\"message\":\"say \\\"hi\\\"\\nbye\""));
+        assertTrue(line.endsWith("}\n"));
+        assertEquals(1, line.split("\n").length);
+    }
+}
@@ -0,0 +1,119 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.domain.entities.AccountDailyAggregate;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountDailyAggregateWriter Unit Tests")
+class AccountDailyAggregateWriterTest {
+
+    private static final Instant DAY_ONE = Instant.parse("2026-03-01T10:00:00Z");
+    private static final Instant DAY_TWO = Instant.parse("2026-03-02T00:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private TransferProperties transferProperties = new TransferProperties();
+
+    @InjectMocks
+    private AccountDailyAggregateWriter dailyAggregateWriter;
+
+    @BeforeEach
+    void setUp() {
+        transferProperties.setDailyAggregateSlots(1);
+    }
+
+    @Test
+    @DisplayName("Should fold a batch into one delta per account and UTC day, in lock order")
+    void testFoldsPerAccountAndDay() {
+        dailyAggregateWriter.applyFor(List.of(
+                log("ACC001", "ACC002", "50.00", TransactionStatus.SUCCESS, DAY_ONE),
+                log("ACC002", "ACC001", "20.00", TransactionStatus.SUCCESS, DAY_ONE),
+                log("ACC001", "ACC002", "999.00", TransactionStatus.FAILED, DAY_ONE),
+                log("ACC001", "ACC002", "5.00", TransactionStatus.SUCCESS, DAY_TWO)), 100);
+
+        List<AccountDailyAggregate> rows = captureRows();
+        assertEquals(4, rows.size());
+
+        AccountDailyAggregate first = rows.get(0);
+        assertEquals("ACC001", first.getAccountId());
+        assertEquals(LocalDate.parse("2026-03-01"), first.getDate());
+        assertEquals(1, first.getSentCount());
+        assertEquals(new BigDecimal("50.00"), first.getSentTotal());
+        assertEquals(1, first.getReceivedCount());
+        assertEquals(new BigDecimal("20.00"), first.getReceivedTotal());
+        assertEquals(1, first.getFailedCount());
+        assertEquals(new BigDecimal("20.00"), first.getMinAmount());
+        assertEquals(new BigDecimal("50.00"), first.getMaxAmount());
+
+        assertEquals("ACC001", rows.get(1).getAccountId());
+        assertEquals(LocalDate.parse("2026-03-02"), rows.get(1).getDate());
+        assertEquals("ACC002", rows.get(2).getAccountId());
+        assertEquals(0, rows.get(2).getFailedCount());
+    }
+
+    @Test
+    @DisplayName("Should count deposits and withdrawals on their one account and pick slots within range")
+    void testSingleLegAndSlots() {
+        transferProperties.setDailyAggregateSlots(4);
+
+        dailyAggregateWriter.applyFor(List.of(
+                log(null, "ACC001", "10.00", TransactionStatus.SUCCESS, DAY_ONE),
+                log("ACC002", null, "3.00", TransactionStatus.SUCCESS, DAY_ONE)), 100);
+
+        List<AccountDailyAggregate> rows = captureRows();
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).getReceivedCount());
+        assertEquals(1, rows.get(1).getSentCount());
+        rows.forEach(row -> assertTrue(row.getSlot() >= 0 && row.getSlot() < 4));
+    }
+
+    @Test
+    @DisplayName("Should skip the database when there is nothing to apply")
+    void testEmpty() {
+        dailyAggregateWriter.applyFor(List.of(), 100);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AccountDailyAggregate> captureRows() {
+        ArgumentCaptor<Collection<AccountDailyAggregate>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        return new ArrayList<>(captor.getValue());
+    }
+
+    private static TransactionLog log(String from, String to, String amount, TransactionStatus status, Instant createdOn) {
+        return TransactionLog.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(new BigDecimal(amount))
+                .status(status)
+                .createdOn(createdOn)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.domain.entities.AccountPosting;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountPostingWriter Unit Tests")
+class AccountPostingWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountPostingWriter accountPostingWriter;
+
+    @Test
+    @DisplayName("Should write two signed legs per success and walk running balances back from the current ones")
+    void testRunningBalances() {
+        when(accountRepository.findBalancesByIdIn(anyCollection())).thenReturn(List.of(
+                balance("ACC001", "70.00", null),
+                balance("ACC002", "130.00", null)));
+
+        accountPostingWriter.insertFor(List.of(
+                log("tx-1", "ACC001", "ACC002", "50.00", TransactionStatus.SUCCESS),
+                log("tx-2", "ACC002", "ACC001", "20.00", TransactionStatus.SUCCESS),
+                log("tx-3", "ACC001", "ACC002", "999.00", TransactionStatus.FAILED)), 100);
+
+        List<AccountPosting> postings = capturePostings();
+        assertEquals(4, postings.size());
+        assertPosting(postings.get(0), "ACC001", "tx-1", "-50.00", "50.00");
+        assertPosting(postings.get(1), "ACC002", "tx-1", "50.00", "150.00");
+        assertPosting(postings.get(2), "ACC002", "tx-2", "-20.00", "130.00");
+        assertPosting(postings.get(3), "ACC001", "tx-2", "20.00", "70.00");
+    }
+
+    @Test
+    @DisplayName("Should leave the running balance empty for hot accounts and skip batches without successes")
+    void testShardedAndEmpty() {
+        when(accountRepository.findBalancesByIdIn(anyCollection())).thenReturn(List.of(
+                balance("ACC001", "70.00", null),
+                balance("HOT", "0.00", 4)));
+
+        accountPostingWriter.insertFor(List.of(log("tx-1", "ACC001", "HOT", "30.00", TransactionStatus.SUCCESS)), 100);
+
+        List<AccountPosting> postings = capturePostings();
+        assertEquals(new BigDecimal("70.00"), postings.get(0).getBalanceAfter());
+        assertNull(postings.get(1).getBalanceAfter());
+
+        reset(jdbcTemplate, accountRepository);
+        accountPostingWriter.insertFor(List.of(log("tx-2", "ACC001", "HOT", "1.00", TransactionStatus.FAILED)), 100);
+        verifyNoInteractions(jdbcTemplate, accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should write one leg for deposits and withdrawals so a later transfer continues their running balance")
+    void testSingleLegPostingsChainWithTransfers() {
+        // Deposit of 50 onto 100, committed on its own
+        when(accountRepository.findBalancesByIdIn(anyCollection())).thenReturn(List.of(balance("ACC001", "150.00", null)));
+        accountPostingWriter.insertFor(List.of(log("tx-1", null, "ACC001", "50.00", TransactionStatus.SUCCESS)), 1);
+        List<AccountPosting> deposit = capturePostings();
+
+        // Then a transfer of 30, and a withdrawal of 20 in the same batch
+        reset(jdbcTemplate, accountRepository);
+        when(accountRepository.findBalancesByIdIn(anyCollection())).thenReturn(List.of(
+                balance("ACC001", "100.00", null),
+                balance("ACC002", "30.00", null)));
+        accountPostingWriter.insertFor(List.of(
+                log("tx-2", "ACC001", "ACC002", "30.00", TransactionStatus.SUCCESS),
+                log("tx-3", "ACC001", null, "20.00", TransactionStatus.SUCCESS)), 100);
+        List<AccountPosting> later = capturePostings();
+
+        assertEquals(1, deposit.size());
+        assertPosting(deposit.get(0), "ACC001", "tx-1", "50.00", "150.00");
+        assertEquals(3, later.size());
+        assertPosting(later.get(0), "ACC001", "tx-2", "-30.00", "120.00");
+        assertPosting(later.get(1), "ACC002", "tx-2", "30.00", "30.00");
+        assertPosting(later.get(2), "ACC001", "tx-3", "-20.00", "100.00");
+        // Each row's balance is the previous one plus its amount
+        assertEquals(deposit.get(0).getBalanceAfter().add(later.get(0).getAmount()), later.get(0).getBalanceAfter());
+        verify(accountRepository).findBalancesByIdIn(argThat(ids -> ids.size() == 2 && !ids.contains(null)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AccountPosting> capturePostings() {
+        ArgumentCaptor<Collection<AccountPosting>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        return new ArrayList<>(captor.getValue());
+    }
+
+    private static void assertPosting(AccountPosting posting, String accountId, String transactionId,
+                                      String amount, String balanceAfter) {
+        assertEquals(accountId, posting.getAccountId());
+        assertEquals(transactionId, posting.getTransactionId());
+        assertEquals(new BigDecimal(amount), posting.getAmount());
+        assertEquals(new BigDecimal(balanceAfter), posting.getBalanceAfter());
+    }
+
+    private static TransactionLog log(String id, String from, String to, String amount, TransactionStatus status) {
+        return TransactionLog.builder()
+                .id(id)
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(new BigDecimal(amount))
+                .status(status)
+                .createdOn(Instant.now())
+                .build();
+    }
+
+    private static AccountRepository.BalanceView balance(String id, String balance, Integer shardCount) {
+        return new AccountRepository.BalanceView() {
+            public String getId() { return id; }
+            public BigDecimal getBalance() { return new BigDecimal(balance); }
+            public Integer getShardCount() { return shardCount; }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.moneytransfersystem.repository;
+
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TransactionLogExportReader Unit Tests")
+class TransactionLogExportReaderTest {
+
+    private static final Instant CREATED_ON = Instant.parse("2026-01-02T03:04:05Z");
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionLogExportReader exportReader;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:export-reader;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS transaction_logs (
+                    transaction_id VARCHAR(64) PRIMARY KEY, from_account_id VARCHAR(255),
+                    to_account_id VARCHAR(255), amount DECIMAL(19, 4), status VARCHAR(32),
+                    failure_reason VARCHAR(255), idempotency_key VARCHAR(255), created_on TIMESTAMP,
+                    remarks VARCHAR(255))
+                """);
+        jdbcTemplate.update("DELETE FROM transaction_logs");
+        exportReader = new TransactionLogExportReader(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should stream rows on H2 with the default MySQL streaming fetch size")
+    void testDefaultFetchSizeOnH2() {
+        insert("tx-2", "ACC002", "ACC001", CREATED_ON.plusSeconds(1));
+        insert("tx-1", "ACC001", "ACC002", CREATED_ON);
+        insert("tx-3", "ACC002", "ACC003", CREATED_ON);
+
+        List<TransactionLog> rows = new ArrayList<>();
+        exportReader.forEach("ACC001", CREATED_ON.minusSeconds(60), CREATED_ON.plusSeconds(60),
+                new TransferProperties().getExportFetchSize(), rows::add);
+
+        assertEquals(List.of("tx-1", "tx-2"), rows.stream().map(TransactionLog::getId).toList());
+        assertEquals(TransactionStatus.SUCCESS, rows.get(0).getStatus());
+        assertEquals(0, new BigDecimal("50.00").compareTo(rows.get(0).getAmount()));
+    }
+
+    @Test
+    @DisplayName("Should pass the streaming flag only to MySQL Connector/J")
+    void testFetchSizePerDriver() {
+        assertEquals(Integer.MIN_VALUE, TransactionLogExportReader.fetchSize("MySQL Connector/J", Integer.MIN_VALUE));
+        assertEquals(TransactionLogExportReader.PORTABLE_FETCH_SIZE,
+                TransactionLogExportReader.fetchSize("H2 JDBC Driver", Integer.MIN_VALUE));
+        assertEquals(TransactionLogExportReader.PORTABLE_FETCH_SIZE,
+                TransactionLogExportReader.fetchSize("MySQL Connector/J", -1));
+        assertEquals(100, TransactionLogExportReader.fetchSize("H2 JDBC Driver", 100));
+    }
+
+    private void insert(String id, String from, String to, Instant createdOn) {
+        jdbcTemplate.update("""
+                INSERT INTO transaction_logs (transaction_id, from_account_id, to_account_id, amount, status,
+                                              idempotency_key, created_on)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, id, from, to, new BigDecimal("50.00"), "SUCCESS", "key-" + id, Timestamp.from(createdOn));
+    }
+}
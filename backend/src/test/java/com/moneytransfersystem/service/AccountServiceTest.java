@@ -1,12 +1,21 @@
 package com.moneytransfersystem.service;
 
+import com.moneytransfersystem.config.AccountCacheProperties;
+import com.moneytransfersystem.config.CredentialCacheProperties;
+import com.moneytransfersystem.config.ReadReplicaProperties;
 import com.moneytransfersystem.domain.entities.Account;
 import com.moneytransfersystem.domain.entities.TransactionLog;
 import com.moneytransfersystem.domain.enums.AccountStatus;
 import com.moneytransfersystem.domain.enums.TransactionStatus;
 import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
+import com.moneytransfersystem.repository.AccountDailyAggregateWriter;
+import com.moneytransfersystem.repository.AccountPostingWriter;
 import com.moneytransfersystem.repository.AccountRepository;
 import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.auth.CredentialCache;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -38,9 +48,28 @@ class AccountServiceTest {
     @Mock
     private TransactionLogRepository transactionLogRepository;
 
+    @Mock
+    private AccountDailyAggregateWriter dailyAggregateWriter;
+
+    @Mock
+    private AccountPostingWriter accountPostingWriter;
+
+    @Mock
+    private AccountEventHub accountEventHub;
+
+    @Mock
+    private ShardedBalanceService shardedBalanceService;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private AccountSnapshotCache accountSnapshotCache = new AccountSnapshotCache(
+            new AccountCacheProperties(), new ReplicaLagGuard(new ReadReplicaProperties()));
+
+    @Spy
+    private CredentialCache credentialCache = new CredentialCache(new CredentialCacheProperties());
+
     @InjectMocks
     private AccountService accountService;
 
@@ -85,6 +114,27 @@ class AccountServiceTest {
         verify(accountRepository, times(1)).findById("nonExistentId");
     }
 
+    @Test
+    @DisplayName("Should serve the version of a cached account without querying")
+    void testFindVersion_FromCache() {
+        testAccount.setVersion(4L);
+        when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
+        accountService.findById(testAccountId);
+
+        assertEquals(Optional.of(4L), accountService.findVersion(testAccountId));
+        verify(accountRepository, never()).findVersionById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not report a version for hot accounts")
+    void testFindVersion_ShardedAccount() {
+        AccountRepository.VersionView view = mock(AccountRepository.VersionView.class);
+        when(view.getShardCount()).thenReturn(4);
+        when(accountRepository.findVersionById(testAccountId)).thenReturn(Optional.of(view));
+
+        assertTrue(accountService.findVersion(testAccountId).isEmpty());
+    }
+
     @Test
     @DisplayName("Should create account with encoded password")
     void testCreateAccount_Success() {
@@ -172,6 +222,24 @@ class AccountServiceTest {
         verify(accountRepository, times(1)).findById(testAccountId);
     }
 
+    @Test
+    @DisplayName("Should serve repeat principal loads from the cache until the account is closed")
+    void testLoadUserByUsername_CachedUntilClosed() {
+        when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
+
+        accountService.loadUserByUsername(testAccountId);
+        var cached = accountService.loadUserByUsername(testAccountId);
+        assertTrue(cached.isEnabled());
+        assertEquals("encodedPassword", cached.getPassword());
+        verify(accountRepository, times(1)).findById(testAccountId);
+
+        accountService.closeAccount(testAccountId);
+        var closed = accountService.loadUserByUsername(testAccountId);
+
+        assertFalse(closed.isEnabled());
+        verify(credentialCache).invalidateAfterCommit(testAccountId, "encodedPassword");
+    }
+
     @Test
     @DisplayName("Should throw UsernameNotFoundException for non-existent account")
     void testLoadUserByUsername_NotFound() {
@@ -193,6 +261,9 @@ class AccountServiceTest {
 
         verify(accountRepository, times(1)).save(any(Account.class));
         verify(transactionLogRepository, times(1)).save(any(TransactionLog.class));
+        verify(accountPostingWriter).insertFor(argThat(logs -> logs.size() == 1
+                && logs.get(0).getFromAccountId() == null
+                && testAccountId.equals(logs.get(0).getToAccountId())), eq(1));
     }
 
     @Test
@@ -216,6 +287,9 @@ class AccountServiceTest {
 
         verify(accountRepository, times(1)).save(any(Account.class));
         verify(transactionLogRepository, times(1)).save(any(TransactionLog.class));
+        verify(accountPostingWriter).insertFor(argThat(logs -> logs.size() == 1
+                && testAccountId.equals(logs.get(0).getFromAccountId())
+                && logs.get(0).getToAccountId() == null), eq(1));
     }
 
     @Test
@@ -0,0 +1,250 @@
+package com.moneytransfersystem.service;
+
+import com.moneytransfersystem.config.AccountCacheProperties;
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.domain.dtos.BatchTransferRequest;
+import com.moneytransfersystem.domain.dtos.BatchTransferResponse;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.enums.BatchItemOutcome;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.repository.AccountDailyAggregateWriter;
+import com.moneytransfersystem.repository.AccountPostingWriter;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.TransactionLogBatchWriter;
+import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import com.moneytransfersystem.service.idempotency.IdempotencyKeyFilter;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchTransferService Unit Tests")
+class BatchTransferServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionLogRepository transactionLogRepository;
+
+    @Mock
+    private TransactionLogBatchWriter transactionLogBatchWriter;
+
+    @Mock
+    private AccountPostingWriter accountPostingWriter;
+
+    @Mock
+    private AccountDailyAggregateWriter dailyAggregateWriter;
+
+    @Mock
+    private AccountEventHub accountEventHub;
+
+    @Mock
+    private ShardedBalanceService shardedBalanceService;
+
+    @Mock
+    private IdempotencyKeyFilter idempotencyKeyFilter;
+
+    @Spy
+    private TransferProperties transferProperties = new TransferProperties();
+
+    @Spy
+    private AccountSnapshotCache accountSnapshotCache = new AccountSnapshotCache(
+            new AccountCacheProperties(), new ReplicaLagGuard(new ReadReplicaProperties()));
+
+    @InjectMocks
+    private BatchTransferService batchTransferService;
+
+    private Account alice;
+    private Account bob;
+    private Account diana;
+
+    @BeforeEach
+    void setUp() {
+        alice = account("ACC001", "100.00", AccountStatus.ACTIVE);
+        bob = account("ACC002", "50.00", AccountStatus.ACTIVE);
+        diana = account("ACC004", "0.00", AccountStatus.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should apply each item independently against running balances")
+    void testTransferBatch_MixedOutcomes() {
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection()))
+                .thenReturn(List.of("already-used"));
+        when(accountRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(alice, bob, diana));
+
+        BatchTransferResponse response = batchTransferService.transferBatch(batch(
+                transfer("ACC001", "ACC002", "80.00", "k1"),
+                transfer("ACC001", "ACC002", "30.00", "k2"),
+                transfer("ACC002", "ACC001", "10.00", "k1"),
+                transfer("ACC002", "ACC004", "10.00", "k3"),
+                transfer("ACC002", "ACC999", "10.00", "k4"),
+                transfer("ACC002", "ACC001", "10.00", "already-used")
+        ));
+
+        List<BatchItemOutcome> outcomes = response.getResults().stream().map(r -> r.getOutcome()).toList();
+        assertEquals(List.of(
+                BatchItemOutcome.SUCCESS,
+                BatchItemOutcome.REJECTED,
+                BatchItemOutcome.DUPLICATE,
+                BatchItemOutcome.FAILED,
+                BatchItemOutcome.NOT_FOUND,
+                BatchItemOutcome.DUPLICATE), outcomes);
+        assertEquals(1, response.getSucceeded());
+        assertEquals(0, new BigDecimal("20.00").compareTo(alice.getBalance()));
+        assertEquals(0, new BigDecimal("130.00").compareTo(bob.getBalance()));
+
+        ArgumentCaptor<List<TransactionLog>> logs = ArgumentCaptor.forClass(List.class);
+        verify(transactionLogBatchWriter).insertAll(logs.capture(), eq(500));
+        assertEquals(2, logs.getValue().size());
+        assertEquals(TransactionStatus.SUCCESS, logs.getValue().get(0).getStatus());
+        assertEquals(TransactionStatus.FAILED, logs.getValue().get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should write one net update per account and skip accounts that net to zero")
+    void testTransferBatch_NetsPositions() {
+        Account carol = account("ACC003", "0.00", AccountStatus.ACTIVE);
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection()))
+                .thenReturn(Collections.emptyList());
+        when(accountRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(alice, bob, carol));
+
+        BatchTransferResponse response = batchTransferService.transferBatch(batch(
+                transfer("ACC001", "ACC002", "40.00", "k1"),
+                transfer("ACC002", "ACC003", "40.00", "k2"),
+                transfer("ACC003", "ACC001", "40.00", "k3"),
+                transfer("ACC001", "ACC003", "25.00", "k4")
+        ));
+
+        assertEquals(4, response.getSucceeded());
+        ArgumentCaptor<List<Account>> saved = ArgumentCaptor.forClass(List.class);
+        verify(accountRepository).saveAll(saved.capture());
+        assertEquals(List.of("ACC001", "ACC003"), saved.getValue().stream().map(Account::getId).toList());
+        assertEquals(0, new BigDecimal("75.00").compareTo(alice.getBalance()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(bob.getBalance()));
+        assertEquals(0, new BigDecimal("25.00").compareTo(carol.getBalance()));
+
+        ArgumentCaptor<List<TransactionLog>> logs = ArgumentCaptor.forClass(List.class);
+        verify(transactionLogBatchWriter).insertAll(logs.capture(), anyInt());
+        assertEquals(4, logs.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Should reject an item whose running position would go negative even if the batch nets out")
+    void testTransferBatch_ChecksIntermediatePositions() {
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection()))
+                .thenReturn(Collections.emptyList());
+        when(accountRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(alice, bob));
+
+        BatchTransferResponse response = batchTransferService.transferBatch(batch(
+                transfer("ACC002", "ACC001", "60.00", "k1"),
+                transfer("ACC001", "ACC002", "100.00", "k2"),
+                transfer("ACC002", "ACC001", "60.00", "k3")
+        ));
+
+        assertEquals(List.of(BatchItemOutcome.REJECTED, BatchItemOutcome.SUCCESS, BatchItemOutcome.SUCCESS),
+                response.getResults().stream().map(r -> r.getOutcome()).toList());
+        assertEquals(0, new BigDecimal("60.00").compareTo(alice.getBalance()));
+        assertEquals(0, new BigDecimal("90.00").compareTo(bob.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should apply a hot account's net credit as a single shard update")
+    void testTransferBatch_NetsShardedCredits() {
+        Account hot = account("ACC005", "0.00", AccountStatus.ACTIVE).toBuilder().shardCount(4).build();
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection()))
+                .thenReturn(Collections.emptyList());
+        when(accountRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(alice, bob, hot));
+
+        batchTransferService.transferBatch(batch(
+                transfer("ACC001", "ACC005", "10.00", "k1"),
+                transfer("ACC002", "ACC005", "20.00", "k2"),
+                transfer("ACC001", "ACC005", "5.00", "k3")
+        ));
+
+        verify(shardedBalanceService).credit("ACC005", 4, new BigDecimal("35.00"));
+        verify(shardedBalanceService, never()).lockedTotalBalance(any());
+        verify(shardedBalanceService, never()).debit(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch larger than the configured maximum")
+    void testTransferBatch_TooLarge() {
+        transferProperties.setBatchMaxItems(1);
+
+        assertThrows(IllegalArgumentException.class, () -> batchTransferService.transferBatch(batch(
+                transfer("ACC001", "ACC002", "1.00", "k1"),
+                transfer("ACC001", "ACC002", "1.00", "k2"))));
+
+        verifyNoInteractions(accountRepository, transactionLogBatchWriter);
+    }
+
+    @Test
+    @DisplayName("Should look up keys and accounts in chunks")
+    void testTransferBatch_Chunked() {
+        transferProperties.setBatchChunkSize(2);
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection()))
+                .thenReturn(Collections.emptyList());
+        when(accountRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(alice, bob));
+
+        batchTransferService.transferBatch(batch(
+                transfer("ACC001", "ACC002", "1.00", "k1"),
+                transfer("ACC001", "ACC002", "1.00", "k2"),
+                transfer("ACC001", "ACC002", "1.00", "k3")));
+
+        verify(transactionLogRepository, times(2)).findExistingIdempotencyKeys(anyCollection());
+        verify(accountRepository, times(1)).findAllById(anyIterable());
+    }
+
+    private static Account account(String id, String balance, AccountStatus status) {
+        return Account.builder()
+                .id(id)
+                .holderName(id)
+                .balance(new BigDecimal(balance))
+                .status(status)
+                .password("password")
+                .build();
+    }
+
+    private static TransferRequest transfer(String from, String to, String amount, String key) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(new BigDecimal(amount));
+        request.setIdempotencyKey(key);
+        return request;
+    }
+
+    private static BatchTransferRequest batch(TransferRequest... transfers) {
+        BatchTransferRequest request = new BatchTransferRequest();
+        request.setTransfers(new ArrayList<>(List.of(transfers)));
+        return request;
+    }
+}
@@ -0,0 +1,150 @@
+package com.moneytransfersystem.service;
+
+import com.moneytransfersystem.config.AccountCacheProperties;
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.AccountShard;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.AccountShardRepository;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShardedBalanceService Unit Tests")
+class ShardedBalanceServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountShardRepository accountShardRepository;
+
+    @Spy
+    private AccountSnapshotCache accountSnapshotCache = new AccountSnapshotCache(
+            new AccountCacheProperties(), new ReplicaLagGuard(new ReadReplicaProperties()));
+
+    @InjectMocks
+    private ShardedBalanceService shardedBalanceService;
+
+    private Account whale;
+
+    @BeforeEach
+    void setUp() {
+        whale = Account.builder()
+                .id("ACC005")
+                .holderName("Eve")
+                .balance(new BigDecimal("1000000.00"))
+                .status(AccountStatus.ACTIVE)
+                .password("password")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should split balance evenly and keep the rounding remainder in slot 0")
+    void testSplit_PreservesTotal() {
+        List<AccountShard> shards = ShardedBalanceService.split("ACC005", new BigDecimal("100.0001"), 3);
+
+        assertEquals(3, shards.size());
+        assertEquals(0, new BigDecimal("33.3335").compareTo(shards.get(0).getBalance()));
+        assertEquals(0, new BigDecimal("33.3333").compareTo(shards.get(1).getBalance()));
+        BigDecimal total = shards.stream().map(AccountShard::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal("100.0001").compareTo(total));
+    }
+
+    @Test
+    @DisplayName("Should move the balance into shards when enabling hot-account mode")
+    void testEnableSharding_Success() {
+        when(accountRepository.findById("ACC005")).thenReturn(Optional.of(whale));
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Account result = shardedBalanceService.enableSharding("ACC005", 8);
+
+        assertEquals(8, result.getShardCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getBalance()));
+        verify(accountShardRepository).saveAll(argThat(shards -> ((List<?>) shards).size() == 8));
+    }
+
+    @Test
+    @DisplayName("Should reject a shard count outside the supported range")
+    void testEnableSharding_InvalidCount() {
+        assertThrows(IllegalArgumentException.class, () -> shardedBalanceService.enableSharding("ACC005", 1));
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should debit a single slot when one covers the amount")
+    void testDebit_SingleSlot() {
+        when(accountShardRepository.guardedDebit(eq("ACC005"), anyInt(), any(), any(Instant.class)))
+                .thenReturn(1);
+
+        shardedBalanceService.debit("ACC005", 4, BigDecimal.TEN);
+
+        verify(accountShardRepository, times(1)).guardedDebit(eq("ACC005"), anyInt(), any(), any(Instant.class));
+        verify(accountShardRepository, never()).findAllForUpdate(anyString());
+    }
+
+    @Test
+    @DisplayName("Should rebalance all slots when no single slot covers the amount")
+    void testDebit_Rebalance() {
+        List<AccountShard> shards = List.of(
+                AccountShard.of("ACC005", 0, new BigDecimal("30")),
+                AccountShard.of("ACC005", 1, new BigDecimal("30")));
+        when(accountShardRepository.guardedDebit(eq("ACC005"), anyInt(), any(), any(Instant.class)))
+                .thenReturn(0);
+        when(accountShardRepository.findAllForUpdate("ACC005")).thenReturn(shards);
+
+        shardedBalanceService.debit("ACC005", 2, new BigDecimal("50"));
+
+        ArgumentCaptor<List<AccountShard>> captor = ArgumentCaptor.forClass(List.class);
+        verify(accountShardRepository).saveAll(captor.capture());
+        assertEquals(0, new BigDecimal("5").compareTo(captor.getValue().get(0).getBalance()));
+        assertEquals(0, new BigDecimal("5").compareTo(captor.getValue().get(1).getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should reject a debit larger than the sum of all slots")
+    void testDebit_InsufficientBalance() {
+        when(accountShardRepository.guardedDebit(eq("ACC005"), anyInt(), any(), any(Instant.class)))
+                .thenReturn(0);
+        when(accountShardRepository.findAllForUpdate("ACC005"))
+                .thenReturn(List.of(AccountShard.of("ACC005", 0, new BigDecimal("30"))));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> shardedBalanceService.debit("ACC005", 1, new BigDecimal("50")));
+
+        assertEquals("Insufficient balance", ex.getMessage());
+        verify(accountShardRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should report the summed balance for a hot account")
+    void testWithAggregatedBalance() {
+        whale.setShardCount(4);
+        whale.setBalance(BigDecimal.ZERO);
+        when(accountShardRepository.sumBalanceByAccountId("ACC005")).thenReturn(new BigDecimal("1000000.00"));
+
+        Account view = shardedBalanceService.withAggregatedBalance(whale);
+
+        assertEquals(0, new BigDecimal("1000000.00").compareTo(view.getBalance()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(whale.getBalance()));
+    }
+}
@@ -0,0 +1,176 @@
+package com.moneytransfersystem.service;
+
+import com.moneytransfersystem.config.IdempotencyProperties;
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.repository.AccountPostingWriter;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.service.idempotency.IdempotencyKeyFilter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Platform against virtual threads for blocking request handling at 1k–10k concurrent clients.
+ * Each request waits on a downstream call, then holds a pooled connection for a simulated
+ * MySQL round trip plus the real history query. The platform side is capped at Tomcat's
+ * default 200 threads; the virtual side is capped only by the 20-connection Hikari pool.
+ * Opt-in: {@code mvn test -Dtest=ThreadModelBenchmark -Dbenchmark=true}. The virtual run
+ * is skipped, with a log line, on runtimes older than Java 21.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:thread-model;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        // Queueing for a connection is the behaviour under test, so let clients wait it out
+        "spring.datasource.hikari.connection-timeout=120000",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TransferService.class, TransferProperties.class, ShardedBalanceService.class, AccountPostingWriter.class,
+        IdempotencyKeyFilter.class, IdempotencyProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Platform vs virtual thread benchmark")
+class ThreadModelBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ThreadModelBenchmark.class);
+
+    private static final int[] CLIENTS = {1_000, 5_000, 10_000};
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+    private static final int REQUESTS_PER_CLIENT = 3;
+    private static final long DOWNSTREAM_MILLIS = 10;
+    private static final int DB_ROUND_TRIP_MILLIS = 2;
+    private static final String ACCOUNT_ID = "BENCH-ACC";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Models the time a MySQL round trip holds the pooled connection
+            entityManager.createNativeQuery("CREATE ALIAS IF NOT EXISTS BENCH_SLEEP FOR \"java.lang.Thread.sleep(long)\"")
+                    .executeUpdate();
+            if (!accountRepository.existsById(ACCOUNT_ID)) {
+                accountRepository.save(Account.builder().id(ACCOUNT_ID).holderName(ACCOUNT_ID)
+                        .balance(new BigDecimal("1000")).status(AccountStatus.ACTIVE).password("password").build());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Compare throughput and client latency for 1k, 5k and 10k clients")
+    void compareThreadModels() throws Exception {
+        Optional<Supplier<ExecutorService>> virtual = virtualThreadExecutor();
+        if (virtual.isEmpty()) {
+            logger.warn("Virtual threads unavailable | javaVersion={} | reason=requires Java 21, platform results only",
+                    Runtime.version().feature());
+        }
+        for (int clients : CLIENTS) {
+            run("platform", clients, () -> Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS));
+            if (virtual.isPresent()) {
+                run("virtual", clients, virtual.get());
+            }
+        }
+    }
+
+    private void run(String model, int clients, Supplier<ExecutorService> executorFactory) throws Exception {
+        long[] completion = new long[clients];
+        ExecutorService executor = executorFactory.get();
+        long start = System.nanoTime();
+        try {
+            List<Future<Long>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        handleRequest();
+                    }
+                    return System.nanoTime() - start;
+                }));
+            }
+            for (int c = 0; c < clients; c++) {
+                completion[c] = futures.get(c).get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        report(model, clients, elapsedNanos, completion);
+    }
+
+    /**
+     * One request: downstream wait without a connection, then a transaction holding one.
+     */
+    private void handleRequest() throws InterruptedException {
+        Thread.sleep(DOWNSTREAM_MILLIS);
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("CALL BENCH_SLEEP(" + DB_ROUND_TRIP_MILLIS + ")").getResultList();
+            transferService.getTransactionHistory(ACCOUNT_ID);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Supplier<ExecutorService>> virtualThreadExecutor() {
+        try {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of(() -> {
+                try {
+                    return (ExecutorService) factory.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void report(String model, int clients, long elapsedNanos, long[] completion) {
+        Arrays.sort(completion);
+        long requests = (long) clients * REQUESTS_PER_CLIENT;
+        logger.info("Thread model | model={} | clients={} | requests={} | elapsedMs={} | requestsPerSec={} | clientP50Ms={} | clientP99Ms={}",
+                model, clients, requests, elapsedNanos / 1_000_000,
+                requests * 1_000_000_000L / elapsedNanos,
+                completion[clients / 2] / 1_000_000,
+                completion[(int) (clients * 0.99)] / 1_000_000);
+    }
+}
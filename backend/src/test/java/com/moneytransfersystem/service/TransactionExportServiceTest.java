@@ -0,0 +1,130 @@
+package com.moneytransfersystem.service;
+
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.ExportFormat;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.repository.TransactionLogExportReader;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionExportService Unit Tests")
+class TransactionExportServiceTest {
+
+    private static final Instant CREATED_ON = Instant.parse("2026-01-02T03:04:05Z");
+
+    @Mock
+    private TransactionLogExportReader exportReader;
+
+    @Spy
+    private TransferProperties transferProperties = new TransferProperties();
+
+    @Spy
+    private ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard(new ReadReplicaProperties());
+
+    @InjectMocks
+    private TransactionExportService transactionExportService;
+
+    @BeforeEach
+    void setUp() {
+        transferProperties.setExportFetchSize(100);
+        transferProperties.setExportFlushRows(1);
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote fields containing separators or quotes")
+    void testCsvExport() throws Exception {
+        emit(log("tx-1", "ACC001", "ACC002", "50.00", TransactionStatus.SUCCESS, "rent, \"March\""),
+                log("tx-2", "ACC002", "ACC001", "5.50", TransactionStatus.FAILED, null));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export("ACC001", null, null, ExportFormat.CSV, false).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("transaction_id,from_account_id"));
+        assertEquals("tx-1,ACC001,ACC002,50.00,SUCCESS,,key-tx-1,2026-01-02T03:04:05Z,\"rent, \"\"March\"\"\"", lines[1]);
+        assertEquals("tx-2,ACC002,ACC001,5.50,FAILED,,key-tx-2,2026-01-02T03:04:05Z,", lines[2]);
+        verify(exportReader).forEach(eq("ACC001"), any(Instant.class), any(Instant.class), eq(100), any());
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line and gzip the stream when asked")
+    void testNdjsonGzipExport() throws Exception {
+        emit(log("tx-1", "ACC001", "ACC002", "50.00", TransactionStatus.SUCCESS, "line\nbreak"),
+                log("tx-2", "ACC002", "ACC001", "5.50", TransactionStatus.SUCCESS, null));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export("ACC001", null, null, ExportFormat.NDJSON, true).writeTo(out);
+
+        String text;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = text.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"tx-1\""));
+        assertTrue(lines[0].contains("\"amount\":50.00"));
+        assertTrue(lines[0].contains("\"remarks\":\"line\\nbreak\""));
+        assertTrue(lines[1].startsWith("{\"id\":\"tx-2\""));
+    }
+
+    @Test
+    @DisplayName("Should pass the date range through and reject an empty one before streaming")
+    void testDateRange() throws Exception {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-02-01T00:00:00Z");
+
+        transactionExportService.export("ACC001", from, to, ExportFormat.CSV, false).writeTo(new ByteArrayOutputStream());
+
+        verify(exportReader).forEach(eq("ACC001"), eq(from), eq(to), anyInt(), any());
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionExportService.export("ACC001", to, from, ExportFormat.CSV, false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emit(TransactionLog... logs) {
+        doAnswer(invocation -> {
+            Consumer<TransactionLog> action = invocation.getArgument(4);
+            for (TransactionLog log : logs) {
+                action.accept(log);
+            }
+            return null;
+        }).when(exportReader).forEach(anyString(), any(Instant.class), any(Instant.class), anyInt(), any(Consumer.class));
+    }
+
+    private static TransactionLog log(String id, String from, String to, String amount,
+                                      TransactionStatus status, String remarks) {
+        return TransactionLog.builder()
+                .id(id)
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(new BigDecimal(amount))
+                .status(status)
+                .idempotencyKey("key-" + id)
+                .createdOn(CREATED_ON)
+                .remarks(remarks)
+                .build();
+    }
+}
@@ -1,26 +1,52 @@
 package com.moneytransfersystem.service;
 
+import com.moneytransfersystem.config.AccountCacheProperties;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.config.IdempotencyProperties;
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.domain.dtos.AccountDailySummary;
+import com.moneytransfersystem.domain.dtos.AccountStatementPage;
+import com.moneytransfersystem.domain.dtos.TransactionHistoryPage;
 import com.moneytransfersystem.domain.dtos.TransferRequest;
 import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.AccountPosting;
 import com.moneytransfersystem.domain.entities.TransactionLog;
 import com.moneytransfersystem.domain.enums.AccountStatus;
 import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.domain.enums.TransferExecutionMode;
 import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
 import com.moneytransfersystem.domain.exceptions.DuplicateTranferException;
+import com.moneytransfersystem.repository.AccountDailyAggregateRepository;
+import com.moneytransfersystem.repository.AccountDailyAggregateWriter;
+import com.moneytransfersystem.repository.AccountPostingRepository;
+import com.moneytransfersystem.repository.AccountPostingWriter;
 import com.moneytransfersystem.repository.AccountRepository;
 import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import com.moneytransfersystem.service.idempotency.IdempotencyKeyFilter;
+import com.moneytransfersystem.service.metrics.TransferMetrics;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +54,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +67,44 @@ class TransferServiceTest {
     @Mock
     private TransactionLogRepository transactionLogRepository;
 
+    @Mock
+    private AccountPostingWriter accountPostingWriter;
+
+    @Mock
+    private AccountDailyAggregateWriter dailyAggregateWriter;
+
+    @Mock
+    private AccountEventHub accountEventHub;
+
+    @Mock
+    private AccountDailyAggregateRepository dailyAggregateRepository;
+
+    @Mock
+    private AccountPostingRepository accountPostingRepository;
+
+    @Mock
+    private ShardedBalanceService shardedBalanceService;
+
+    @Spy
+    private TransferProperties transferProperties = new TransferProperties();
+
+    private final IdempotencyProperties idempotencyProperties = new IdempotencyProperties();
+
+    @Spy
+    private IdempotencyKeyFilter idempotencyKeyFilter = new IdempotencyKeyFilter(idempotencyProperties);
+
+    @Spy
+    private ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard(new ReadReplicaProperties());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(meterRegistry);
+
+    @Spy
+    private AccountSnapshotCache accountSnapshotCache = new AccountSnapshotCache(
+            new AccountCacheProperties(), replicaLagGuard);
+
     @InjectMocks
     private TransferService transferService;
 
@@ -50,6 +115,9 @@ class TransferServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Pass-through by default: every key goes to findByIdempotencyKey
+        idempotencyProperties.setEnabled(false);
+
         String fromAccountId = UUID.randomUUID().toString();
         String toAccountId = UUID.randomUUID().toString();
         idempotencyKey = UUID.randomUUID().toString();
@@ -104,6 +172,15 @@ class TransferServiceTest {
         
         verify(accountRepository, times(2)).save(any(Account.class));
         verify(transactionLogRepository, times(1)).save(any(TransactionLog.class));
+        // The UPDATEs run inside the SAVE phase, not at commit
+        InOrder order = inOrder(accountRepository, transferMetrics);
+        order.verify(accountRepository).flush();
+        order.verify(transferMetrics).recordPhase(eq(TransferMetrics.Phase.SAVE), anyLong());
+
+        assertEquals(1, meterRegistry.get("transfer.duration").timer().count());
+        assertEquals(1, meterRegistry.get("transfer.phase").tag("phase", "load").timer().count());
+        assertEquals(1, meterRegistry.get("transfer.phase").tag("phase", "log").timer().count());
+        assertEquals(1.0, meterRegistry.get("transfer.outcomes").tag("status", "SUCCESS").counter().count());
     }
 
     @Test
@@ -155,6 +232,8 @@ class TransferServiceTest {
             () -> transferService.transfer(transferRequest));
         
         verify(transactionLogRepository, times(1)).findByIdempotencyKey(idempotencyKey);
+        assertEquals(1.0, meterRegistry.get("transfer.outcomes")
+                .tags("status", "REJECTED", "reason", "SENDER_ACCOUNT_NOT_FOUND").counter().count());
     }
 
     @Test
@@ -213,6 +292,98 @@ class TransferServiceTest {
                 .findByFromAccountIdOrToAccountIdOrderByCreatedOnDesc(accountId, accountId);
     }
 
+    @Test
+    @DisplayName("Should merge sent and received seeks into one newest-first page with a cursor")
+    void testGetTransactionHistoryPage_MergesDirections() {
+        String accountId = fromAccount.getId();
+        Instant now = Instant.parse("2024-05-01T10:00:00Z");
+        TransactionLog sentNewest = historyLog("T4", accountId, toAccount.getId(), now);
+        TransactionLog self = historyLog("T3", accountId, accountId, now.minusSeconds(10));
+        TransactionLog receivedOlder = historyLog("T2", toAccount.getId(), accountId, now.minusSeconds(20));
+        TransactionLog sentOldest = historyLog("T1", accountId, toAccount.getId(), now.minusSeconds(30));
+
+        when(transactionLogRepository.findSentFirstPage(eq(accountId), any()))
+                .thenReturn(List.of(sentNewest, self, sentOldest));
+        when(transactionLogRepository.findReceivedFirstPage(eq(accountId), any()))
+                .thenReturn(List.of(self, receivedOlder));
+
+        TransactionHistoryPage page = transferService.getTransactionHistoryPage(accountId, 2, null);
+
+        assertEquals(List.of("T4", "T3"), page.getItems().stream().map(TransactionLog::getId).toList());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should seek strictly after the row the cursor was built from")
+    void testGetTransactionHistoryPage_CursorRoundTrip() {
+        String accountId = fromAccount.getId();
+        Instant createdOn = Instant.parse("2024-05-01T10:00:00.123456Z");
+        TransactionLog first = historyLog("T9", accountId, toAccount.getId(), createdOn.plusSeconds(1));
+        TransactionLog second = historyLog("T8", accountId, toAccount.getId(), createdOn);
+
+        when(transactionLogRepository.findSentFirstPage(eq(accountId), any()))
+                .thenReturn(List.of(first, second));
+        when(transactionLogRepository.findReceivedFirstPage(eq(accountId), any()))
+                .thenReturn(List.of());
+
+        String cursor = transferService.getTransactionHistoryPage(accountId, 1, null).getNextCursor();
+        transferService.getTransactionHistoryPage(accountId, 1, cursor);
+
+        verify(transactionLogRepository).findSentBefore(eq(accountId), eq(createdOn.plusSeconds(1)), eq("T9"), any());
+        verify(transactionLogRepository).findReceivedBefore(eq(accountId), eq(createdOn.plusSeconds(1)), eq("T9"), any());
+    }
+
+    @Test
+    @DisplayName("Should read the first statement page without a cursor predicate and seek from its cursor")
+    void testGetStatementPage_FirstPageThenSeek() {
+        String accountId = fromAccount.getId();
+        Instant createdOn = Instant.parse("2024-05-01T10:00:00Z");
+        AccountPosting newest = AccountPosting.builder().accountId(accountId).transactionId("T2").createdOn(createdOn).build();
+        AccountPosting older = AccountPosting.builder().accountId(accountId).transactionId("T1").createdOn(createdOn.minusSeconds(5)).build();
+        when(accountPostingRepository.findFirstPage(eq(accountId), any())).thenReturn(List.of(newest, older));
+
+        AccountStatementPage first = transferService.getStatementPage(accountId, 1, null);
+        transferService.getStatementPage(accountId, 1, first.getNextCursor());
+
+        assertEquals(List.of("T2"), first.getItems().stream().map(AccountPosting::getTransactionId).toList());
+        verify(accountPostingRepository).findFirstPage(eq(accountId), any());
+        verify(accountPostingRepository).findPageBefore(eq(accountId), eq(createdOn), eq("T2"), any());
+    }
+
+    @Test
+    @DisplayName("Should reject out-of-range page sizes and malformed cursors")
+    void testGetTransactionHistoryPage_InvalidInput() {
+        String accountId = fromAccount.getId();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> transferService.getTransactionHistoryPage(accountId, 0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> transferService.getTransactionHistoryPage(accountId, transferProperties.getHistoryMaxPageSize() + 1, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> transferService.getTransactionHistoryPage(accountId, 10, "not-a-cursor"));
+        // Well formed, but outside what a DATETIME column can hold
+        for (String createdOn : List.of("+10000-01-01T00:00:00Z", "9999-12-31T23:59:59Z", "0001-01-01T00:00:00Z")) {
+            String token = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdOn + "|T1").getBytes(StandardCharsets.UTF_8));
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> transferService.getTransactionHistoryPage(accountId, 10, token));
+            assertEquals(AppConstants.INVALID_HISTORY_CURSOR, ex.getMessage());
+        }
+        verifyNoInteractions(transactionLogRepository);
+    }
+
+    private static TransactionLog historyLog(String id, String from, String to, Instant createdOn) {
+        return TransactionLog.builder()
+                .id(id)
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(BigDecimal.TEN)
+                .status(TransactionStatus.SUCCESS)
+                .createdOn(createdOn)
+                .build();
+    }
+
     @Test
     @DisplayName("Should return empty list when no transaction history exists")
     void testGetTransactionHistory_Empty() {
@@ -279,4 +450,234 @@ class TransferServiceTest {
         assertEquals(TransactionStatus.SUCCESS, savedLog.getStatus());
         assertEquals(idempotencyKey, savedLog.getIdempotencyKey());
     }
+
+    @Test
+    @DisplayName("Should transfer with guarded updates without loading accounts")
+    void testGuardedTransfer_Success() {
+        transferProperties.setExecutionMode(TransferExecutionMode.GUARDED_UPDATE);
+
+        when(transactionLogRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.empty());
+        when(accountRepository.guardedDebit(eq(fromAccount.getId()), eq(transferRequest.getAmount()), any(Instant.class)))
+                .thenReturn(1);
+        when(accountRepository.guardedCredit(eq(toAccount.getId()), eq(transferRequest.getAmount()), any(Instant.class)))
+                .thenReturn(1);
+        when(transactionLogRepository.save(any(TransactionLog.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionLog result = transferService.transfer(transferRequest);
+
+        assertEquals(TransactionStatus.SUCCESS, result.getStatus());
+        verify(accountRepository, never()).findById(anyString());
+        verify(accountRepository, never()).save(any());
+        verify(accountRepository, never()).revertDebit(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should report insufficient balance when the guarded debit matches no row")
+    void testGuardedTransfer_InsufficientBalance() {
+        transferProperties.setExecutionMode(TransferExecutionMode.GUARDED_UPDATE);
+
+        when(transactionLogRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.empty());
+        when(accountRepository.guardedDebit(eq(fromAccount.getId()), any(), any(Instant.class)))
+                .thenReturn(0);
+        when(accountRepository.findStatusById(fromAccount.getId()))
+                .thenReturn(Optional.of(AccountStatus.ACTIVE));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> transferService.transfer(transferRequest));
+
+        assertEquals("Insufficient balance", ex.getMessage());
+        verify(accountRepository, never()).guardedCredit(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should report missing sender when the guarded debit matches no row")
+    void testGuardedTransfer_SenderNotFound() {
+        transferProperties.setExecutionMode(TransferExecutionMode.GUARDED_UPDATE);
+
+        when(transactionLogRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.empty());
+        when(accountRepository.guardedDebit(eq(fromAccount.getId()), any(), any(Instant.class)))
+                .thenReturn(0);
+        when(accountRepository.findStatusById(fromAccount.getId()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class,
+            () -> transferService.transfer(transferRequest));
+    }
+
+    @Test
+    @DisplayName("Should revert the debit and log FAILED when the receiver is inactive")
+    void testGuardedTransfer_ReceiverInactive() {
+        transferProperties.setExecutionMode(TransferExecutionMode.GUARDED_UPDATE);
+
+        when(transactionLogRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.empty());
+        when(accountRepository.guardedDebit(eq(fromAccount.getId()), any(), any(Instant.class)))
+                .thenReturn(1);
+        when(accountRepository.guardedCredit(eq(toAccount.getId()), any(), any(Instant.class)))
+                .thenReturn(0);
+        when(accountRepository.findStatusById(toAccount.getId()))
+                .thenReturn(Optional.of(AccountStatus.CLOSED));
+        when(transactionLogRepository.save(any(TransactionLog.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionLog result = transferService.transfer(transferRequest);
+
+        assertEquals(TransactionStatus.FAILED, result.getStatus());
+        assertEquals("Account is not active", result.getFailureReason());
+        verify(accountRepository).revertDebit(eq(fromAccount.getId()), eq(transferRequest.getAmount()), any(Instant.class));
+        assertEquals(1.0, meterRegistry.get("transfer.outcomes")
+                .tags("status", "FAILED", "reason", "ACCOUNT_NOT_ACTIVE").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should route a hot sender to its shards instead of saving the account row")
+    void testTransfer_ShardedSender() {
+        fromAccount.setShardCount(4);
+        fromAccount.setBalance(BigDecimal.ZERO);
+
+        when(transactionLogRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.empty());
+        when(accountRepository.findById(fromAccount.getId()))
+                .thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findById(toAccount.getId()))
+                .thenReturn(Optional.of(toAccount));
+        when(transactionLogRepository.save(any(TransactionLog.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionLog result = transferService.transfer(transferRequest);
+
+        assertEquals(TransactionStatus.SUCCESS, result.getStatus());
+        verify(shardedBalanceService).debit(fromAccount.getId(), 4, transferRequest.getAmount());
+        verify(accountRepository, never()).save(fromAccount);
+        verify(accountRepository).save(toAccount);
+        assertEquals(0, BigDecimal.valueOf(600.00).compareTo(toAccount.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should route a hot receiver to its shards when the guarded credit matches no row")
+    void testGuardedTransfer_ShardedReceiver() {
+        transferProperties.setExecutionMode(TransferExecutionMode.GUARDED_UPDATE);
+
+        when(transactionLogRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.empty());
+        when(accountRepository.guardedDebit(eq(fromAccount.getId()), any(), any(Instant.class)))
+                .thenReturn(1);
+        when(accountRepository.guardedCredit(eq(toAccount.getId()), any(), any(Instant.class)))
+                .thenReturn(0);
+        when(accountRepository.findStatusById(toAccount.getId()))
+                .thenReturn(Optional.of(AccountStatus.ACTIVE));
+        when(accountRepository.findShardCountById(toAccount.getId()))
+                .thenReturn(Optional.of(8));
+        when(transactionLogRepository.save(any(TransactionLog.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionLog result = transferService.transfer(transferRequest);
+
+        assertEquals(TransactionStatus.SUCCESS, result.getStatus());
+        verify(shardedBalanceService).credit(toAccount.getId(), 8, transferRequest.getAmount());
+        verify(accountRepository, never()).revertDebit(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip the idempotency lookup when the warm filter rules the key out")
+    void testTransfer_FilterDefiniteMiss() {
+        idempotencyProperties.setEnabled(true);
+        idempotencyKeyFilter.markWarm();
+
+        when(accountRepository.findById(fromAccount.getId()))
+                .thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findById(toAccount.getId()))
+                .thenReturn(Optional.of(toAccount));
+        when(transactionLogRepository.save(any(TransactionLog.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionLog result = transferService.transfer(transferRequest);
+
+        assertEquals(TransactionStatus.SUCCESS, result.getStatus());
+        verify(transactionLogRepository, never()).findByIdempotencyKey(anyString());
+        verify(transactionLogRepository).flush();
+        assertEquals(1, idempotencyKeyFilter.getDefiniteMisses());
+        assertEquals(result.getId(), idempotencyKeyFilter.knownTransactionId(idempotencyKey).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should reject a recently committed key without touching the database")
+    void testTransfer_FilterKnownDuplicate() {
+        idempotencyProperties.setEnabled(true);
+        idempotencyKeyFilter.markWarm();
+        idempotencyKeyFilter.remember(idempotencyKey, "tx-1");
+
+        assertThrows(DuplicateTranferException.class,
+            () -> transferService.transfer(transferRequest));
+
+        verifyNoInteractions(transactionLogRepository, accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should map a unique-constraint violation to a duplicate when the lookup was skipped")
+    void testTransfer_FilterMissCaughtByConstraint() {
+        idempotencyProperties.setEnabled(true);
+        idempotencyKeyFilter.markWarm();
+
+        when(accountRepository.findById(fromAccount.getId()))
+                .thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findById(toAccount.getId()))
+                .thenReturn(Optional.of(toAccount));
+        doThrow(new DataIntegrityViolationException("uk_idempotency_key"))
+                .when(transactionLogRepository).flush();
+
+        assertThrows(DuplicateTranferException.class,
+            () -> transferService.transfer(transferRequest));
+
+        assertEquals(1, idempotencyKeyFilter.getConstraintViolations());
+        assertTrue(idempotencyKeyFilter.knownTransactionId(idempotencyKey).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should read the daily summary from the aggregates and reject inverted or oversized ranges")
+    void testGetDailySummary() {
+        LocalDate from = LocalDate.parse("2026-03-01");
+        LocalDate to = LocalDate.parse("2026-03-31");
+        AccountDailySummary day = new AccountDailySummary(from, 2L, new BigDecimal("70.00"), 0L,
+                BigDecimal.ZERO, 1L, new BigDecimal("20.00"), new BigDecimal("50.00"));
+        when(dailyAggregateRepository.summarize(fromAccount.getId(), from, to)).thenReturn(List.of(day));
+
+        assertEquals(List.of(day), transferService.getDailySummary(fromAccount.getId(), from, to));
+        assertThrows(IllegalArgumentException.class,
+            () -> transferService.getDailySummary(fromAccount.getId(), to, from));
+        assertThrows(IllegalArgumentException.class,
+            () -> transferService.getDailySummary(fromAccount.getId(), from.minusYears(2), to));
+    }
+
+    private static TransactionLogRepository.LogMarker marker(String id, Instant createdOn) {
+        return new TransactionLogRepository.LogMarker() {
+            @Override
+            public Instant getCreatedOn() {
+                return createdOn;
+            }
+
+            @Override
+            public String getId() {
+                return id;
+            }
+        };
+    }
+
+    private static AccountRepository.VersionView versionView(Long version) {
+        return new AccountRepository.VersionView() {
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public Integer getShardCount() {
+                return null;
+            }
+        };
+    }
 }
@@ -0,0 +1,117 @@
+package com.moneytransfersystem.service.auth;
+
+import com.moneytransfersystem.config.CredentialCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CredentialCache Unit Tests")
+class CredentialCacheTest {
+
+    private CredentialCacheProperties properties;
+    private CredentialCache cache;
+    private PasswordEncoder delegate;
+    private CachingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CredentialCacheProperties();
+        cache = new CredentialCache(properties);
+        delegate = mock(PasswordEncoder.class);
+        when(delegate.matches("secret", "hash-v1")).thenReturn(true);
+        encoder = new CachingPasswordEncoder(delegate, cache);
+    }
+
+    @Test
+    @DisplayName("Should skip the slow check for a password verified against the same hash")
+    void testMatches_CachedAfterSuccess() {
+        assertTrue(encoder.matches("secret", "hash-v1"));
+        assertTrue(encoder.matches("secret", "hash-v1"));
+
+        verify(delegate, times(1)).matches("secret", "hash-v1");
+        assertEquals(1, cache.getVerificationHits());
+    }
+
+    @Test
+    @DisplayName("Should never trust a different password or a different stored hash")
+    void testMatches_OnlyExactSecretAndHash() {
+        encoder.matches("secret", "hash-v1");
+
+        assertFalse(encoder.matches("guess", "hash-v1"));
+        assertFalse(encoder.matches("secret", "hash-v2"));
+        assertFalse(encoder.matches("guess", "hash-v1"));
+
+        verify(delegate, times(2)).matches("guess", "hash-v1");
+        verify(delegate).matches("secret", "hash-v2");
+    }
+
+    @Test
+    @DisplayName("Should check again once the verification expired or was invalidated")
+    void testMatches_ExpiryAndInvalidation() {
+        properties.setVerificationTtlMs(0);
+        encoder.matches("secret", "hash-v1");
+        encoder.matches("secret", "hash-v1");
+        verify(delegate, times(2)).matches("secret", "hash-v1");
+
+        properties.setVerificationTtlMs(30_000);
+        encoder.matches("secret", "hash-v1");
+        cache.invalidateAfterCommit("ACC001", "hash-v1");
+        encoder.matches("secret", "hash-v1");
+        verify(delegate, times(4)).matches("secret", "hash-v1");
+    }
+
+    @Test
+    @DisplayName("Should cache principals as copies and reload them after invalidation")
+    void testPrincipal_CachedCopies() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = id -> {
+            loads.incrementAndGet();
+            return User.withUsername(id).password("hash-v1").roles("USER").build();
+        };
+
+        UserDetails first = cache.principal("ACC001", loader);
+        ((User) first).eraseCredentials();
+        UserDetails second = cache.principal("ACC001", loader);
+
+        assertEquals("hash-v1", second.getPassword());
+        assertEquals(1, loads.get());
+
+        cache.invalidateAfterCommit("ACC001", "hash-v1");
+        cache.principal("ACC001", loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should reload a principal once its TTL has passed, without any eviction")
+    void testPrincipal_Expiry() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = id -> {
+            loads.incrementAndGet();
+            // Closed on another node, which could not evict this one
+            return User.withUsername(id).password("hash-v1").roles("USER").disabled(loads.get() > 1).build();
+        };
+
+        properties.setPrincipalTtlMs(0);
+        cache.principal("ACC001", loader);
+        UserDetails reloaded = cache.principal("ACC001", loader);
+
+        assertEquals(2, loads.get());
+        assertFalse(reloaded.isEnabled());
+        assertEquals(0, cache.getPrincipalHits());
+
+        properties.setPrincipalTtlMs(30_000);
+        cache.principal("ACC001", loader);
+        cache.principal("ACC001", loader);
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.getPrincipalHits());
+    }
+}
@@ -0,0 +1,97 @@
+package com.moneytransfersystem.service.auth;
+
+import com.moneytransfersystem.config.JwtProperties;
+import com.moneytransfersystem.domain.dtos.AuthTokens;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.service.AccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtTokenService Unit Tests")
+class JwtTokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @Mock
+    private AccountService accountService;
+
+    private JwtProperties properties;
+    private JwtTokenService jwtTokenService;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        jwtTokenService = new JwtTokenService(properties, accountService);
+        account = Account.builder()
+                .id("ACC001")
+                .holderName("Holder")
+                .balance(new BigDecimal("100.00"))
+                .status(AccountStatus.ACTIVE)
+                .version(0L)
+                .password("encoded-v1")
+                .build();
+        lenient().when(accountService.findById("ACC001")).thenAnswer(invocation -> Optional.of(account.toBuilder().build()));
+    }
+
+    @Test
+    @DisplayName("Should verify an issued access token without loading the account again")
+    void testVerifyAccessToken_Valid() {
+        AuthTokens tokens = jwtTokenService.issue("ACC001");
+
+        assertEquals(Optional.of("ACC001"), jwtTokenService.verifyAccessToken(tokens.getAccessToken()));
+        verify(accountService, times(1)).findById("ACC001");
+        assertEquals(900, tokens.getExpiresIn());
+    }
+
+    @Test
+    @DisplayName("Should reject tampered, expired, foreign and refresh tokens as access tokens")
+    void testVerifyAccessToken_Rejected() {
+        AuthTokens tokens = jwtTokenService.issue("ACC001");
+        String access = tokens.getAccessToken();
+
+        assertTrue(jwtTokenService.verifyAccessToken(access.substring(0, access.length() - 2) + "xx").isEmpty());
+        assertTrue(jwtTokenService.verifyAccessToken(tokens.getRefreshToken()).isEmpty());
+        assertTrue(jwtTokenService.verifyAccessToken("not-a-token").isEmpty());
+
+        JwtProperties otherKey = new JwtProperties();
+        assertTrue(new JwtTokenService(otherKey, accountService).verifyAccessToken(access).isEmpty());
+
+        properties.setAccessTokenTtlMs(-60_000);
+        properties.setClockSkewSeconds(0);
+        JwtTokenService expiring = new JwtTokenService(properties, accountService);
+        assertTrue(expiring.verifyAccessToken(expiring.issue("ACC001").getAccessToken()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refresh while the password is unchanged and the account active")
+    void testRefresh() {
+        String refreshToken = jwtTokenService.issue("ACC001").getRefreshToken();
+
+        Optional<AuthTokens> refreshed = jwtTokenService.refresh(refreshToken);
+        assertTrue(refreshed.isPresent());
+        assertEquals(Optional.of("ACC001"), jwtTokenService.verifyAccessToken(refreshed.get().getAccessToken()));
+
+        account.setPassword("encoded-v2");
+        assertTrue(jwtTokenService.refresh(refreshToken).isEmpty());
+
+        String current = jwtTokenService.issue("ACC001").getRefreshToken();
+        account.setStatus(AccountStatus.CLOSED);
+        assertTrue(jwtTokenService.refresh(current).isEmpty());
+        assertEquals(1, jwtTokenService.getRefreshed());
+    }
+}
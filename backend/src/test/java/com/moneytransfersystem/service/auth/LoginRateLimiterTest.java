@@ -0,0 +1,91 @@
+package com.moneytransfersystem.service.auth;
+
+import com.moneytransfersystem.config.LoginRateLimitProperties;
+import com.moneytransfersystem.domain.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoginRateLimiter Unit Tests")
+class LoginRateLimiterTest {
+
+    private LoginRateLimitProperties properties;
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginRateLimitProperties();
+        properties.setPerIpBurst(4);
+        properties.setPerIpPerMinute(1);
+        properties.setPerAccountBurst(2);
+        properties.setPerAccountPerMinute(1);
+        limiter = new LoginRateLimiter(properties);
+    }
+
+    @Test
+    @DisplayName("Should admit a burst per account, then refuse that account only")
+    void testAcquire_PerAccountBurst() {
+        limiter.acquire("10.0.0.1", "ACC001");
+        limiter.acquire("10.0.0.2", "ACC001");
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.3", "ACC001"));
+        limiter.acquire("10.0.0.3", "ACC002");
+        assertEquals(1, limiter.getAccountRejections());
+        assertEquals(3, limiter.getAdmitted());
+    }
+
+    @Test
+    @DisplayName("Should refuse a client address that spreads attempts over many accounts")
+    void testAcquire_PerIpBurst() {
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire("10.0.0.1", "ACC00" + i);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.1", "ACC009"));
+        limiter.acquire("10.0.0.2", "ACC009");
+        assertEquals(1, limiter.getIpRejections());
+    }
+
+    @Test
+    @DisplayName("Should stay within the key cap and share one bucket among keys past it")
+    void testAcquire_MaxTrackedKeys() throws InterruptedException {
+        properties.setMaxTrackedKeys(3);
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(null, "ACC00" + i);
+            assertTrue(limiter.getTrackedAccounts() <= 3);
+        }
+
+        // ACC003 and ACC004 emptied the shared bucket
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire(null, "ACC005"));
+        assertEquals(3, limiter.getTrackedAccounts());
+
+        // Buckets that are full again make room for new keys
+        properties.setPerAccountPerMinute(60_000);
+        LoginRateLimiter refilling = new LoginRateLimiter(properties);
+        for (int i = 0; i < 3; i++) {
+            refilling.acquire(null, "ACC00" + i);
+        }
+        Thread.sleep(5);
+        refilling.acquire(null, "ACC003");
+        assertEquals(1, refilling.getTrackedAccounts());
+        assertEquals(1L, refilling.snapshot().get("trackedAccounts"));
+    }
+
+    @Test
+    @DisplayName("Should refill buckets over time and admit everything when disabled")
+    void testAcquire_RefillAndDisabled() throws InterruptedException {
+        properties.setPerAccountPerMinute(60_000);
+        limiter.acquire("10.0.0.1", "ACC001");
+        limiter.acquire("10.0.0.1", "ACC001");
+        Thread.sleep(5);
+        limiter.acquire("10.0.0.1", "ACC001");
+
+        properties.setEnabled(false);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("10.0.0.1", "ACC001");
+        }
+        assertEquals(3, limiter.getAdmitted());
+    }
+}
@@ -0,0 +1,94 @@
+package com.moneytransfersystem.service.auth;
+
+import com.moneytransfersystem.config.PasswordHashingProperties;
+import com.moneytransfersystem.domain.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHashingExecutor Unit Tests")
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    @DisplayName("Should run hashes off the calling thread and record their timings")
+    void testHash_RunsOnPool() {
+        executor = new PasswordHashingExecutor(properties(1, 4, 2000));
+
+        String thread = executor.hash(() -> Thread.currentThread().getName());
+
+        assertTrue(thread.startsWith("password-hash-"));
+        assertEquals(1, executor.getCompleted());
+        assertTrue(executor.getHashNanos() > 0);
+        assertEquals(1L, executor.snapshot().get("completed"));
+    }
+
+    @Test
+    @DisplayName("Should refuse at once when the queue is full")
+    void testHash_QueueFull() throws Exception {
+        executor = new PasswordHashingExecutor(properties(1, 1, 5000));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> executor.hash(() -> {
+            running.countDown();
+            await(release);
+            return true;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.hash(() -> true));
+        while (executor.snapshot().get("queued").equals(0)) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> executor.hash(() -> true));
+        assertEquals(1, executor.getRejected());
+
+        release.countDown();
+        assertTrue(busy.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum wait and pass task failures through")
+    void testHash_TimeoutAndFailure() {
+        executor = new PasswordHashingExecutor(properties(1, 4, 50));
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertThrows(TooManyRequestsException.class, () -> executor.hash(() -> await(release)));
+        assertEquals(1, executor.getTimedOut());
+        release.countDown();
+
+        assertThrows(IllegalArgumentException.class, () -> executor.hash(() -> {
+            throw new IllegalArgumentException("bad hash");
+        }));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity, long maxWaitMs) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxWaitMs(maxWaitMs);
+        return properties;
+    }
+}
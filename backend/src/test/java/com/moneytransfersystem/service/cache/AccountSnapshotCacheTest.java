@@ -0,0 +1,166 @@
+package com.moneytransfersystem.service.cache;
+
+import com.moneytransfersystem.config.AccountCacheProperties;
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccountSnapshotCache Unit Tests")
+class AccountSnapshotCacheTest {
+
+    private AccountCacheProperties properties;
+    private AccountSnapshotCache cache;
+    private AtomicReference<Account> stored;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccountCacheProperties();
+        properties.setMaxEntries(2);
+        cache = new AccountSnapshotCache(properties, new ReplicaLagGuard(new ReadReplicaProperties()));
+        stored = new AtomicReference<>(account("ACC001", "100.00", 0L));
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve repeat reads from the cache and report the hit rate")
+    void testGet_HitAfterMiss() {
+        assertEquals(0, new BigDecimal("100.00").compareTo(read().getBalance()));
+        Account second = read();
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(second.getBalance()));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(0.5, cache.getHitRate());
+
+        // Callers get copies, so mutating one does not leak into the cache
+        second.setBalance(BigDecimal.ZERO);
+        assertEquals(0, new BigDecimal("100.00").compareTo(read().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache while a write is open and evict it once the write completes")
+    void testInvalidateAfterCommit_NoStaleReadAfterCommit() {
+        read();
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidateAfterCommit("ACC001");
+
+        stored.set(account("ACC001", "40.00", 1L));
+        assertEquals(0, new BigDecimal("40.00").compareTo(read().getBalance()));
+        assertEquals(1, cache.getBypasses());
+
+        completeTransaction();
+        assertEquals(1L, read().getVersion());
+        assertEquals(1L, read().getVersion());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not store a snapshot loaded while a write began")
+    void testGet_RacedLoadNotCached() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        Optional<Account> loaded = cache.get("ACC001", id -> {
+            loads.incrementAndGet();
+            Account before = stored.get();
+            cache.invalidateAfterCommit(id);
+            stored.set(account(id, "10.00", 1L));
+            return Optional.of(before);
+        });
+        completeTransaction();
+
+        assertEquals(0L, loaded.orElseThrow().getVersion());
+        assertEquals(1, cache.getRacedLoads());
+        assertEquals(1L, read().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should complete a write for the listeners that saw it start when another listener rejects it")
+    void testInvalidateAfterCommit_ListenerRejectsWrite() {
+        List<String> events = new ArrayList<>();
+        cache.addWriteListener((ids, committed) -> events.add("first " + ids + " committed=" + committed));
+        cache.addWriteListener(new AccountSnapshotCache.WriteListener() {
+            @Override
+            public void beforeWrite(Collection<String> accountIds) {
+                throw new IllegalStateException("fenced");
+            }
+
+            @Override
+            public void afterCompletion(Collection<String> accountIds, boolean committed) {
+                events.add("second");
+            }
+        });
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThrows(IllegalStateException.class, () -> cache.invalidateAfterCommit("ACC001"));
+
+        assertEquals(List.of("first [ACC001] committed=false"), events);
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not cache hot accounts or missing ones and should stay within its bound")
+    void testGet_SkipsShardedAndBoundsSize() {
+        stored.set(account("ACC001", "0.00", 0L).toBuilder().shardCount(4).build());
+        read();
+        read();
+        assertEquals(2, loads.get());
+
+        assertTrue(cache.get("missing", id -> Optional.empty()).isEmpty());
+        for (int i = 0; i < 5; i++) {
+            String id = "ACC-" + i;
+            cache.get(id, key -> Optional.of(account(key, "1.00", 0L)));
+        }
+        assertEquals(2, cache.getSize());
+        assertEquals(3, cache.getEvictions());
+    }
+
+    private Account read() {
+        return cache.get("ACC001", id -> {
+            loads.incrementAndGet();
+            return Optional.of(stored.get());
+        }).orElseThrow();
+    }
+
+    private static void completeTransaction() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static Account account(String id, String balance, long version) {
+        return Account.builder()
+                .id(id)
+                .holderName("Holder " + id)
+                .balance(new BigDecimal(balance))
+                .status(AccountStatus.ACTIVE)
+                .version(version)
+                .password("hash")
+                .build();
+    }
+}
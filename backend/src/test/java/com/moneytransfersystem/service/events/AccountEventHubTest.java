@@ -0,0 +1,213 @@
+package com.moneytransfersystem.service.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytransfersystem.config.AccountCacheProperties;
+import com.moneytransfersystem.config.AccountEventsProperties;
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.service.ShardedBalanceService;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountEventHub Unit Tests")
+class AccountEventHubTest {
+
+    private static final Pattern EVENT = Pattern.compile("id:(\\d+)\nevent:(\\w+)\n");
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private ShardedBalanceService shardedBalanceService;
+
+    private AccountEventsProperties properties;
+    private AccountEventHub hub;
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccountEventsProperties();
+        properties.setReplaySize(4);
+        AccountSnapshotCache cache = new AccountSnapshotCache(
+                new AccountCacheProperties(), new ReplicaLagGuard(new ReadReplicaProperties()));
+        hub = new AccountEventHub(properties, accountRepository, cache, shardedBalanceService,
+                new ObjectMapper().findAndRegisterModules()) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        hub.start();
+
+        lenient().when(accountRepository.findById("ACC001")).thenReturn(Optional.of(account("ACC001", "100.00")));
+        lenient().when(accountRepository.findById("ACC002")).thenReturn(Optional.of(account("ACC002", "50.00")));
+        lenient().when(shardedBalanceService.withAggregatedBalance(any(Account.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        hub.stop();
+    }
+
+    @Test
+    @DisplayName("Should start a stream with the balance, then push transactions and balance changes")
+    void testSubscribe_ReceivesSnapshotAndUpdates() {
+        hub.subscribe("ACC001", null);
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.names().equals(List.of("balance")));
+
+        hub.publishAfterCommit(List.of(log("TX1", "ACC001", "ACC002", TransactionStatus.SUCCESS)));
+        await(() -> emitter.names().size() == 3);
+
+        assertEquals(List.of("balance", "transaction", "balance"), emitter.names());
+        assertTrue(emitter.frames.get(1).contains("\"id\":\"TX1\""));
+        assertEquals(2, hub.getPublished());
+    }
+
+    @Test
+    @DisplayName("Should not load anything for commits on accounts nobody watches")
+    void testPublish_NoSubscribers() {
+        hub.publishAfterCommit(List.of(log("TX1", "ACC001", "ACC002", TransactionStatus.SUCCESS)));
+
+        verifyNoInteractions(accountRepository);
+        assertEquals(0, hub.getPublished());
+    }
+
+    @Test
+    @DisplayName("Should replay only the missed events on resume, and resync when they are gone")
+    void testSubscribe_ResumeFromLastEventId() {
+        hub.subscribe("ACC001", null);
+        RecordingEmitter first = emitters.get(0);
+        await(() -> first.names().size() == 1);
+        // A failed transfer moves no money, so it publishes no balance
+        hub.publishAfterCommit(List.of(log("TX1", "ACC001", "ACC002", TransactionStatus.FAILED)));
+        hub.publishAfterCommit(List.of(log("TX2", "ACC002", "ACC001", TransactionStatus.FAILED)));
+        await(() -> first.names().size() == 3);
+
+        hub.subscribe("ACC001", first.ids().get(1).toString());
+        RecordingEmitter resumed = emitters.get(1);
+        await(() -> resumed.names().size() == 1);
+        assertEquals(List.of(first.ids().get(2)), resumed.ids());
+
+        for (int i = 3; i < 10; i++) {
+            hub.publishAfterCommit(List.of(log("TX" + i, "ACC001", "ACC002", TransactionStatus.FAILED)));
+        }
+        await(() -> first.names().size() == 10);
+        hub.subscribe("ACC001", first.ids().get(1).toString());
+        RecordingEmitter stale = emitters.get(2);
+        await(() -> stale.names().size() == 2);
+
+        assertEquals(List.of("resync", "balance"), stale.names());
+        assertEquals(1, hub.getResyncs());
+    }
+
+    @Test
+    @DisplayName("Should refuse streams for unknown accounts")
+    void testSubscribe_UnknownAccount() {
+        when(accountRepository.findById("MISSING")).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> hub.subscribe("MISSING", null));
+        assertTrue(emitters.isEmpty());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Account account(String id, String balance) {
+        return Account.builder()
+                .id(id)
+                .holderName("Holder " + id)
+                .balance(new BigDecimal(balance))
+                .status(AccountStatus.ACTIVE)
+                .version(0L)
+                .password("encoded")
+                .build();
+    }
+
+    private static TransactionLog log(String id, String from, String to, TransactionStatus status) {
+        return TransactionLog.builder()
+                .id(id)
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(new BigDecimal("10.00"))
+                .status(status)
+                .idempotencyKey("key-" + id)
+                .createdOn(Instant.now())
+                .build();
+    }
+
+    /**
+     * Keeps every frame sent to it instead of writing to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            StringBuilder frame = new StringBuilder();
+            items.forEach(item -> frame.append(item.getData()));
+            if (EVENT.matcher(frame).find()) {
+                frames.add(frame.toString());
+            }
+        }
+
+        List<String> names() {
+            List<String> names = new ArrayList<>();
+            for (String frame : frames) {
+                Matcher matcher = EVENT.matcher(frame);
+                matcher.find();
+                names.add(matcher.group(2));
+            }
+            return names;
+        }
+
+        List<Long> ids() {
+            List<Long> ids = new ArrayList<>();
+            for (String frame : frames) {
+                Matcher matcher = EVENT.matcher(frame);
+                matcher.find();
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+            return ids;
+        }
+    }
+}
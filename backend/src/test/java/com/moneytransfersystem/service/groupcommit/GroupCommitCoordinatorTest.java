@@ -0,0 +1,213 @@
+package com.moneytransfersystem.service.groupcommit;
+
+import com.moneytransfersystem.config.AccountCacheProperties;
+import com.moneytransfersystem.config.GroupCommitProperties;
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.service.TransferService;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GroupCommitCoordinator Unit Tests")
+class GroupCommitCoordinatorTest {
+
+    @Mock
+    private TransferService transferService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private org.springframework.transaction.TransactionStatus transactionStatus;
+
+    private GroupCommitMetrics metrics;
+    private GroupCommitCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        GroupCommitProperties properties = new GroupCommitProperties();
+        metrics = new GroupCommitMetrics(properties);
+        coordinator = new GroupCommitCoordinator(transferService, entityManager, transactionManager, properties, metrics);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+    }
+
+    @Test
+    @DisplayName("Should apply a group in account order in one transaction and isolate a failing transfer")
+    void testGroupAppliesInLockOrderAndIsolatesFailure() {
+        TransferRequest third = request("ACC003", "ACC002", "key-3");
+        TransferRequest first = request("ACC002", "ACC001", "key-1");
+        TransferRequest second = request("ACC001", "ACC003", "key-2");
+        when(transferService.applyInCurrentTransaction(any())).thenAnswer(inv -> log(inv.getArgument(0)));
+        when(transferService.applyInCurrentTransaction(second))
+                .thenThrow(new IllegalArgumentException("Insufficient balance"));
+
+        List<GroupCommitCoordinator.PendingTransfer> group = group(third, first, second);
+        coordinator.commit(group);
+
+        InOrder order = inOrder(transferService);
+        order.verify(transferService).applyInCurrentTransaction(first);
+        order.verify(transferService).applyInCurrentTransaction(second);
+        order.verify(transferService).applyInCurrentTransaction(third);
+        verify(transactionManager, times(1)).commit(transactionStatus);
+        // One setSavepoint per transfer; one release per success plus one rollback for the failure
+        verify(session, times(3)).doReturningWork(any());
+        verify(session, times(3)).doWork(any());
+        verify(entityManager, times(1)).clear();
+
+        assertEquals("key-1", result(group, first).join().getIdempotencyKey());
+        assertEquals("key-3", result(group, third).join().getIdempotencyKey());
+        CompletionException ex = assertThrows(CompletionException.class, () -> result(group, second).join());
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        assertEquals(1, metrics.getCommits());
+        assertEquals(3, metrics.getTransfers());
+        assertEquals(1L, metrics.batchSizeHistogram().get("4"));
+    }
+
+    @Test
+    @DisplayName("Should release the cache write marks of a transfer rolled back to its savepoint")
+    void testRolledBackTransferReleasesCacheMarks() {
+        AccountSnapshotCache cache = new AccountSnapshotCache(
+                new AccountCacheProperties(), new ReplicaLagGuard(new ReadReplicaProperties()));
+        // Drive the synchronizations the way a real transaction manager would
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> {
+            TransactionSynchronizationManager.initSynchronization();
+            return transactionStatus;
+        });
+        doAnswer(inv -> {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            return null;
+        }).when(transactionManager).commit(transactionStatus);
+        TransferRequest request = request("ACC001", "ACC002", "key-1");
+        when(transferService.applyInCurrentTransaction(request)).thenAnswer(inv -> {
+            // As TransferService marks both accounts before the guarded legs
+            cache.invalidateAfterCommit("ACC001", "ACC002");
+            throw new IllegalArgumentException("Insufficient balance");
+        });
+
+        try {
+            coordinator.commit(group(request));
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+        cache.get("ACC001", id -> Optional.of(account(id)));
+
+        assertEquals(OptionalLong.of(3L), cache.cachedVersion("ACC001"));
+    }
+
+    @Test
+    @DisplayName("Should fail every caller of an aborted group and fall back to the transactional path")
+    void testAbortedGroupFallsBack() {
+        TransferRequest request = request("ACC001", "ACC002", "key-1");
+        when(transferService.applyInCurrentTransaction(request)).thenReturn(log(request));
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(transactionStatus);
+
+        List<GroupCommitCoordinator.PendingTransfer> group = group(request);
+        coordinator.commit(group);
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> group.get(0).result().join());
+        assertInstanceOf(GroupCommitAbortedException.class, ex.getCause());
+        assertEquals(1, metrics.getAborted());
+        assertEquals(0, metrics.getCommits());
+
+        GroupCommitCoordinator queued = mock(GroupCommitCoordinator.class);
+        when(queued.submit(request)).thenReturn(CompletableFuture.failedFuture(ex.getCause()));
+        TransactionLog fallback = log(request);
+        when(transferService.transfer(request)).thenReturn(fallback);
+
+        assertSame(fallback, new GroupCommitTransferService(queued, transferService).transfer(request));
+    }
+
+    @Test
+    @DisplayName("Should rethrow business rejections without a second attempt")
+    void testBusinessRejectionIsNotRetried() {
+        TransferRequest request = request("ACC001", "ACC002", "key-1");
+        GroupCommitCoordinator queued = mock(GroupCommitCoordinator.class);
+        when(queued.submit(request)).thenReturn(
+                CompletableFuture.failedFuture(new IllegalArgumentException("Insufficient balance")));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new GroupCommitTransferService(queued, transferService).transfer(request));
+        verify(transferService, never()).transfer(any());
+    }
+
+    private static List<GroupCommitCoordinator.PendingTransfer> group(TransferRequest... requests) {
+        List<GroupCommitCoordinator.PendingTransfer> group = new ArrayList<>();
+        for (TransferRequest request : requests) {
+            group.add(new GroupCommitCoordinator.PendingTransfer(request, new CompletableFuture<>()));
+        }
+        return group;
+    }
+
+    private static CompletableFuture<TransactionLog> result(List<GroupCommitCoordinator.PendingTransfer> group,
+                                                            TransferRequest request) {
+        return group.stream().filter(p -> p.request() == request).findFirst().orElseThrow().result();
+    }
+
+    private static TransactionLog log(TransferRequest request) {
+        return TransactionLog.builder()
+                .id("tx-" + request.getIdempotencyKey())
+                .fromAccountId(request.getFromAccountId())
+                .toAccountId(request.getToAccountId())
+                .amount(request.getAmount())
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey(request.getIdempotencyKey())
+                .build();
+    }
+
+    private static Account account(String id) {
+        Account account = Account.create(id, new BigDecimal("100.00"), AccountStatus.ACTIVE, "password");
+        account.setId(id);
+        account.setVersion(3L);
+        return account;
+    }
+
+    private static TransferRequest request(String from, String to, String key) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(new BigDecimal("10.00"));
+        request.setIdempotencyKey(key);
+        return request;
+    }
+}
@@ -0,0 +1,99 @@
+package com.moneytransfersystem.service.idempotency;
+
+import com.moneytransfersystem.config.IdempotencyProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdempotencyKeyFilter Unit Tests")
+class IdempotencyKeyFilterTest {
+
+    private IdempotencyProperties properties;
+    private IdempotencyKeyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setExpectedKeys(1_000);
+        properties.setLruSize(2);
+        filter = new IdempotencyKeyFilter(properties);
+        filter.markWarm();
+    }
+
+    @Test
+    @DisplayName("Should answer maybe for every key until warmed")
+    void testColdFilter_AlwaysProbes() {
+        IdempotencyKeyFilter cold = new IdempotencyKeyFilter(properties);
+
+        assertTrue(cold.mightContain("never-seen"));
+        assertEquals(0, cold.getDefiniteMisses());
+    }
+
+    @Test
+    @DisplayName("Should never report a remembered key as a definite miss")
+    void testRemember_NoFalseNegatives() {
+        for (int i = 0; i < 1_000; i++) {
+            filter.remember("key-" + i, "tx-" + i);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate near the configured target")
+    void testMightContain_FalsePositiveRate() {
+        for (int i = 0; i < 1_000; i++) {
+            filter.remember(UUID.randomUUID().toString(), "tx");
+        }
+        int positives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                positives++;
+            }
+        }
+        assertTrue(positives < 300, "false positives: " + positives);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used key from the LRU")
+    void testKnownTransactionId_LruEviction() {
+        filter.remember("a", "tx-a");
+        filter.remember("b", "tx-b");
+        filter.knownTransactionId("a");
+        filter.remember("c", "tx-c");
+
+        assertEquals("tx-a", filter.knownTransactionId("a").orElseThrow());
+        assertTrue(filter.knownTransactionId("b").isEmpty());
+        assertTrue(filter.mightContain("b"));
+    }
+
+    @Test
+    @DisplayName("Should keep the previous generation after rotating")
+    void testRemember_Rotation() {
+        properties.setExpectedKeys(10);
+        IdempotencyKeyFilter small = new IdempotencyKeyFilter(properties);
+        small.markWarm();
+
+        for (int i = 0; i < 15; i++) {
+            small.remember("key-" + i, "tx");
+        }
+
+        assertTrue(small.mightContain("key-0"));
+        assertTrue(small.mightContain("key-14"));
+    }
+
+    @Test
+    @DisplayName("Should pass everything through when disabled")
+    void testDisabled() {
+        properties.setEnabled(false);
+        filter.remember("a", "tx-a");
+
+        assertTrue(filter.knownTransactionId("a").isEmpty());
+        assertTrue(filter.mightContain("anything"));
+    }
+}
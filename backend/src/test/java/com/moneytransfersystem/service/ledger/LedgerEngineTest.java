@@ -0,0 +1,512 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.config.AccountCacheProperties;
+import com.moneytransfersystem.constants.AppConstants;
+import com.moneytransfersystem.config.LedgerProperties;
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.repository.AccountDailyAggregateWriter;
+import com.moneytransfersystem.repository.AccountPostingWriter;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.TransactionLogBatchWriter;
+import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.ShardedBalanceService;
+import com.moneytransfersystem.service.cache.AccountSnapshotCache;
+import com.moneytransfersystem.service.TransferService;
+import com.moneytransfersystem.service.events.AccountEventHub;
+import com.moneytransfersystem.service.idempotency.IdempotencyKeyFilter;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerEngine Unit Tests")
+class LedgerEngineTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionLogRepository transactionLogRepository;
+
+    @Mock
+    private TransactionLogBatchWriter batchWriter;
+
+    @Mock
+    private AccountPostingWriter postingWriter;
+
+    @Mock
+    private AccountDailyAggregateWriter dailyAggregateWriter;
+
+    @Mock
+    private AccountEventHub accountEventHub;
+
+    @Mock
+    private IdempotencyKeyFilter idempotencyKeyFilter;
+
+    @Mock
+    private ShardedBalanceService shardedBalanceService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransferService transferService;
+
+    private final AccountSnapshotCache accountSnapshotCache = new AccountSnapshotCache(
+            new AccountCacheProperties(), new ReplicaLagGuard(new ReadReplicaProperties()));
+
+    @TempDir
+    Path journalDirectory;
+
+    private LedgerEngine ledgerEngine;
+
+    @BeforeEach
+    void setUp() {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setPartitions(2);
+        properties.setRingSize(64);
+        ledgerEngine = new LedgerEngine(accountRepository, transactionLogRepository, batchWriter, postingWriter, dailyAggregateWriter,
+                accountEventHub, idempotencyKeyFilter, shardedBalanceService, accountSnapshotCache, transactionManager, properties);
+        ledgerEngine.start();
+
+        lenient().when(accountRepository.findById("ACC001"))
+                .thenReturn(Optional.of(account("ACC001", "100.00", AccountStatus.ACTIVE)));
+        lenient().when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ledgerEngine.stop();
+    }
+
+    @Test
+    @DisplayName("Should persist the batch before completing a clean transfer")
+    void testCleanTransferCompletesAfterPersist() throws Exception {
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenReturn(1);
+        when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(1);
+
+        TransactionLog log = ledgerEngine.submit(transfer("100.00", "key-1")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(TransactionStatus.SUCCESS, log.getStatus());
+        assertEquals("key-1", log.getIdempotencyKey());
+        verify(batchWriter).insertAll(argThat(logs -> logs.size() == 1), anyInt());
+        verify(idempotencyKeyFilter).remember("key-1", log.getId());
+    }
+
+    @Test
+    @DisplayName("Should keep the debit in memory so a second overdraft is not persisted")
+    void testCachedBalanceRejectsOverdraft() {
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenReturn(1);
+        when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(1);
+
+        ledgerEngine.submit(transfer("80.00", "key-1")).join();
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> ledgerEngine.submit(transfer("30.00", "key-2")).join());
+
+        assertInstanceOf(LedgerFallbackException.class, ex.getCause());
+        verify(accountRepository, times(1)).guardedDebit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reload a state marked stale instead of deciding against the old balance")
+    void testStaleStateReloadedBeforeNextDecision() {
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenReturn(1);
+        when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(1);
+
+        ledgerEngine.submit(transfer("80.00", "key-1")).join();
+        // A credit that found the ring full: the database now holds it, the cache does not
+        ledgerEngine.partitionFor("ACC001").markStale("ACC001");
+        TransactionLog second = ledgerEngine.submit(transfer("30.00", "key-2")).join();
+
+        assertEquals(TransactionStatus.SUCCESS, second.getStatus());
+        verify(accountRepository, times(2)).findById("ACC001");
+    }
+
+    @Test
+    @DisplayName("Should revert the debit and fall back when the credit guard rejects")
+    void testCreditGuardRejectionFallsBack() {
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenReturn(1);
+        when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(0);
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> ledgerEngine.submit(transfer("10.00", "key-1")).join());
+
+        assertInstanceOf(LedgerFallbackException.class, ex.getCause());
+        verify(accountRepository).revertDebit(eq("ACC001"), eq(new BigDecimal("10.00")), any());
+        verify(batchWriter).insertAll(argThat(List::isEmpty), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should run fallbacks through the JPA transfer path")
+    void testLedgerTransferServiceFallsBackToJpaPath() {
+        when(accountRepository.findById("ACC009")).thenReturn(Optional.empty());
+        TransferRequest request = transfer("10.00", "key-1");
+        request.setFromAccountId("ACC009");
+        TransactionLog jpaLog = TransactionLog.builder().id("tx-1").status(TransactionStatus.FAILED).build();
+        when(transferService.transfer(request)).thenReturn(jpaLog);
+
+        TransactionLog result = new LedgerTransferService(ledgerEngine, transferService).transfer(request);
+
+        assertSame(jpaLog, result);
+        verify(accountRepository, never()).guardedDebit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Journal mode should acknowledge from the journal and drain to the database")
+    void testJournalModeDrainsAcknowledgedTransfer() throws Exception {
+        LedgerEngine journaled = journaledEngine();
+        when(accountRepository.findStatusById("ACC002")).thenReturn(Optional.of(AccountStatus.ACTIVE));
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenReturn(1);
+        when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(1);
+        try {
+            TransactionLog log = journaled.submit(transfer("40.00", "key-1")).get(5, TimeUnit.SECONDS);
+
+            assertEquals(TransactionStatus.SUCCESS, log.getStatus());
+            verify(batchWriter, timeout(5000)).insertAll(argThat(logs -> logs.size() == 1
+                    && logs.get(0).getStatus() == TransactionStatus.SUCCESS), anyInt());
+            verify(accountRepository).guardedDebit(eq("ACC001"), eq(new BigDecimal("40.00")), any());
+            verify(accountRepository).guardedCredit(eq("ACC002"), eq(new BigDecimal("40.00")), any());
+        } finally {
+            journaled.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Journal mode should record FAILED and reload when the database no longer covers the debit")
+    void testJournalDrainRejectsStaleDecision() throws Exception {
+        LedgerEngine journaled = journaledEngine();
+        when(accountRepository.findStatusById("ACC002")).thenReturn(Optional.of(AccountStatus.ACTIVE));
+        when(accountRepository.findStatusById("ACC001")).thenReturn(Optional.of(AccountStatus.ACTIVE));
+        when(accountRepository.findShardCountById("ACC001")).thenReturn(Optional.empty());
+        // A withdrawal outside the ledger has already taken the balance
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenReturn(0);
+        when(accountRepository.findById("ACC001")).thenReturn(
+                Optional.of(account("ACC001", "100.00", AccountStatus.ACTIVE)),
+                Optional.of(account("ACC001", "20.00", AccountStatus.ACTIVE)));
+        try {
+            journaled.submit(transfer("40.00", "key-1")).get(5, TimeUnit.SECONDS);
+
+            verify(batchWriter, timeout(5000)).insertAll(argThat(logs -> logs.size() == 1
+                    && logs.get(0).getStatus() == TransactionStatus.FAILED
+                    && AppConstants.INSUFFICIENT_BALANCE.equals(logs.get(0).getFailureReason())), anyInt());
+            verify(accountRepository, never()).guardedCredit(any(), any(), any());
+
+            // The cached debit is gone; the next decision reads the database again
+            CompletionException ex = assertThrows(CompletionException.class,
+                    () -> journaled.submit(transfer("90.00", "key-2")).join());
+            assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+            verify(accountRepository, times(2)).findById("ACC001");
+        } finally {
+            journaled.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop cached state when another write path commits to the account")
+    void testOutsideWriteEvictsCachedState() {
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenReturn(1);
+        when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(1);
+
+        ledgerEngine.submit(transfer("80.00", "key-1")).join();
+        // A deposit through AccountService
+        accountSnapshotCache.invalidateAfterCommit("ACC001");
+        TransactionLog second = ledgerEngine.submit(transfer("30.00", "key-2")).join();
+
+        assertEquals(TransactionStatus.SUCCESS, second.getStatus());
+        verify(accountRepository, times(2)).findById("ACC001");
+    }
+
+    @Test
+    @DisplayName("Journal mode should hold a withdrawal until the acknowledged transfer is drained")
+    void testOutsideWriteWaitsForUndrainedTransfer() throws Exception {
+        LedgerEngine journaled = journaledEngine(5000);
+        when(accountRepository.findStatusById("ACC002")).thenReturn(Optional.of(AccountStatus.ACTIVE));
+        when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(1);
+        AtomicReference<BigDecimal> storedBalance = new AtomicReference<>(new BigDecimal("100.00"));
+        CountDownLatch drainHeld = new CountDownLatch(1);
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenAnswer(invocation -> {
+            drainHeld.await(5, TimeUnit.SECONDS);
+            BigDecimal amount = invocation.getArgument(1);
+            return debit(storedBalance, amount) ? 1 : 0;
+        });
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            TransactionLog acknowledged = journaled.submit(transfer("40.00", "key-1")).get(5, TimeUnit.SECONDS);
+            assertEquals(TransactionStatus.SUCCESS, acknowledged.getStatus());
+
+            // A withdrawal of 80.00 through AccountService, in its own transaction
+            Future<Boolean> withdrawal = writer.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    accountSnapshotCache.invalidateAfterCommit("ACC001");
+                    boolean debited = debit(storedBalance, new BigDecimal("80.00"));
+                    TransactionSynchronizationManager.getSynchronizations()
+                            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                    return debited;
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            });
+            assertThrows(TimeoutException.class, () -> withdrawal.get(200, TimeUnit.MILLISECONDS));
+
+            drainHeld.countDown();
+
+            assertFalse(withdrawal.get(5, TimeUnit.SECONDS));
+            verify(batchWriter, timeout(5000)).insertAll(argThat(logs -> logs.size() == 1
+                    && logs.get(0).getStatus() == TransactionStatus.SUCCESS), anyInt());
+            assertEquals(0, new BigDecimal("60.00").compareTo(storedBalance.get()));
+        } finally {
+            drainHeld.countDown();
+            writer.shutdownNow();
+            journaled.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Journal mode should reject an outside write as a conflict when the drain does not catch up")
+    void testOutsideWriteTimesOutAsConflict() throws Exception {
+        LedgerEngine journaled = journaledEngine(100);
+        when(accountRepository.findStatusById("ACC002")).thenReturn(Optional.of(AccountStatus.ACTIVE));
+        when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(1);
+        CountDownLatch drainHeld = new CountDownLatch(1);
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenAnswer(invocation -> {
+            drainHeld.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        try {
+            journaled.submit(transfer("40.00", "key-1")).get(5, TimeUnit.SECONDS);
+
+            assertThrows(ObjectOptimisticLockingFailureException.class,
+                    () -> accountSnapshotCache.invalidateAfterCommit("ACC001"));
+
+            // The fence is lifted again, so the sender stays decidable in memory
+            TransactionLog next = journaled.submit(transfer("10.00", "key-2")).get(5, TimeUnit.SECONDS);
+            assertEquals(TransactionStatus.SUCCESS, next.getStatus());
+        } finally {
+            drainHeld.countDown();
+            journaled.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Journal mode should reject overdrafts and duplicates without the JPA path")
+    void testJournalModeRejectsInMemory() throws Exception {
+        LedgerEngine journaled = journaledEngine();
+        when(accountRepository.findStatusById("ACC002")).thenReturn(Optional.of(AccountStatus.ACTIVE));
+        lenient().when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenReturn(1);
+        lenient().when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(1);
+        // The idempotency keys committed so far; the filter mock never learns them
+        Set<String> committedKeys = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            List<TransactionLog> logs = invocation.getArgument(0);
+            logs.forEach(log -> committedKeys.add(log.getIdempotencyKey()));
+            return null;
+        }).when(batchWriter).insertAll(anyList(), anyInt());
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            return keys.stream().filter(committedKeys::contains).toList();
+        });
+        try {
+            journaled.submit(transfer("90.00", "key-1")).get(5, TimeUnit.SECONDS);
+            // Drained, and the key released from the in-memory reservations
+            verify(batchWriter, timeout(5000)).insertAll(anyList(), anyInt());
+
+            CompletionException overdraft = assertThrows(CompletionException.class,
+                    () -> journaled.submit(transfer("20.00", "key-2")).join());
+            CompletionException duplicate = assertThrows(CompletionException.class,
+                    () -> journaled.submit(transfer("1.00", "key-1")).join());
+
+            assertInstanceOf(IllegalArgumentException.class, overdraft.getCause());
+            assertInstanceOf(com.moneytransfersystem.domain.exceptions.DuplicateTranferException.class, duplicate.getCause());
+        } finally {
+            journaled.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Journal mode should replay undrained entries on startup")
+    void testJournalRecoveryReplaysEntries() throws Exception {
+        TransferJournal journal = new TransferJournal(journalDirectory.resolve("p0"), 4096);
+        journal.recover();
+        journal.append(TransactionLog.builder()
+                .id("tx-crash")
+                .fromAccountId("ACC001")
+                .toAccountId("ACC002")
+                .amount(new BigDecimal("5.00"))
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey("key-crash")
+                .createdOn(Instant.now())
+                .build());
+        journal.sync();
+        journal.close();
+
+        when(accountRepository.guardedDebit(eq("ACC001"), any(), any())).thenReturn(1);
+        when(accountRepository.guardedCredit(eq("ACC002"), any(), any())).thenReturn(1);
+        LedgerEngine journaled = journaledEngine();
+        try {
+            verify(accountRepository).guardedDebit(eq("ACC001"), eq(new BigDecimal("5.00")), any());
+            verify(batchWriter).insertAll(argThat(logs -> logs.size() == 1 && "tx-crash".equals(logs.get(0).getId())), anyInt());
+            assertTrue(new TransferJournal(journalDirectory.resolve("p0"), 4096).recover().isEmpty());
+        } finally {
+            journaled.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Journal recovery should delete drained segments even with nothing to replay")
+    void testJournalRecoveryTrimsDrainedSegments() throws Exception {
+        Path directory = journalDirectory.resolve("p0");
+        TransferJournal journal = new TransferJournal(directory, 4096);
+        journal.recover();
+        long sequence = journal.append(TransactionLog.builder()
+                .id("tx-drained")
+                .fromAccountId("ACC001")
+                .toAccountId("ACC002")
+                .amount(new BigDecimal("5.00"))
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey("key-drained")
+                .createdOn(Instant.now())
+                .build());
+        journal.sync();
+        journal.release(sequence);
+        journal.close();
+
+        LedgerEngine journaled = journaledEngine();
+        journaled.stop();
+
+        verify(batchWriter, never()).insertAll(any(), anyInt());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".seg")));
+        }
+        TransferJournal reopened = new TransferJournal(directory, 4096);
+        assertTrue(reopened.recover().isEmpty());
+        assertEquals(sequence, reopened.lastSequence());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Journal recovery should skip an entry whose idempotency key is already taken")
+    void testJournalRecoverySkipsTakenKey() throws Exception {
+        TransferJournal journal = new TransferJournal(journalDirectory.resolve("p0"), 4096);
+        journal.recover();
+        journal.append(TransactionLog.builder()
+                .id("tx-duplicate")
+                .fromAccountId("ACC001")
+                .toAccountId("ACC002")
+                .amount(new BigDecimal("5.00"))
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey("key-taken")
+                .createdOn(Instant.now())
+                .build());
+        journal.sync();
+        journal.close();
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(List.of("key-taken"));
+
+        LedgerEngine journaled = journaledEngine();
+        try {
+            verify(batchWriter).insertAll(argThat(List::isEmpty), anyInt());
+            verify(accountRepository, never()).guardedDebit(any(), any(), any());
+            assertTrue(new TransferJournal(journalDirectory.resolve("p0"), 4096).recover().isEmpty());
+        } finally {
+            journaled.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Ring buffer should reject offers when full and drain in order")
+    void testRingBufferOrderAndCapacity() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < ring.capacity(); i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(99));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, ring.drainTo(drained, 10));
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertTrue(ring.isEmpty());
+        assertTrue(ring.offer(4));
+    }
+
+    private LedgerEngine journaledEngine() {
+        return journaledEngine(new LedgerProperties().getJournal().getOutsideWriteTimeoutMs());
+    }
+
+    private LedgerEngine journaledEngine(long outsideWriteTimeoutMs) {
+        LedgerProperties properties = new LedgerProperties();
+        properties.getJournal().setOutsideWriteTimeoutMs(outsideWriteTimeoutMs);
+        properties.setPartitions(1);
+        properties.setRingSize(64);
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(journalDirectory.toString());
+        properties.getJournal().setSegmentSizeBytes(4096);
+        lenient().when(transactionLogRepository.findAllById(anyIterable())).thenReturn(List.of());
+        LedgerEngine engine = new LedgerEngine(accountRepository, transactionLogRepository, batchWriter, postingWriter, dailyAggregateWriter,
+                accountEventHub, idempotencyKeyFilter, shardedBalanceService, accountSnapshotCache, transactionManager, properties);
+        engine.start();
+        return engine;
+    }
+
+    private static Account account(String id, String balance, AccountStatus status) {
+        return Account.builder()
+                .id(id)
+                .holderName(id)
+                .balance(new BigDecimal(balance))
+                .status(status)
+                .password("password")
+                .build();
+    }
+
+    private static boolean debit(AtomicReference<BigDecimal> balance, BigDecimal amount) {
+        BigDecimal current = balance.get();
+        return current.compareTo(amount) >= 0 && balance.compareAndSet(current, current.subtract(amount));
+    }
+
+    private static TransferRequest transfer(String amount, String key) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId("ACC001");
+        request.setToAccountId("ACC002");
+        request.setAmount(new BigDecimal(amount));
+        request.setIdempotencyKey(key);
+        return request;
+    }
+}
@@ -0,0 +1,143 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.config.IdempotencyProperties;
+import com.moneytransfersystem.config.LedgerProperties;
+import com.moneytransfersystem.config.TransferProperties;
+import com.moneytransfersystem.domain.dtos.TransferRequest;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import com.moneytransfersystem.repository.AccountPostingWriter;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.TransactionLogBatchWriter;
+import com.moneytransfersystem.service.ShardedBalanceService;
+import com.moneytransfersystem.service.TransferExecutor;
+import com.moneytransfersystem.service.TransferService;
+import com.moneytransfersystem.service.idempotency.IdempotencyKeyFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Ack latency of the journal path against the synchronous {@code @Transactional} path.
+ * Opt-in: {@code mvn test -Dtest=LedgerJournalAckBenchmark -Dbenchmark=true}.
+ * Runs on the embedded test database, so compare the two numbers rather than reading
+ * them as absolute MySQL figures.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // Guarded updates keep the JPA path free of optimistic-lock retries on the shared receiver
+        "transfer.execution-mode=GUARDED_UPDATE",
+        "ledger.partitions=4",
+        "ledger.journal.enabled=true",
+        "ledger.journal.directory=target/benchmark-journal",
+        "ledger.journal.fsync-policy=GROUP"
+})
+@ActiveProfiles("ledger")
+@Import({TransferService.class, TransferProperties.class, ShardedBalanceService.class,
+        IdempotencyKeyFilter.class, IdempotencyProperties.class, TransactionLogBatchWriter.class, AccountPostingWriter.class,
+        LedgerProperties.class, LedgerEngine.class, LedgerTransferService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Journal ack latency benchmark")
+class LedgerJournalAckBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(LedgerJournalAckBenchmark.class);
+
+    private static final int TRANSFERS_PER_THREAD = 500;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private LedgerTransferService ledgerTransferService;
+
+    @Test
+    @DisplayName("Compare p50/p99 ack latency for 1 and 8 client threads")
+    void compareAckLatency() throws Exception {
+        for (int threads : new int[]{1, 8}) {
+            report("jpa", threads, run(transferService, "JPA", threads));
+            report("journal", threads, run(ledgerTransferService, "JRN", threads));
+        }
+    }
+
+    private long[] run(TransferExecutor executor, String prefix, int threads) throws Exception {
+        List<String> senders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String id = prefix + threads + "-" + t;
+            accountRepository.save(Account.builder().id(id).holderName(id)
+                    .balance(new BigDecimal("1000000")).status(AccountStatus.ACTIVE).password("password").build());
+            senders.add(id);
+        }
+        String receiver = prefix + threads + "-sink";
+        accountRepository.save(Account.builder().id(receiver).holderName(receiver)
+                .balance(BigDecimal.ZERO).status(AccountStatus.ACTIVE).password("password").build());
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (String sender : senders) {
+                futures.add(pool.submit(() -> timeTransfers(executor, request -> {
+                    request.setFromAccountId(sender);
+                    request.setToAccountId(receiver);
+                    return request;
+                })));
+            }
+            long[] all = new long[threads * TRANSFERS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] samples = future.get();
+                System.arraycopy(samples, 0, all, offset, samples.length);
+                offset += samples.length;
+            }
+            return all;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private long[] timeTransfers(TransferExecutor executor, Function<TransferRequest, TransferRequest> route) {
+        long[] samples = new long[TRANSFERS_PER_THREAD];
+        for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+            TransferRequest request = new TransferRequest();
+            request.setAmount(BigDecimal.ONE);
+            request.setIdempotencyKey(UUID.randomUUID().toString());
+            route.apply(request);
+            long start = System.nanoTime();
+            assertEquals(TransactionStatus.SUCCESS, executor.transfer(request).getStatus());
+            samples[i] = System.nanoTime() - start;
+        }
+        return samples;
+    }
+
+    private static void report(String path, int threads, long[] samples) {
+        Arrays.sort(samples);
+        logger.info("Ack latency | path={} | threads={} | transfers={} | p50Micros={} | p99Micros={} | maxMicros={}",
+                path, threads, samples.length,
+                samples[samples.length / 2] / 1000,
+                samples[(int) (samples.length * 0.99)] / 1000,
+                samples[samples.length - 1] / 1000);
+    }
+}
@@ -0,0 +1,104 @@
+package com.moneytransfersystem.service.ledger;
+
+import com.moneytransfersystem.domain.entities.TransactionLog;
+import com.moneytransfersystem.domain.enums.TransactionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TransferJournal Unit Tests")
+class TransferJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should recover synced entries after the checkpoint in order")
+    void testRecoverAfterCheckpoint() {
+        TransferJournal journal = new TransferJournal(directory, 4096);
+        assertTrue(journal.recover().isEmpty());
+        long first = journal.append(log("tx-1", "key-1"));
+        journal.append(log("tx-2", "key-2"));
+        journal.append(log("tx-3", "key-3"));
+        journal.sync();
+        journal.release(first);
+        journal.close();
+
+        List<TransferJournal.JournalEntry> recovered = new TransferJournal(directory, 4096).recover();
+
+        assertEquals(List.of("tx-2", "tx-3"), recovered.stream().map(e -> e.log().getId()).toList());
+        TransactionLog log = recovered.get(0).log();
+        assertEquals(0, new BigDecimal("12.50").compareTo(log.getAmount()));
+        assertEquals(TransactionStatus.SUCCESS, log.getStatus());
+        assertNull(log.getFailureReason());
+    }
+
+    @Test
+    @DisplayName("Should stop at a record whose checksum does not match")
+    void testTornRecordIsIgnored() throws Exception {
+        TransferJournal journal = new TransferJournal(directory, 4096);
+        journal.recover();
+        journal.append(log("tx-1", "key-1"));
+        journal.append(log("tx-2", "key-2"));
+        journal.sync();
+        journal.close();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(p -> p.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        int firstRecordSize = 8 + TransferJournal.encode(1, log("tx-1", "key-1")).length;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(firstRecordSize + 20);
+            file.write(0x7F);
+        }
+
+        List<TransferJournal.JournalEntry> recovered = new TransferJournal(directory, 4096).recover();
+        assertEquals(List.of("tx-1"), recovered.stream().map(e -> e.log().getId()).toList());
+    }
+
+    @Test
+    @DisplayName("Should roll segments and delete those fully released")
+    void testRollAndRelease() throws Exception {
+        TransferJournal journal = new TransferJournal(directory, 512);
+        journal.recover();
+        long last = 0;
+        for (int i = 0; i < 10; i++) {
+            last = journal.append(log("tx-" + i, "key-" + i));
+        }
+        journal.sync();
+        assertTrue(segmentCount() > 1);
+
+        journal.release(last);
+        assertEquals(1, segmentCount());
+        journal.close();
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.toString().endsWith(".seg")).count();
+        }
+    }
+
+    private static TransactionLog log(String id, String key) {
+        return TransactionLog.builder()
+                .id(id)
+                .fromAccountId("ACC001")
+                .toAccountId("ACC002")
+                .amount(new BigDecimal("12.50"))
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey(key)
+                .createdOn(Instant.parse("2026-01-01T00:00:00Z"))
+                .build();
+    }
+}
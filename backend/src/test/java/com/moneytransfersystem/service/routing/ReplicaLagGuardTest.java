@@ -0,0 +1,111 @@
+package com.moneytransfersystem.service.routing;
+
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.config.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReplicaLagGuard Unit Tests")
+class ReplicaLagGuardTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+    private ReadReplicaProperties properties;
+    private ReplicaLagGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReadReplicaProperties();
+        properties.setEnabled(true);
+        guard = new ReplicaLagGuard(properties);
+    }
+
+    @Test
+    @DisplayName("Should read from the replica only when a read-only transaction opts in")
+    void testRouting_OptInOnly() {
+        Routing routing = new Routing(replica);
+
+        assertEquals("replica", routing.read(true, () -> guard.useReplica("ACC001")));
+        assertEquals("primary", routing.read(true, () -> { }));
+        assertEquals("primary", routing.read(false, () -> guard.useReplica("ACC001")));
+        assertEquals(1, guard.getReplicaReads());
+    }
+
+    @Test
+    @DisplayName("Should keep reads of a recently written account on the primary")
+    void testRouting_ReadYourWrites() {
+        Routing routing = new Routing(replica);
+        guard.recordWrites(List.of("ACC001"));
+
+        assertEquals("primary", routing.read(true, () -> guard.useReplica("ACC001")));
+        assertEquals("replica", routing.read(true, () -> guard.useReplica("ACC002")));
+        assertEquals(1, guard.getPrimaryFallbacks());
+
+        properties.setMaxLagMs(0);
+        guard.recordWrites(List.of("ACC003"));
+        assertEquals("replica", routing.read(true, () -> guard.useReplica("ACC003")));
+    }
+
+    @Test
+    @DisplayName("Should stay on the primary when the feature is disabled")
+    void testRouting_Disabled() {
+        properties.setEnabled(false);
+        Routing routing = new Routing(replica);
+
+        assertEquals("primary", routing.read(true, () -> guard.useReplica("ACC001")));
+        assertFalse(ReplicaLagGuard.isReplicaRead());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is unreachable")
+    void testRouting_ReplicaDown() {
+        Routing routing = new Routing(new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable"));
+
+        assertEquals("primary", routing.read(true, () -> guard.useReplica("ACC001")));
+        assertEquals(1, routing.routingDataSource.getReplicaFailures());
+        assertFalse(ReplicaLagGuard.isReplicaRead());
+    }
+
+    private final class Routing {
+        final ReadWriteRoutingDataSource routingDataSource;
+        final DataSourceTransactionManager transactionManager;
+        final JdbcTemplate jdbcTemplate;
+
+        Routing(DataSource replicaDataSource) {
+            routingDataSource = new ReadWriteRoutingDataSource(primary, replicaDataSource);
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+            transactionManager = new DataSourceTransactionManager(dataSource);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+
+        String read(boolean readOnly, Runnable beforeQuery) {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(readOnly);
+            return transaction.execute(status -> {
+                beforeQuery.run();
+                return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+            });
+        }
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        jdbcTemplate.update("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
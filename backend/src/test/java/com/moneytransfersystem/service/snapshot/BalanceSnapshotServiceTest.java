@@ -0,0 +1,152 @@
+package com.moneytransfersystem.service.snapshot;
+
+import com.moneytransfersystem.config.BalanceSnapshotProperties;
+import com.moneytransfersystem.config.ReadReplicaProperties;
+import com.moneytransfersystem.domain.dtos.BalanceAsOf;
+import com.moneytransfersystem.domain.entities.Account;
+import com.moneytransfersystem.domain.entities.AccountBalanceSnapshot;
+import com.moneytransfersystem.domain.enums.AccountStatus;
+import com.moneytransfersystem.domain.exceptions.AccountNotFoundException;
+import com.moneytransfersystem.repository.AccountBalanceSnapshotRepository;
+import com.moneytransfersystem.repository.AccountRepository;
+import com.moneytransfersystem.repository.BalanceSnapshotWriter;
+import com.moneytransfersystem.repository.TransactionLogRepository;
+import com.moneytransfersystem.service.ShardedBalanceService;
+import com.moneytransfersystem.service.routing.ReplicaLagGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BalanceSnapshotService Unit Tests")
+class BalanceSnapshotServiceTest {
+
+    private static final Instant SNAPSHOT_AT = Instant.parse("2026-03-01T00:00:00Z");
+    private static final Instant AS_OF = Instant.parse("2026-03-01T00:30:00Z");
+
+    @Mock
+    private BalanceSnapshotWriter snapshotWriter;
+
+    @Mock
+    private AccountBalanceSnapshotRepository snapshotRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionLogRepository transactionLogRepository;
+
+    @Mock
+    private ShardedBalanceService shardedBalanceService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceSnapshotProperties properties;
+    private BalanceSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BalanceSnapshotProperties();
+        properties.setChunkPauseMs(0);
+        service = new BalanceSnapshotService(properties, snapshotWriter, snapshotRepository, accountRepository,
+                transactionLogRepository, shardedBalanceService, new ReplicaLagGuard(new ReadReplicaProperties()),
+                transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should replay forward from the latest snapshot before the requested time")
+    void testBalanceAsOf_FromEarlierSnapshot() {
+        when(snapshotRepository.findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc("ACC001", AS_OF))
+                .thenReturn(Optional.of(snapshot("100.00")));
+        when(transactionLogRepository.sumReceivedBetween("ACC001", SNAPSHOT_AT, AS_OF)).thenReturn(new BigDecimal("25.00"));
+        when(transactionLogRepository.sumSentBetween("ACC001", SNAPSHOT_AT, AS_OF)).thenReturn(new BigDecimal("5.00"));
+
+        BalanceAsOf result = service.getBalanceAsOf("ACC001", AS_OF);
+
+        assertEquals(new BigDecimal("120.00"), result.getBalance());
+        assertEquals(SNAPSHOT_AT, result.getSnapshotTakenAt());
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should walk back from the first snapshot when the time predates all of them")
+    void testBalanceAsOf_BeforeFirstSnapshot() {
+        Instant early = SNAPSHOT_AT.minusSeconds(600);
+        when(snapshotRepository.findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc("ACC001", early))
+                .thenReturn(Optional.empty());
+        when(snapshotRepository.findFirstByAccountIdAndTakenAtGreaterThanOrderByTakenAtAsc("ACC001", early))
+                .thenReturn(Optional.of(snapshot("100.00")));
+        when(transactionLogRepository.sumReceivedBetween("ACC001", early, SNAPSHOT_AT)).thenReturn(new BigDecimal("30.00"));
+        when(transactionLogRepository.sumSentBetween("ACC001", early, SNAPSHOT_AT)).thenReturn(BigDecimal.ZERO);
+
+        assertEquals(new BigDecimal("70.00"), service.getBalanceAsOf("ACC001", early).getBalance());
+    }
+
+    @Test
+    @DisplayName("Should walk back from the live balance for accounts not checkpointed yet")
+    void testBalanceAsOf_NoSnapshot() {
+        Account account = Account.builder().id("ACC001").balance(new BigDecimal("80.00")).status(AccountStatus.ACTIVE).build();
+        when(snapshotRepository.findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc(eq("ACC001"), any()))
+                .thenReturn(Optional.empty());
+        when(snapshotRepository.findFirstByAccountIdAndTakenAtGreaterThanOrderByTakenAtAsc(eq("ACC001"), any()))
+                .thenReturn(Optional.empty());
+        when(accountRepository.findById("ACC001")).thenReturn(Optional.of(account));
+        when(shardedBalanceService.withAggregatedBalance(account)).thenReturn(account);
+        when(transactionLogRepository.sumReceivedBetween(eq("ACC001"), eq(AS_OF), any())).thenReturn(BigDecimal.ZERO);
+        when(transactionLogRepository.sumSentBetween(eq("ACC001"), eq(AS_OF), any())).thenReturn(new BigDecimal("20.00"));
+
+        BalanceAsOf result = service.getBalanceAsOf("ACC001", AS_OF);
+
+        assertEquals(new BigDecimal("100.00"), result.getBalance());
+        assertNull(result.getSnapshotTakenAt());
+    }
+
+    @Test
+    @DisplayName("Should reject future times and unknown accounts")
+    void testBalanceAsOf_Invalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getBalanceAsOf("ACC001", Instant.now().plusSeconds(3600)));
+
+        when(accountRepository.findById("MISSING")).thenReturn(Optional.empty());
+        assertThrows(AccountNotFoundException.class, () -> service.getBalanceAsOf("MISSING", AS_OF));
+    }
+
+    @Test
+    @DisplayName("Should checkpoint chunk by chunk, only accounts changed since the previous run")
+    void testTakeSnapshot_WalksChunks() {
+        properties.setChunkSize(2);
+        properties.setSettleMs(60_000);
+        when(snapshotRepository.findLatestTakenAt()).thenReturn(Optional.of(SNAPSHOT_AT));
+        when(snapshotWriter.snapshotChunk(eq(""), any(), any(), eq(2))).thenReturn("ACC002");
+        when(snapshotWriter.snapshotChunk(eq("ACC002"), any(), any(), eq(2))).thenReturn("ACC004");
+        when(snapshotWriter.snapshotChunk(eq("ACC004"), any(), any(), eq(2))).thenReturn(null);
+
+        service.takeSnapshot();
+
+        verify(snapshotWriter, times(3)).snapshotChunk(anyString(), any(), eq(SNAPSHOT_AT.minusSeconds(60)), eq(2));
+        verify(transactionManager, times(3)).commit(any());
+        assertEquals(1, service.getRuns());
+        assertEquals(3, service.getSnapshotChunks());
+    }
+
+    private static AccountBalanceSnapshot snapshot(String balance) {
+        return AccountBalanceSnapshot.builder()
+                .accountId("ACC001")
+                .takenAt(SNAPSHOT_AT)
+                .balance(new BigDecimal(balance))
+                .build();
+    }
+}
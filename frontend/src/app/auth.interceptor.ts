@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
-import { HttpInterceptor, HttpRequest, HttpHandler, HttpEvent } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { HttpInterceptor, HttpRequest, HttpHandler, HttpEvent, HttpErrorResponse } from '@angular/common/http';
+import { Observable, catchError, switchMap, throwError } from 'rxjs';
 import { AuthService } from './services/auth.service';
 @Injectable()
 export class AuthInterceptor implements HttpInterceptor {
@@ -8,12 +8,29 @@ export class AuthInterceptor implements HttpInterceptor {
 
   intercept(req: HttpRequest<any>, next: HttpHandler): Observable<HttpEvent<any>> {
     const token = this.authService.getToken();
-    if (token) {
-      const cloned = req.clone({
-        setHeaders: { Authorization: `Basic ${token}` }
-      });
-      return next.handle(cloned);
+    if (!token || req.url.endsWith('/login') || req.url.endsWith('/token/refresh')) {
+      return next.handle(req);
     }
-    return next.handle(req);
+    return next.handle(this.withToken(req, token)).pipe(
+      catchError((err: HttpErrorResponse) => {
+        // Expired access token: refresh once and replay the request
+        if (err.status !== 401 || !this.authService.getRefreshToken()) {
+          return throwError(() => err);
+        }
+        return this.authService.refresh().pipe(
+          switchMap(res => next.handle(this.withToken(req, res.token))),
+          catchError(refreshErr => {
+            this.authService.logout();
+            return throwError(() => refreshErr);
+          })
+        );
+      })
+    );
+  }
+
+  private withToken(req: HttpRequest<any>, token: string): HttpRequest<any> {
+    return req.clone({
+      setHeaders: { Authorization: `Bearer ${token}` }
+    });
   }
 }
@@ -100,7 +100,7 @@ export class LoginComponent implements OnInit {
     this.isLoading = true;
     this.authService.login(this.accountId, this.password).subscribe({
       next: res => {
-        localStorage.setItem('authToken', res.token || btoa(`${this.accountId}:${this.password}`));
+        this.authService.storeTokens(res);
         localStorage.setItem('accountId', res.accountId);
 
         this.errorMessage = '';
@@ -2,6 +2,7 @@
 import { Injectable, Inject, PLATFORM_ID } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { isPlatformBrowser } from '@angular/common';
+import { tap } from 'rxjs';
 
 @Injectable({ 
   providedIn: 'root' 
@@ -18,9 +19,23 @@ export class AuthService {
     return this.http.post<any>(`${this.apiUrl}/login`, { accountId, password });
   }
 
+  // Trades the refresh token for a new token pair once the short-lived access token expires
+  refresh() {
+    return this.http.post<any>(`${this.apiUrl}/token/refresh`, { refreshToken: this.getRefreshToken() })
+      .pipe(tap(res => this.storeTokens(res)));
+  }
+
+  storeTokens(res: any) {
+    if (this.isBrowser) {
+      localStorage.setItem('authToken', res.token);
+      localStorage.setItem('refreshToken', res.refreshToken);
+    }
+  }
+
   logout() {
     if (this.isBrowser) {
       localStorage.removeItem('authToken');
+      localStorage.removeItem('refreshToken');
       localStorage.removeItem('accountId');
     }
   }
@@ -33,6 +48,10 @@ export class AuthService {
     return this.isBrowser ? (localStorage.getItem('authToken') || null) : null;
   }
 
+  getRefreshToken(): string | null {
+    return this.isBrowser ? (localStorage.getItem('refreshToken') || null) : null;
+  }
+
   getAccountId(): string | null {
     return this.isBrowser ? (localStorage.getItem('accountId') || null) : null;
   }